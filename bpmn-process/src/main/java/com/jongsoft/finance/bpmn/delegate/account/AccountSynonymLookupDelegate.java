@@ -24,15 +24,20 @@ import org.camunda.bpm.engine.variable.value.StringValue;
  * <ul>
  *     <li>id, the account id</li>
  * </ul>
+ * <p>
+ * When running as part of an import the synonym is resolved using the {@link ImportAccountDirectory} of the import.
+ * </p>
  */
 @Slf4j
 @Singleton
 public class AccountSynonymLookupDelegate implements JavaDelegate, JavaBean {
 
     private final AccountProvider accountProvider;
+    private final ImportAccountDirectory importAccountDirectory;
 
-    AccountSynonymLookupDelegate(AccountProvider accountProvider) {
+    AccountSynonymLookupDelegate(AccountProvider accountProvider, ImportAccountDirectory importAccountDirectory) {
         this.accountProvider = accountProvider;
+        this.importAccountDirectory = importAccountDirectory;
     }
 
     @Override
@@ -42,7 +47,8 @@ public class AccountSynonymLookupDelegate implements JavaDelegate, JavaBean {
 
         var synonym = execution.<StringValue>getVariableLocalTyped("name").getValue();
 
-        var accountId = accountProvider.synonymOf(synonym)
+        var directory = importAccountDirectory.forImport(execution);
+        var accountId = (directory != null ? directory.bySynonym(synonym) : accountProvider.synonymOf(synonym))
                 .map(Account::getId)
                 .getOrSupply(() -> null);
 
@@ -0,0 +1,155 @@
+package com.jongsoft.finance.bpmn.delegate.account;
+
+import com.jongsoft.finance.domain.account.Account;
+import com.jongsoft.finance.providers.AccountProvider;
+import com.jongsoft.lang.Control;
+import com.jongsoft.lang.control.Optional;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps an in-memory directory of the accounts of the user for the duration of an import, used to resolve accounts
+ * by id, IBAN, name or synonym without querying the database for every imported row.
+ * <p>
+ * The directory of an import is loaded when it is first used. Accounts created during the import must be registered
+ * with the directory, so that later rows resolve to them. IBANs are matched ignoring case and whitespace, names and
+ * synonyms are matched ignoring case and surrounding whitespace.
+ * </p>
+ * <p>
+ * The directory must be released when the import is finished. Directories that are not used for a while are
+ * dropped, so that failed imports do not keep their directory forever.
+ * </p>
+ */
+@Slf4j
+@Singleton
+public class ImportAccountDirectory {
+
+    private static final Duration MAX_IDLE_TIME = Duration.ofHours(1);
+    private static final Set<String> IMPORT_PROCESSES = Set.of("import_job", "ImportUserProfile");
+
+    /**
+     * The directory of all accounts known to one import.
+     */
+    public class Directory {
+        private final Map<Long, Account> accounts = new ConcurrentHashMap<>();
+        private final Map<String, Long> ibans = new ConcurrentHashMap<>();
+        private final Map<String, Long> names = new ConcurrentHashMap<>();
+        private final Map<String, Long> synonyms = new ConcurrentHashMap<>();
+        private volatile long lastUsed = System.nanoTime();
+
+        private Directory() {
+        }
+
+        /**
+         * Locate the account by its id. Accounts not in the directory, like archived ones, are looked up in the
+         * database.
+         */
+        public Optional<Account> byId(long id) {
+            lastUsed = System.nanoTime();
+            var account = accounts.get(id);
+            if (account != null) {
+                return Control.Option(account);
+            }
+
+            return accountProvider.lookup(id);
+        }
+
+        public Optional<Account> byIban(String iban) {
+            return resolve(ibans, normalizeIban(iban));
+        }
+
+        public Optional<Account> byName(String name) {
+            return resolve(names, normalizeName(name));
+        }
+
+        public Optional<Account> bySynonym(String synonym) {
+            return resolve(synonyms, normalizeName(synonym));
+        }
+
+        /**
+         * Add the account to the directory, or replace the account with the same id.
+         */
+        public void register(Account account) {
+            accounts.put(account.getId(), account);
+            names.put(normalizeName(account.getName()), account.getId());
+            if (account.getIban() != null && !account.getIban().isBlank()) {
+                ibans.put(normalizeIban(account.getIban()), account.getId());
+            }
+        }
+
+        public void registerSynonym(String synonym, long accountId) {
+            synonyms.put(normalizeName(synonym), accountId);
+        }
+
+        private Optional<Account> resolve(Map<String, Long> lookup, String key) {
+            lastUsed = System.nanoTime();
+            var accountId = key.isEmpty() ? null : lookup.get(key);
+            return Control.Option(accountId == null ? null : accounts.get(accountId));
+        }
+
+        private boolean idle(long now) {
+            return now - lastUsed > MAX_IDLE_TIME.toNanos();
+        }
+    }
+
+    private final AccountProvider accountProvider;
+    private final Map<String, Directory> directories = new ConcurrentHashMap<>();
+
+    @Inject
+    public ImportAccountDirectory(AccountProvider accountProvider) {
+        this.accountProvider = accountProvider;
+    }
+
+    /**
+     * Get the directory of the import the execution is part of, loading all accounts of the user when the directory
+     * does not yet exist.
+     *
+     * @return the directory, or {@code null} if the execution is not part of an import
+     */
+    public Directory forImport(DelegateExecution execution) {
+        var processDefinitionId = execution.getProcessDefinitionId();
+        if (processDefinitionId == null || !IMPORT_PROCESSES.contains(processDefinitionId.split(":")[0])) {
+            return null;
+        }
+
+        var now = System.nanoTime();
+        directories.values().removeIf(directory -> directory.idle(now));
+
+        return directories.computeIfAbsent(execution.getProcessInstanceId(), this::load);
+    }
+
+    /**
+     * Drop the directory of the import running in the process instance.
+     */
+    public void release(String processInstanceId) {
+        directories.remove(processInstanceId);
+    }
+
+    private Directory load(String processInstanceId) {
+        var directory = new Directory();
+        accountProvider.lookup()
+                .forEach(directory::register);
+        accountProvider.synonyms()
+                .forEach(synonym -> directory.registerSynonym(synonym.synonym(), synonym.accountId()));
+
+        log.debug("[{}] - Loaded {} accounts and {} synonyms for account resolution",
+                processInstanceId, directory.accounts.size(), directory.synonyms.size());
+        return directory;
+    }
+
+    static String normalizeIban(String iban) {
+        return iban == null ? "" : iban.replaceAll("\\s", "").toUpperCase(Locale.ROOT);
+    }
+
+    static String normalizeName(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+}
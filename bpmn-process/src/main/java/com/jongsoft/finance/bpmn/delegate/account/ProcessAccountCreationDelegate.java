@@ -24,6 +24,10 @@ import org.camunda.bpm.engine.variable.value.StringValue;
  * <ul>
  *     <li>account, the serialized {@link AccountJson} used to create the account</li>
  * </ul>
+ * <p>
+ * When running as part of an import the created account is added to the {@link ImportAccountDirectory} of the import,
+ * so that the remaining rows of the import resolve to it.
+ * </p>
  */
 @Slf4j
 @Singleton
@@ -33,16 +37,19 @@ public class ProcessAccountCreationDelegate implements JavaDelegate, JavaBean {
     private final AccountProvider accountProvider;
     private final StorageService storageService;
     private final ProcessMapper mapper;
+    private final ImportAccountDirectory importAccountDirectory;
 
     ProcessAccountCreationDelegate(
             CurrentUserProvider userProvider,
             AccountProvider accountProvider,
             StorageService storageService,
-            ProcessMapper mapper) {
+            ProcessMapper mapper,
+            ImportAccountDirectory importAccountDirectory) {
         this.userProvider = userProvider;
         this.accountProvider = accountProvider;
         this.storageService = storageService;
         this.mapper = mapper;
+        this.importAccountDirectory = importAccountDirectory;
     }
 
     @Override
@@ -55,34 +62,48 @@ public class ProcessAccountCreationDelegate implements JavaDelegate, JavaBean {
                 execution.getCurrentActivityName(),
                 accountJson.getName());
 
-        accountProvider.lookup(accountJson.getName())
-                .ifNotPresent(() -> {
-                    userProvider.currentUser().createAccount(
-                            accountJson.getName(),
-                            accountJson.getCurrency(),
-                            accountJson.getType());
+        var directory = importAccountDirectory.forImport(execution);
+        if (directory != null && directory.byName(accountJson.getName()).isPresent()) {
+            return;
+        }
+
+        // the account may have been created outside the import since the directory was loaded
+        var existing = accountProvider.lookup(accountJson.getName());
+        if (directory != null) {
+            existing.ifPresent(directory::register);
+        }
+
+        existing.ifNotPresent(() -> {
+            userProvider.currentUser().createAccount(
+                    accountJson.getName(),
+                    accountJson.getCurrency(),
+                    accountJson.getType());
+
+            accountProvider.lookup(accountJson.getName())
+                    .ifPresent(account -> {
+                        account.changeAccount(
+                                handleEmptyAsNull(accountJson.getIban()),
+                                handleEmptyAsNull(accountJson.getBic()),
+                                handleEmptyAsNull(accountJson.getNumber()));
+                        account.rename(
+                                accountJson.getName(),
+                                accountJson.getDescription(),
+                                accountJson.getCurrency(),
+                                accountJson.getType());
 
-                    accountProvider.lookup(accountJson.getName())
-                            .ifPresent(account -> {
-                                account.changeAccount(
-                                        handleEmptyAsNull(accountJson.getIban()),
-                                        handleEmptyAsNull(accountJson.getBic()),
-                                        handleEmptyAsNull(accountJson.getNumber()));
-                                account.rename(
-                                        accountJson.getName(),
-                                        accountJson.getDescription(),
-                                        accountJson.getCurrency(),
-                                        accountJson.getType());
+                        if (accountJson.getPeriodicity() != null) {
+                            account.interest(accountJson.getInterest(), accountJson.getPeriodicity());
+                        }
 
-                                if (accountJson.getPeriodicity() != null) {
-                                    account.interest(accountJson.getInterest(), accountJson.getPeriodicity());
-                                }
+                        if (accountJson.getIcon() != null) {
+                            account.registerIcon(storageService.store(Hex.decode(accountJson.getIcon())));
+                        }
 
-                                if (accountJson.getIcon() != null) {
-                                    account.registerIcon(storageService.store(Hex.decode(accountJson.getIcon())));
-                                }
-                            });
-                });
+                        if (directory != null) {
+                            directory.register(account);
+                        }
+                    });
+        });
     }
 
     private String handleEmptyAsNull(String value) {
@@ -20,6 +20,9 @@ import org.camunda.bpm.engine.delegate.JavaDelegate;
  *     <li><strong>name</strong>, the unique name of the account</li>
  * </ol>
  * <p>
+ * When running as part of an import the accounts are resolved using the {@link ImportAccountDirectory} of the import.
+ * </p>
+ * <p>
  * The output of this delegate will be:
  * <ul>
  *     <li>{@code account}, the {@link Account} found</li>
@@ -31,12 +34,15 @@ public class ProcessAccountLookupDelegate implements JavaDelegate, JavaBean {
 
     private final AccountProvider accountProvider;
     private final FilterFactory accountFilterFactory;
+    private final ImportAccountDirectory importAccountDirectory;
 
     ProcessAccountLookupDelegate(
             AccountProvider accountProvider,
-            FilterFactory accountFilterFactory) {
+            FilterFactory accountFilterFactory,
+            ImportAccountDirectory importAccountDirectory) {
         this.accountProvider = accountProvider;
         this.accountFilterFactory = accountFilterFactory;
+        this.importAccountDirectory = importAccountDirectory;
     }
 
     @Override
@@ -47,24 +53,31 @@ public class ProcessAccountLookupDelegate implements JavaDelegate, JavaBean {
                 execution.getVariableLocal("iban"),
                 execution.getVariableLocal("id"));
 
+        var directory = importAccountDirectory.forImport(execution);
+
         Optional<Account> matchedAccount = Control.Option();
         if (execution.hasVariableLocal("id") && execution.getVariableLocal("id") != null) {
-            matchedAccount = accountProvider.lookup((Long) execution.getVariableLocal("id"));
+            var id = (Long) execution.getVariableLocal("id");
+            matchedAccount = directory != null ? directory.byId(id) : accountProvider.lookup(id);
         }
 
         if (!matchedAccount.isPresent() && execution.hasVariableLocal("iban")) {
             final String iban = (String) execution.getVariableLocal("iban");
             if (iban != null && !iban.trim().isEmpty()) {
-                matchedAccount = accountProvider.lookup(accountFilterFactory.account().iban(iban, true))
-                        .content()
-                        .first(x -> true);
+                matchedAccount = directory != null
+                        ? directory.byIban(iban)
+                        : accountProvider.lookup(accountFilterFactory.account().iban(iban, true))
+                                .content()
+                                .first(x -> true);
             }
         }
 
         if (!matchedAccount.isPresent() && execution.hasVariableLocal("name")) {
             final String accountName = (String) execution.getVariableLocal("name");
             if (accountName != null && !accountName.trim().isEmpty()) {
-                matchedAccount = accountProvider.lookup(accountName);
+                matchedAccount = directory != null
+                        ? directory.byName(accountName)
+                        : accountProvider.lookup(accountName);
             }
         }
 
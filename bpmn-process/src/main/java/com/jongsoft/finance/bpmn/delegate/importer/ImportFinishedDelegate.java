@@ -1,6 +1,8 @@
 package com.jongsoft.finance.bpmn.delegate.importer;
 
 import com.jongsoft.finance.StorageService;
+import com.jongsoft.finance.bpmn.delegate.account.ImportAccountDirectory;
+import com.jongsoft.finance.bpmn.delegate.transaction.ImportDuplicateIndex;
 import com.jongsoft.finance.core.JavaBean;
 import com.jongsoft.finance.providers.ImportProvider;
 import jakarta.inject.Singleton;
@@ -18,10 +20,18 @@ public class ImportFinishedDelegate implements JavaDelegate, JavaBean {
 
     private final StorageService storageService;
     private final ImportProvider importProvider;
-
-    ImportFinishedDelegate(StorageService storageService, ImportProvider importProvider) {
+    private final ImportDuplicateIndex importDuplicateIndex;
+    private final ImportAccountDirectory importAccountDirectory;
+
+    ImportFinishedDelegate(
+            StorageService storageService,
+            ImportProvider importProvider,
+            ImportDuplicateIndex importDuplicateIndex,
+            ImportAccountDirectory importAccountDirectory) {
         this.storageService = storageService;
         this.importProvider = importProvider;
+        this.importDuplicateIndex = importDuplicateIndex;
+        this.importAccountDirectory = importAccountDirectory;
     }
 
     @Override
@@ -38,6 +48,8 @@ public class ImportFinishedDelegate implements JavaDelegate, JavaBean {
                 .ifPresent(entity -> entity.finish(new Date()));
 
         importTokens.forEach(storageService::remove);
+        importDuplicateIndex.release(slug);
+        importAccountDirectory.release(execution.getProcessInstanceId());
     }
 
 }
@@ -1,5 +1,6 @@
 package com.jongsoft.finance.bpmn.delegate.importer;
 
+import com.jongsoft.finance.bpmn.delegate.account.ImportAccountDirectory;
 import com.jongsoft.finance.core.JavaBean;
 import com.jongsoft.finance.providers.AccountProvider;
 import jakarta.inject.Singleton;
@@ -26,9 +27,11 @@ import java.util.Collection;
 public class LocateAccountInMapping implements JavaDelegate, JavaBean {
 
     private final AccountProvider accountProvider;
+    private final ImportAccountDirectory importAccountDirectory;
 
-    public LocateAccountInMapping(AccountProvider accountProvider) {
+    public LocateAccountInMapping(AccountProvider accountProvider, ImportAccountDirectory importAccountDirectory) {
         this.accountProvider = accountProvider;
+        this.importAccountDirectory = importAccountDirectory;
     }
 
     @Override
@@ -47,23 +50,26 @@ public class LocateAccountInMapping implements JavaDelegate, JavaBean {
                 .map(ExtractionMapping::getAccountId)
                 .orElse(null);
 
-        determineSynonym(accountName, accountId);
+        determineSynonym(importAccountDirectory.forImport(delegateExecution), accountName, accountId);
 
         delegateExecution.setVariableLocal("accountId", accountId);
     }
 
-    private void determineSynonym(String accountName, Long accountId) {
+    private void determineSynonym(ImportAccountDirectory.Directory directory, String accountName, Long accountId) {
         if (accountId == null) {
             return;
         }
 
-        var account = accountProvider.lookup(accountId)
+        var account = (directory != null ? directory.byId(accountId) : accountProvider.lookup(accountId))
                 .getOrThrow(() -> new IllegalStateException("Account not found: " + accountId));
         if (!account.getName().equals(accountName)) {
             log.info("Account name '{}' does not match the account name in the mapping '{}'.",
                     account.getName(),
                     accountName);
             account.registerSynonym(accountName);
+            if (directory != null) {
+                directory.registerSynonym(accountName, accountId);
+            }
         }
     }
 }
@@ -9,14 +9,19 @@ import jakarta.inject.Singleton;
 import org.camunda.bpm.engine.delegate.DelegateExecution;
 import org.camunda.bpm.engine.delegate.JavaDelegate;
 
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 
 /**
- * Reads a transaction from storage.
+ * Reads a chunk of transactions from storage.
  * <p>
- *     This delegate reads a transaction from storage using the {@code storageToken} provided in the process variables.
- *     The transaction is then stored in the process variables as {@code transaction}.
- *     The transaction is stored as a {@link TransactionDTO} object.
+ *     This delegate reads a chunk of transactions from storage using the {@code storageToken} provided in the process
+ *     variables. The chunk contains one serialized transaction per line, as written by the
+ *     {@link ReadTransactionLogDelegate}.
+ *     The transactions are then stored in the process variables as {@code transactions}.
+ *     The transactions are stored as a list of {@link TransactionDTO} objects.
  * </p>
  */
 @Singleton
@@ -35,12 +40,20 @@ public class ReadTransactionFromStorage implements JavaDelegate, JavaBean {
     public void execute(DelegateExecution delegateExecution) throws Exception {
         var storageToken = (String) delegateExecution.getVariableLocal("storageToken");
 
-        var transaction = storageService.read(storageToken)
-                .map(byteArray -> new String(byteArray, StandardCharsets.UTF_8))
-                .map(json -> processMapper.readSafe(json, TransactionDTO.class))
-                .getOrThrow(() -> new RuntimeException("Failed to read transaction from storage"));
+        var inputStream = storageService.readStream(storageToken)
+                .getOrThrow(() -> new RuntimeException("Failed to read transactions from storage"));
 
-        delegateExecution.setVariableLocal("transaction", transaction);
+        var transactions = new ArrayList<TransactionDTO>();
+        try (var reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    transactions.add(processMapper.readSafe(line, TransactionDTO.class));
+                }
+            }
+        }
+
+        delegateExecution.setVariableLocal("transactions", transactions);
     }
 
 }
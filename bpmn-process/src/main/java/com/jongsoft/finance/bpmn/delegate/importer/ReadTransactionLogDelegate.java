@@ -8,6 +8,7 @@ import com.jongsoft.finance.importer.api.ImporterConfiguration;
 import com.jongsoft.finance.providers.ImportProvider;
 import com.jongsoft.finance.serialized.ExtractedAccountLookup;
 import com.jongsoft.finance.serialized.ImportJobSettings;
+import io.micronaut.context.annotation.Value;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
@@ -15,10 +16,12 @@ import org.camunda.bpm.engine.delegate.DelegateExecution;
 import org.camunda.bpm.engine.delegate.JavaDelegate;
 
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Delegate to trigger the actual {@link ImporterProvider} to start the job of fetching and converting the transactions.
@@ -29,8 +32,15 @@ import java.util.Set;
  *     process variables called {@code storageTokens}.
  * </p>
  * <p>
+ *     The transactions are stored in chunks, every storage entry contains up to {@code application.importer.chunk-size}
+ *     transactions written as line-delimited JSON. This limits the number of files, the encryption work and the size
+ *     of the {@code storageTokens} variable.
+ * </p>
+ * <p>
  *     The delegate will also set the process variables {@code generateAccounts}, {@code applyRules} and {@code targetAccountId}
- *     based on the {@link ImportJobSettings} of the current import job.
+ *     based on the {@link ImportJobSettings} of the current import job. The earliest and latest transaction date are
+ *     stored as ISO dates in the variables {@code importStartDate} and {@code importEndDate}, these are {@code null}
+ *     when no transaction was read.
  *     The delegate will log a warning if no {@link ImporterProvider} is found for the {@link ImporterConfiguration} of the
  *     current import job.
  * </p>
@@ -43,17 +53,20 @@ public class ReadTransactionLogDelegate implements JavaDelegate, JavaBean {
     private final ImportProvider importProvider;
     private final StorageService storageService;
     private final ProcessMapper mapper;
+    private final int chunkSize;
 
     @Inject
     public ReadTransactionLogDelegate(
             List<ImporterProvider<?>> importerProviders,
             ImportProvider importProvider,
             StorageService storageService,
-            ProcessMapper mapper) {
+            ProcessMapper mapper,
+            @Value("${application.importer.chunk-size:250}") int chunkSize) {
         this.importerProviders = importerProviders;
         this.importProvider = importProvider;
         this.storageService = storageService;
         this.mapper = mapper;
+        this.chunkSize = Math.max(1, chunkSize);
     }
 
     @Override
@@ -65,6 +78,9 @@ public class ReadTransactionLogDelegate implements JavaDelegate, JavaBean {
         var importJob = importProvider.lookup(batchImportSlug).get();
         List<String> storageTokens = new ArrayList<>();
         Set<ExtractedAccountLookup> locatable = new HashSet<>();
+        var chunk = new StringBuilder();
+        var chunkCount = new AtomicInteger();
+        var dateRange = new LocalDate[2];
 
         importerProviders.stream()
                         .filter(provider -> provider.supports(importJobSettings.importConfiguration()))
@@ -72,10 +88,21 @@ public class ReadTransactionLogDelegate implements JavaDelegate, JavaBean {
                         .ifPresentOrElse(
                                 provider -> provider.readTransactions(
                                         transactionDTO -> {
-                                            // write the serialized transaction to storage and store the token
-                                            var serialized = mapper.writeSafe(transactionDTO)
-                                                    .getBytes(StandardCharsets.UTF_8);
-                                            storageTokens.add(storageService.store(serialized));
+                                            // append the serialized transaction to the chunk, flush it to storage when full
+                                            chunk.append(mapper.writeSafe(transactionDTO)).append('\n');
+                                            if (chunkCount.incrementAndGet() == chunkSize) {
+                                                storageTokens.add(storeChunk(chunk));
+                                                chunkCount.set(0);
+                                            }
+
+                                            // track the date range of the import, used for duplicate detection
+                                            var date = transactionDTO.transactionDate();
+                                            if (date != null && (dateRange[0] == null || dateRange[0].isAfter(date))) {
+                                                dateRange[0] = date;
+                                            }
+                                            if (date != null && (dateRange[1] == null || dateRange[1].isBefore(date))) {
+                                                dateRange[1] = date;
+                                            }
 
                                             // write the extracted account lookup to the locatable set
                                             locatable.add(new ExtractedAccountLookup(
@@ -88,6 +115,10 @@ public class ReadTransactionLogDelegate implements JavaDelegate, JavaBean {
                                 () -> log.warn("No importer provider found for configuration: {}", importJobSettings.importConfiguration())
                         );
 
+        if (!chunk.isEmpty()) {
+            storageTokens.add(storeChunk(chunk));
+        }
+
         if (locatable.isEmpty()) {
             log.warn("No accounts found for import job {}", batchImportSlug);
         }
@@ -97,5 +128,13 @@ public class ReadTransactionLogDelegate implements JavaDelegate, JavaBean {
         execution.setVariableLocal("applyRules", importJobSettings.applyRules());
         execution.setVariableLocal("targetAccountId", importJobSettings.accountId());
         execution.setVariableLocal("storageTokens", storageTokens);
+        execution.setVariableLocal("importStartDate", dateRange[0] != null ? dateRange[0].toString() : null);
+        execution.setVariableLocal("importEndDate", dateRange[1] != null ? dateRange[1].toString() : null);
+    }
+
+    private String storeChunk(StringBuilder chunk) {
+        var token = storageService.store(chunk.toString().getBytes(StandardCharsets.UTF_8));
+        chunk.setLength(0);
+        return token;
     }
 }
@@ -0,0 +1,40 @@
+package com.jongsoft.finance.bpmn.delegate.importer;
+
+import com.jongsoft.finance.core.JavaBean;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.JavaDelegate;
+import org.camunda.bpm.engine.variable.value.LongValue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Registers the resolved opposing account of an imported transaction.
+ * <p>
+ *     The account ID is read from the variable {@code accountId} and appended to the variable {@code accountIds} of
+ *     the chunk, so that the transactions of the chunk can be created at once when all accounts are resolved. The
+ *     transactions must be processed in order, the accounts end up in the same order as the transactions.
+ * </p>
+ */
+@Slf4j
+@Singleton
+public class RegisterTransactionAccountDelegate implements JavaDelegate, JavaBean {
+
+    @Override
+    public void execute(DelegateExecution execution) throws Exception {
+        var accountId = execution.<LongValue>getVariableLocalTyped("accountId").getValue();
+        @SuppressWarnings("unchecked")
+        var accountIds = new ArrayList<>((List<Long>) execution.getVariable("accountIds"));
+
+        log.trace("{}: Registering account {} for transaction {}",
+                execution.getCurrentActivityName(),
+                accountId,
+                accountIds.size());
+
+        accountIds.add(accountId);
+        execution.setVariable("accountIds", accountIds);
+    }
+
+}
@@ -1,19 +1,15 @@
 package com.jongsoft.finance.bpmn.delegate.rule;
 
 import com.jongsoft.finance.core.JavaBean;
-import com.jongsoft.finance.core.RuleColumn;
-import com.jongsoft.finance.domain.account.Account;
 import com.jongsoft.finance.providers.TransactionProvider;
-import com.jongsoft.finance.rule.RuleDataSet;
 import com.jongsoft.finance.rule.RuleEngine;
+import com.jongsoft.finance.rule.TransactionRuleMapping;
 import jakarta.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
 import org.camunda.bpm.engine.delegate.DelegateExecution;
 import org.camunda.bpm.engine.delegate.JavaDelegate;
 import org.camunda.bpm.engine.variable.value.LongValue;
 
-import java.util.Map;
-
 /**
  * This delegate is responsible for matching a transaction against the rules engine.
  * <p>
@@ -48,23 +44,7 @@ public class TransactionRuleMatcherDelegate implements JavaDelegate, JavaBean {
                 execution.getCurrentActivityName(),
                 transaction.getId());
 
-        var inputSet = new RuleDataSet();
-        inputSet.put(RuleColumn.TO_ACCOUNT, transaction.computeTo().getName());
-        inputSet.put(RuleColumn.SOURCE_ACCOUNT, transaction.computeFrom().getName());
-        inputSet.put(RuleColumn.AMOUNT, transaction.computeAmount(transaction.computeTo()));
-        inputSet.put(RuleColumn.DESCRIPTION, transaction.getDescription());
-
-        var outputSet = ruleEngine.run(inputSet);
-
-        for (Map.Entry<RuleColumn, ?> entry : outputSet.entrySet()) {
-            switch (entry.getKey()) {
-                case CATEGORY -> transaction.linkToCategory((String) entry.getValue());
-                case TO_ACCOUNT, CHANGE_TRANSFER_TO -> transaction.changeAccount(false, (Account) entry.getValue());
-                case SOURCE_ACCOUNT, CHANGE_TRANSFER_FROM -> transaction.changeAccount(true, (Account) entry.getValue());
-                case CONTRACT -> transaction.linkToContract((String) entry.getValue());
-                case BUDGET -> transaction.linkToBudget((String) entry.getValue());
-                default -> throw new IllegalArgumentException("Unsupported rule column provided " + entry.getKey());
-            }
-        }
+        var outputSet = ruleEngine.run(TransactionRuleMapping.toInput(transaction));
+        TransactionRuleMapping.applyOutput(transaction, outputSet);
     }
 }
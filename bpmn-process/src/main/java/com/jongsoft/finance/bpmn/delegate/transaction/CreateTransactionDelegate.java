@@ -1,5 +1,6 @@
 package com.jongsoft.finance.bpmn.delegate.transaction;
 
+import com.jongsoft.finance.bpmn.delegate.account.ImportAccountDirectory;
 import com.jongsoft.finance.core.JavaBean;
 import com.jongsoft.finance.domain.account.Account;
 import com.jongsoft.finance.domain.transaction.Transaction;
@@ -31,6 +32,9 @@ import org.camunda.bpm.engine.variable.value.LongValue;
  *      </ul>
  *      The delegate will create the transaction in the target account and set the {@code transactionId} in the execution.
  * </p>
+ * <p>
+ *     When running as part of an import the accounts are resolved using the {@link ImportAccountDirectory} of the import.
+ * </p>
  */
 @Slf4j
 @Singleton
@@ -38,10 +42,15 @@ public class CreateTransactionDelegate implements JavaDelegate, JavaBean {
 
     private final AccountProvider accountProvider;
     private final TransactionCreationHandler creationHandler;
+    private final ImportAccountDirectory importAccountDirectory;
 
-    CreateTransactionDelegate(AccountProvider accountProvider, TransactionCreationHandler creationHandler) {
+    CreateTransactionDelegate(
+            AccountProvider accountProvider,
+            TransactionCreationHandler creationHandler,
+            ImportAccountDirectory importAccountDirectory) {
         this.accountProvider = accountProvider;
         this.creationHandler = creationHandler;
+        this.importAccountDirectory = importAccountDirectory;
     }
 
     @Override
@@ -57,13 +66,28 @@ public class CreateTransactionDelegate implements JavaDelegate, JavaBean {
                 toAccount.getName(),
                 parsedTransaction.amount());
 
+        var transaction = createTransaction(targetAccount, toAccount, parsedTransaction, batchImportSlug);
+
+        long transactionId = creationHandler.handleCreatedEvent(new CreateTransactionCommand(transaction));
+
+        execution.setVariable("transactionId", transactionId);
+    }
+
+    /**
+     * Build the transaction for the parsed transaction data, between the target account and the opposing account.
+     */
+    static Transaction createTransaction(
+            Account targetAccount,
+            Account toAccount,
+            TransactionDTO parsedTransaction,
+            String batchImportSlug) {
         var type = switch (parsedTransaction.type()) {
             case DEBIT -> Transaction.Type.DEBIT;
             case CREDIT -> Transaction.Type.CREDIT;
             case TRANSFER -> Transaction.Type.TRANSFER;
         };
 
-        Transaction transaction = targetAccount.createTransaction(
+        return targetAccount.createTransaction(
                 toAccount,
                 parsedTransaction.amount(),
                 type,
@@ -78,15 +102,12 @@ public class CreateTransactionDelegate implements JavaDelegate, JavaBean {
                                 .map(Collections::List)
                                 .getOrSupply(() -> null))
                         .importSlug(batchImportSlug));
-
-        long transactionId = creationHandler.handleCreatedEvent(new CreateTransactionCommand(transaction));
-
-        execution.setVariable("transactionId", transactionId);
     }
 
     private Account lookupAccount(DelegateExecution execution, String variableName) {
         var accountId = execution.<LongValue>getVariableLocalTyped(variableName).getValue();
-        return accountProvider.lookup(accountId)
+        var directory = importAccountDirectory.forImport(execution);
+        return (directory != null ? directory.byId(accountId) : accountProvider.lookup(accountId))
                 .getOrThrow(() -> new IllegalStateException("Unable to find account with id " + accountId));
     }
 
@@ -0,0 +1,93 @@
+package com.jongsoft.finance.bpmn.delegate.transaction;
+
+import com.jongsoft.finance.bpmn.delegate.account.ImportAccountDirectory;
+import com.jongsoft.finance.core.JavaBean;
+import com.jongsoft.finance.domain.account.Account;
+import com.jongsoft.finance.domain.transaction.Transaction;
+import com.jongsoft.finance.importer.api.TransactionDTO;
+import com.jongsoft.finance.messaging.commands.transaction.CreateTransactionsCommand;
+import com.jongsoft.finance.messaging.handlers.TransactionCreationHandler;
+import com.jongsoft.finance.providers.AccountProvider;
+import com.jongsoft.lang.Collections;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.JavaDelegate;
+import org.camunda.bpm.engine.variable.value.LongValue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Delegate for creating a batch of transactions in the system at once.
+ * <p>
+ *     The delegate expects the following variables to be present in the execution:
+ *     <ul>
+ *         <li>transactions: The parsed transaction data from the import job</li>
+ *         <li>accountIds: The IDs of the opposing accounts, in the same order as the transactions</li>
+ *         <li>targetAccount: The ID of the account to create the transactions for</li>
+ *         <li>importJobSlug: The slug of the import job that the transactions are part of</li>
+ *      </ul>
+ *      All transactions are created in one database transaction using the {@link CreateTransactionsCommand}. The IDs
+ *      of the created transactions are set in the {@code transactionIds}, in the same order as the transactions.
+ * </p>
+ */
+@Slf4j
+@Singleton
+public class CreateTransactionsDelegate implements JavaDelegate, JavaBean {
+
+    private final AccountProvider accountProvider;
+    private final TransactionCreationHandler creationHandler;
+    private final ImportAccountDirectory importAccountDirectory;
+
+    CreateTransactionsDelegate(
+            AccountProvider accountProvider,
+            TransactionCreationHandler creationHandler,
+            ImportAccountDirectory importAccountDirectory) {
+        this.accountProvider = accountProvider;
+        this.creationHandler = creationHandler;
+        this.importAccountDirectory = importAccountDirectory;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void execute(DelegateExecution execution) throws Exception {
+        var batchImportSlug = (String) execution.getVariable("importJobSlug");
+        var parsedTransactions = (List<TransactionDTO>) execution.getVariableLocal("transactions");
+        var accountIds = (List<Long>) execution.getVariableLocal("accountIds");
+        var directory = importAccountDirectory.forImport(execution);
+        var targetAccount = lookupAccount(
+                directory,
+                execution.<LongValue>getVariableLocalTyped("targetAccount").getValue());
+
+        if (parsedTransactions.size() != accountIds.size()) {
+            throw new IllegalStateException("Resolved " + accountIds.size() + " accounts for "
+                    + parsedTransactions.size() + " transactions");
+        }
+
+        log.debug("{}: Creating {} transactions into {}",
+                execution.getCurrentActivityName(),
+                parsedTransactions.size(),
+                targetAccount.getName());
+
+        var transactions = new ArrayList<Transaction>(parsedTransactions.size());
+        for (int i = 0; i < parsedTransactions.size(); i++) {
+            transactions.add(CreateTransactionDelegate.createTransaction(
+                    targetAccount,
+                    lookupAccount(directory, accountIds.get(i)),
+                    parsedTransactions.get(i),
+                    batchImportSlug));
+        }
+
+        var transactionIds = creationHandler.handleCreatedEvent(
+                new CreateTransactionsCommand(Collections.List(transactions)));
+
+        execution.setVariableLocal("transactionIds", new ArrayList<>(transactionIds.toJava()));
+    }
+
+    private Account lookupAccount(ImportAccountDirectory.Directory directory, Long accountId) {
+        return (directory != null ? directory.byId(accountId) : accountProvider.lookup(accountId))
+                .getOrThrow(() -> new IllegalStateException("Unable to find account with id " + accountId));
+    }
+
+}
@@ -12,14 +12,27 @@ import org.camunda.bpm.engine.delegate.DelegateExecution;
 import org.camunda.bpm.engine.delegate.JavaDelegate;
 import org.camunda.bpm.engine.variable.value.LongValue;
 
+import java.time.LocalDate;
+
+/**
+ * Marks the transaction as a possible duplicate when a similar transaction already exists.
+ * <p>
+ *     When the delegate runs as part of an import, indicated by the variables {@code importJobSlug},
+ *     {@code importStartDate} and {@code importEndDate}, the check is done against the {@link ImportDuplicateIndex}
+ *     of the import. Otherwise, or for transactions outside the date range of the import, the similar transactions
+ *     are looked up in the database.
+ * </p>
+ */
 @Slf4j
 @Singleton
 public class DuplicateTransactionFinderDelegate implements JavaDelegate, JavaBean {
 
     private final TransactionProvider transactionProvider;
+    private final ImportDuplicateIndex importDuplicateIndex;
 
-    DuplicateTransactionFinderDelegate(TransactionProvider transactionProvider) {
+    DuplicateTransactionFinderDelegate(TransactionProvider transactionProvider, ImportDuplicateIndex importDuplicateIndex) {
         this.transactionProvider = transactionProvider;
+        this.importDuplicateIndex = importDuplicateIndex;
     }
 
     @Override
@@ -29,20 +42,44 @@ public class DuplicateTransactionFinderDelegate implements JavaDelegate, JavaBea
             Transaction transaction = transactionProvider.lookup(id)
                     .getOrThrow(() -> new IllegalStateException("Unable to find transaction with id " + id));
 
-            var amount = transaction.computeAmount(transaction.computeFrom());
-
-            List<Transaction> matches = transactionProvider.similar(
-                    new EntityRef(transaction.computeFrom().getId()),
-                    new EntityRef(transaction.computeTo().getId()),
-                    amount,
-                    transaction.getDate())
-                    .reject(t -> t.getId().equals(id));
+            var index = importIndex(execution);
+            boolean duplicate;
+            if (index != null && index.covers(transaction)) {
+                duplicate = index.hasSimilar(transaction);
+                index.add(transaction);
+            } else {
+                duplicate = hasSimilar(transaction);
+            }
 
-            if (!matches.isEmpty()) {
+            if (duplicate) {
                 log.warn("Marking potential duplicate transaction {}", transaction);
                 transaction.registerFailure(FailureCode.POSSIBLE_DUPLICATE);
             }
         }
     }
 
+    private ImportDuplicateIndex.Index importIndex(DelegateExecution execution) {
+        var importSlug = (String) execution.getVariable("importJobSlug");
+        var startDate = (String) execution.getVariable("importStartDate");
+        var endDate = (String) execution.getVariable("importEndDate");
+        if (importSlug == null || startDate == null || endDate == null) {
+            return null;
+        }
+
+        return importDuplicateIndex.forImport(importSlug, LocalDate.parse(startDate), LocalDate.parse(endDate));
+    }
+
+    private boolean hasSimilar(Transaction transaction) {
+        var amount = transaction.computeAmount(transaction.computeFrom());
+
+        List<Transaction> matches = transactionProvider.similar(
+                new EntityRef(transaction.computeFrom().getId()),
+                new EntityRef(transaction.computeTo().getId()),
+                amount,
+                transaction.getDate())
+                .reject(t -> t.getId().equals(transaction.getId()));
+
+        return !matches.isEmpty();
+    }
+
 }
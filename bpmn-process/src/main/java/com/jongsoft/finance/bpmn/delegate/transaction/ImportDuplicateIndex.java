@@ -0,0 +1,156 @@
+package com.jongsoft.finance.bpmn.delegate.transaction;
+
+import com.jongsoft.finance.domain.transaction.Transaction;
+import com.jongsoft.finance.factory.FilterFactory;
+import com.jongsoft.finance.providers.TransactionProvider;
+import com.jongsoft.lang.Dates;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps an in-memory index of the existing transactions in the date range of an import, used to detect possible
+ * duplicates without querying the database for every imported transaction.
+ * <p>
+ * Two transactions are considered similar when they are on the same date, between the same two accounts, with the
+ * same absolute amount. This is the same check as done by {@link TransactionProvider#similar}. Transactions created
+ * by the import itself only count once they have been checked, so that the first of two similar imported transactions
+ * is not marked as a duplicate.
+ * </p>
+ * <p>
+ * The index of an import is loaded when it is first used and must be released when the import is finished. Indexes
+ * that are not used for a while are dropped, so that failed imports do not keep their index forever.
+ * </p>
+ */
+@Slf4j
+@Singleton
+public class ImportDuplicateIndex {
+
+    private static final int LOAD_BATCH_SIZE = 500;
+    private static final Duration MAX_IDLE_TIME = Duration.ofHours(1);
+
+    record SimilarityKey(LocalDate date, long firstAccount, long secondAccount, long amountInCents) {
+
+        static SimilarityKey of(Transaction transaction) {
+            var from = transaction.computeFrom().getId();
+            var to = transaction.computeTo().getId();
+            var amount = Math.abs(transaction.computeAmount(transaction.computeFrom()));
+
+            return new SimilarityKey(
+                    transaction.getDate(),
+                    Math.min(from, to),
+                    Math.max(from, to),
+                    Math.round(amount * 100));
+        }
+    }
+
+    /**
+     * The index of all transactions in the date range of one import.
+     */
+    public class Index {
+        private final LocalDate start;
+        private final LocalDate end;
+        private final Map<SimilarityKey, Set<Long>> transactions = new ConcurrentHashMap<>();
+        private volatile long lastUsed = System.nanoTime();
+
+        private Index(LocalDate start, LocalDate end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        /**
+         * Indicates if the transaction falls within the date range covered by the index.
+         */
+        public boolean covers(Transaction transaction) {
+            return !transaction.getDate().isBefore(start) && !transaction.getDate().isAfter(end);
+        }
+
+        /**
+         * Indicates if a transaction, other than the given one, is similar to the given transaction.
+         */
+        public boolean hasSimilar(Transaction transaction) {
+            lastUsed = System.nanoTime();
+            var similar = transactions.get(SimilarityKey.of(transaction));
+            return similar != null && similar.stream().anyMatch(id -> !id.equals(transaction.getId()));
+        }
+
+        /**
+         * Add the transaction to the index, so that it is taken into account for the next transactions checked.
+         */
+        public void add(Transaction transaction) {
+            transactions.computeIfAbsent(SimilarityKey.of(transaction), key -> ConcurrentHashMap.newKeySet())
+                    .add(transaction.getId());
+        }
+
+        private boolean idle(long now) {
+            return now - lastUsed > MAX_IDLE_TIME.toNanos();
+        }
+    }
+
+    private final TransactionProvider transactionProvider;
+    private final FilterFactory filterFactory;
+    private final Map<String, Index> indexes = new ConcurrentHashMap<>();
+
+    @Inject
+    public ImportDuplicateIndex(TransactionProvider transactionProvider, FilterFactory filterFactory) {
+        this.transactionProvider = transactionProvider;
+        this.filterFactory = filterFactory;
+    }
+
+    /**
+     * Get the index for the import, loading all existing transactions between the start and end date (both inclusive)
+     * when the index does not yet exist.
+     */
+    public Index forImport(String importSlug, LocalDate start, LocalDate end) {
+        var now = System.nanoTime();
+        indexes.values().removeIf(index -> index.idle(now));
+
+        return indexes.computeIfAbsent(importSlug, slug -> load(slug, start, end));
+    }
+
+    /**
+     * Drop the index of the import.
+     */
+    public void release(String importSlug) {
+        indexes.remove(importSlug);
+    }
+
+    private Index load(String importSlug, LocalDate start, LocalDate end) {
+        var index = new Index(start, end);
+        var filterCommand = filterFactory.transaction()
+                .range(Dates.range(start, end.plusDays(1)))
+                .pageSize(LOAD_BATCH_SIZE)
+                .countTotal(false);
+
+        var hasNext = true;
+        var loaded = 0;
+        while (hasNext) {
+            var batch = transactionProvider.lookup(filterCommand);
+
+            Transaction last = null;
+            for (Transaction transaction : batch.content()) {
+                // transactions of the import itself are added once they are checked, as they may already be created
+                if (!importSlug.equals(transaction.getImportSlug())) {
+                    index.add(transaction);
+                }
+                last = transaction;
+            }
+
+            loaded += batch.content().size();
+            hasNext = batch.hasNext() && last != null;
+            if (hasNext) {
+                filterCommand.after(last.getDate(), last.getId());
+            }
+        }
+
+        log.debug("[{}] - Loaded {} transactions between {} and {} for duplicate detection",
+                importSlug, loaded, start, end);
+        return index;
+    }
+}
@@ -0,0 +1,73 @@
+package com.jongsoft.finance.bpmn.delegate.user;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonToken;
+import com.jongsoft.finance.ProcessMapper;
+import com.jongsoft.finance.serialized.ExportJson;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Reads a serialized {@link ExportJson} from a stream one element at a time, without loading the complete profile in
+ * memory. Every element of a registered section is deserialized on its own and passed to the consumer of that
+ * section, all other sections are skipped.
+ * <p>
+ * The sections are processed in the order in which they appear in the document.
+ * </p>
+ */
+class ProfileJsonReader {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final ProcessMapper mapper;
+    private final Map<String, Consumer<String>> sections = new HashMap<>();
+
+    ProfileJsonReader(ProcessMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    /**
+     * Register the consumer for all elements of the section with the given name.
+     */
+    <T> ProfileJsonReader on(String section, Class<T> type, Consumer<T> consumer) {
+        sections.put(section, json -> {
+            var element = mapper.readSafe(json, type);
+            if (element == null) {
+                throw new IllegalStateException("Unable to parse an element of '" + section + "' in the profile");
+            }
+
+            consumer.accept(element);
+        });
+        return this;
+    }
+
+    void read(InputStream inputStream) throws IOException {
+        try (var parser = JSON_FACTORY.createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalStateException("Unable to parse the profile, it is not a JSON object");
+            }
+
+            var element = new StringWriter();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                var consumer = sections.get(parser.currentName());
+                if (parser.nextToken() != JsonToken.START_ARRAY || consumer == null) {
+                    parser.skipChildren();
+                    continue;
+                }
+
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    element.getBuffer().setLength(0);
+                    try (var generator = JSON_FACTORY.createGenerator(element)) {
+                        generator.copyCurrentStructure(parser);
+                    }
+                    consumer.accept(element.toString());
+                }
+            }
+        }
+    }
+}
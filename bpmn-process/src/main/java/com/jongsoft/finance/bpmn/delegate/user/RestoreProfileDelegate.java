@@ -0,0 +1,271 @@
+package com.jongsoft.finance.bpmn.delegate.user;
+
+import com.jongsoft.finance.ProcessMapper;
+import com.jongsoft.finance.StorageService;
+import com.jongsoft.finance.bpmn.delegate.account.ImportAccountDirectory;
+import com.jongsoft.finance.core.JavaBean;
+import com.jongsoft.finance.domain.account.Contract;
+import com.jongsoft.finance.domain.user.Budget;
+import com.jongsoft.finance.messaging.EventBus;
+import com.jongsoft.finance.messaging.commands.budget.CloseBudgetCommand;
+import com.jongsoft.finance.messaging.commands.budget.CreateBudgetCommand;
+import com.jongsoft.finance.providers.AccountProvider;
+import com.jongsoft.finance.providers.BudgetProvider;
+import com.jongsoft.finance.providers.CategoryProvider;
+import com.jongsoft.finance.providers.ContractProvider;
+import com.jongsoft.finance.providers.TagProvider;
+import com.jongsoft.finance.security.CurrentUserProvider;
+import com.jongsoft.finance.serialized.AccountJson;
+import com.jongsoft.finance.serialized.BudgetJson;
+import com.jongsoft.finance.serialized.CategoryJson;
+import com.jongsoft.finance.serialized.ContractJson;
+import com.jongsoft.finance.serialized.RuleConfigJson;
+import com.jongsoft.lang.Control;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import org.bouncycastle.util.encoders.Hex;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.JavaDelegate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * This delegate restores the accounts, categories, budgets, contracts and tags of a profile export in a single pass
+ * over the stored JSON. The transactions of the profile are restored by the
+ * {@link RestoreProfileTransactionsDelegate}.
+ * <p>
+ * The existing entities of the user are loaded once, every element of the profile is then checked against them in
+ * memory. Accounts are resolved using the {@link ImportAccountDirectory} of the import, created accounts are registered
+ * with it so that the contracts and transactions of the profile resolve to them.
+ * </p>
+ * <p>
+ * This delegate expects the following variables to be present:
+ * </p>
+ * <ul>
+ *     <li>storageToken, the token of the stored profile export</li>
+ * </ul>
+ * <p>
+ * The rules of the profile are stored separately, the token is set in the {@code ruleStorageToken} variable, or
+ * {@code null} if the profile has no rules.
+ * </p>
+ */
+@Slf4j
+@Singleton
+public class RestoreProfileDelegate implements JavaDelegate, JavaBean {
+
+    private final CurrentUserProvider userProvider;
+    private final AccountProvider accountProvider;
+    private final CategoryProvider categoryProvider;
+    private final BudgetProvider budgetProvider;
+    private final ContractProvider contractProvider;
+    private final TagProvider tagProvider;
+    private final StorageService storageService;
+    private final ProcessMapper mapper;
+    private final ImportAccountDirectory importAccountDirectory;
+
+    RestoreProfileDelegate(
+            CurrentUserProvider userProvider,
+            AccountProvider accountProvider,
+            CategoryProvider categoryProvider,
+            BudgetProvider budgetProvider,
+            ContractProvider contractProvider,
+            TagProvider tagProvider,
+            StorageService storageService,
+            ProcessMapper mapper,
+            ImportAccountDirectory importAccountDirectory) {
+        this.userProvider = userProvider;
+        this.accountProvider = accountProvider;
+        this.categoryProvider = categoryProvider;
+        this.budgetProvider = budgetProvider;
+        this.contractProvider = contractProvider;
+        this.tagProvider = tagProvider;
+        this.storageService = storageService;
+        this.mapper = mapper;
+        this.importAccountDirectory = importAccountDirectory;
+    }
+
+    @Override
+    public void execute(DelegateExecution execution) throws Exception {
+        var storageToken = (String) execution.getVariable("storageToken");
+
+        log.debug("{}: Restoring the profile stored in {}",
+                execution.getCurrentActivityName(),
+                storageToken);
+
+        var directory = importAccountDirectory.forImport(execution);
+        var categories = new HashSet<String>();
+        categoryProvider.lookup().forEach(category -> categories.add(category.getLabel()));
+        var contracts = new HashSet<String>();
+        contractProvider.lookup().forEach(contract -> contracts.add(contract.getName()));
+        var tags = new HashSet<String>();
+        tagProvider.lookup().forEach(tag -> tags.add(tag.name()));
+
+        var rules = new ArrayList<RuleConfigJson.RuleJson>();
+        var budgets = new ArrayList<BudgetJson>();
+        try (var inputStream = storageService.readStream(storageToken)
+                .getOrThrow(() -> new IllegalStateException("Unable to read the profile from storage"))) {
+            new ProfileJsonReader(mapper)
+                    .on("accounts", AccountJson.class, account -> createAccount(directory, account))
+                    .on("rules", RuleConfigJson.RuleJson.class, rules::add)
+                    .on("categories", CategoryJson.class, category -> createCategory(categories, category))
+                    .on("budgetPeriods", BudgetJson.class, budgets::add)
+                    .on("contracts", ContractJson.class, contract -> createContract(directory, contracts, contract))
+                    .on("tags", String.class, tag -> createTag(tags, tag))
+                    .read(inputStream);
+        }
+
+        budgets.sort(Comparator.comparing(BudgetJson::getStart));
+        budgets.forEach(this::createBudget);
+
+        execution.setVariableLocal("ruleStorageToken", storeRules(rules));
+    }
+
+    private void createAccount(ImportAccountDirectory.Directory directory, AccountJson accountJson) {
+        if (directory.byName(accountJson.getName()).isPresent()) {
+            return;
+        }
+
+        userProvider.currentUser().createAccount(
+                accountJson.getName(),
+                accountJson.getCurrency(),
+                accountJson.getType());
+
+        accountProvider.lookup(accountJson.getName())
+                .ifPresent(account -> {
+                    account.changeAccount(
+                            handleEmptyAsNull(accountJson.getIban()),
+                            handleEmptyAsNull(accountJson.getBic()),
+                            handleEmptyAsNull(accountJson.getNumber()));
+                    account.rename(
+                            accountJson.getName(),
+                            accountJson.getDescription(),
+                            accountJson.getCurrency(),
+                            accountJson.getType());
+
+                    if (accountJson.getPeriodicity() != null) {
+                        account.interest(accountJson.getInterest(), accountJson.getPeriodicity());
+                    }
+
+                    if (accountJson.getIcon() != null) {
+                        account.registerIcon(storageService.store(Hex.decode(accountJson.getIcon())));
+                    }
+
+                    directory.register(account);
+                });
+    }
+
+    private void createCategory(Set<String> existing, CategoryJson categoryJson) {
+        if (!existing.add(categoryJson.getLabel())) {
+            return;
+        }
+
+        userProvider.currentUser().createCategory(categoryJson.getLabel());
+        if (categoryJson.getDescription() != null) {
+            categoryProvider.lookup(categoryJson.getLabel())
+                    .ifPresent(category -> category.rename(
+                            categoryJson.getLabel(),
+                            categoryJson.getDescription()));
+        }
+    }
+
+    private void createContract(
+            ImportAccountDirectory.Directory directory,
+            Set<String> existing,
+            ContractJson contractJson) {
+        if (existing.contains(contractJson.getName())) {
+            return;
+        }
+
+        directory.byName(contractJson.getCompany())
+                .ifPresent(account -> {
+                    account.createContract(
+                            contractJson.getName(),
+                            contractJson.getDescription(),
+                            contractJson.getStart(),
+                            contractJson.getEnd());
+                    existing.add(contractJson.getName());
+
+                    if (contractJson.getContract() != null || contractJson.isTerminated()) {
+                        contractProvider.lookup(contractJson.getName())
+                                .ifPresent(contract -> registerContractDetails(contract, contractJson));
+                    }
+                });
+    }
+
+    private void registerContractDetails(Contract contract, ContractJson contractJson) {
+        if (contractJson.getContract() != null) {
+            contract.registerUpload(storageService.store(Hex.decode(contractJson.getContract())));
+        }
+
+        if (contractJson.isTerminated()) {
+            contract.terminate();
+        }
+    }
+
+    private void createTag(Set<String> existing, String tag) {
+        if (existing.add(tag)) {
+            userProvider.currentUser().createTag(tag);
+        }
+    }
+
+    /**
+     * Create the budget period, closing the budget period that is active at its start.
+     */
+    private void createBudget(BudgetJson budgetJson) {
+        var start = budgetJson.getStart().withDayOfMonth(1);
+        var year = budgetJson.getStart().getYear();
+        var month = budgetJson.getStart().getMonthValue();
+
+        var oldBudget = budgetProvider.lookup(year, month);
+        if (oldBudget.isPresent()) {
+            EventBus.getBus()
+                    .send(new CloseBudgetCommand(oldBudget.get().getId(), start));
+            EventBus.getBus()
+                    .send(new CreateBudgetCommand(Budget.builder()
+                            .start(start)
+                            .expectedIncome(budgetJson.getExpectedIncome())
+                            .expenses(oldBudget.get().getExpenses())
+                            .build()));
+        } else {
+            EventBus.getBus().send(new CreateBudgetCommand(
+                    Budget.builder()
+                            .start(start)
+                            .expectedIncome(budgetJson.getExpectedIncome())
+                            .build()));
+        }
+
+        var budget = budgetProvider.lookup(year, month)
+                .getOrThrow(() -> new IllegalStateException("Budget period not found for period " + start));
+
+        Control.Option(budgetJson.getExpenses())
+                .getOrSupply(List::of)
+                .forEach(e -> Control.Option(budget.determineExpense(e.getName()))
+                        .ifPresent(currentExpense -> currentExpense.updateExpense(e.getUpperBound()))
+                        .elseRun(() -> budget.createExpense(e.getName(), e.getLowerBound(), e.getUpperBound())));
+    }
+
+    private String storeRules(List<RuleConfigJson.RuleJson> rules) {
+        if (rules.isEmpty()) {
+            return null;
+        }
+
+        return storageService.store(
+                mapper.writeSafe(RuleConfigJson.builder()
+                        .slug("profile-import")
+                        .rules(rules)
+                        .build()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String handleEmptyAsNull(String value) {
+        if (value != null && !value.isBlank()) {
+            return value;
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,162 @@
+package com.jongsoft.finance.bpmn.delegate.user;
+
+import com.jongsoft.finance.ProcessMapper;
+import com.jongsoft.finance.StorageService;
+import com.jongsoft.finance.bpmn.delegate.account.ImportAccountDirectory;
+import com.jongsoft.finance.core.FailureCode;
+import com.jongsoft.finance.core.JavaBean;
+import com.jongsoft.finance.core.RuleColumn;
+import com.jongsoft.finance.domain.account.Account;
+import com.jongsoft.finance.domain.transaction.Transaction;
+import com.jongsoft.finance.messaging.commands.transaction.CreateTransactionsCommand;
+import com.jongsoft.finance.messaging.handlers.TransactionCreationHandler;
+import com.jongsoft.finance.rule.RuleDataSet;
+import com.jongsoft.finance.rule.RuleEngine;
+import com.jongsoft.finance.rule.TransactionRuleMapping;
+import com.jongsoft.finance.serialized.TransactionJson;
+import com.jongsoft.lang.Collections;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.JavaDelegate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This delegate restores the transactions of a profile export, it must run after the accounts and rules of the profile
+ * have been restored.
+ * <p>
+ * The transactions are read from the stored JSON one at a time and created in batches, every batch is written in a
+ * single database transaction. The accounts are resolved using the {@link ImportAccountDirectory} of the import and the
+ * transaction rules are applied to the batch before it is created, so that no transaction has to be updated afterwards.
+ * </p>
+ * <p>
+ * This delegate expects the following variables to be present:
+ * </p>
+ * <ul>
+ *     <li>storageToken, the token of the stored profile export</li>
+ * </ul>
+ */
+@Slf4j
+@Singleton
+public class RestoreProfileTransactionsDelegate implements JavaDelegate, JavaBean {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final StorageService storageService;
+    private final ProcessMapper mapper;
+    private final RuleEngine ruleEngine;
+    private final TransactionCreationHandler creationHandler;
+    private final ImportAccountDirectory importAccountDirectory;
+
+    RestoreProfileTransactionsDelegate(
+            StorageService storageService,
+            ProcessMapper mapper,
+            RuleEngine ruleEngine,
+            TransactionCreationHandler creationHandler,
+            ImportAccountDirectory importAccountDirectory) {
+        this.storageService = storageService;
+        this.mapper = mapper;
+        this.ruleEngine = ruleEngine;
+        this.creationHandler = creationHandler;
+        this.importAccountDirectory = importAccountDirectory;
+    }
+
+    @Override
+    public void execute(DelegateExecution execution) throws Exception {
+        var storageToken = (String) execution.getVariable("storageToken");
+        var directory = importAccountDirectory.forImport(execution);
+
+        var batch = new ArrayList<Transaction>(BATCH_SIZE);
+        try (var inputStream = storageService.readStream(storageToken)
+                .getOrThrow(() -> new IllegalStateException("Unable to read the profile from storage"))) {
+            new ProfileJsonReader(mapper)
+                    .on("transactions", TransactionJson.class, transaction -> {
+                        batch.add(createTransaction(directory, transaction));
+                        if (batch.size() == BATCH_SIZE) {
+                            create(batch);
+                        }
+                    })
+                    .read(inputStream);
+        }
+        create(batch);
+
+        log.debug("{}: Restored the transactions of the profile stored in {}",
+                execution.getCurrentActivityName(),
+                storageToken);
+    }
+
+    /**
+     * Apply the transaction rules to all transactions of the batch and create them.
+     */
+    private void create(List<Transaction> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        var outputs = ruleEngine.runAll(batch.stream().map(TransactionRuleMapping::toInput));
+        var transactions = new ArrayList<Transaction>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            transactions.add(applyRules(batch.get(i), outputs.get(i)));
+        }
+
+        log.trace("Creating a batch of {} restored transactions", transactions.size());
+        creationHandler.handleCreatedEvent(new CreateTransactionsCommand(Collections.List(transactions)));
+        batch.clear();
+    }
+
+    /**
+     * Apply the output of the rule engine to the transaction. The transaction has not been created yet, so the changes
+     * are applied by building it again instead of through its business methods.
+     */
+    private Transaction applyRules(Transaction transaction, RuleDataSet outputSet) {
+        if (outputSet.isEmpty()) {
+            return transaction;
+        }
+
+        var from = (Account) outputSet.getOrDefault(
+                RuleColumn.SOURCE_ACCOUNT,
+                outputSet.getOrDefault(RuleColumn.CHANGE_TRANSFER_FROM, transaction.computeFrom()));
+        var to = (Account) outputSet.getOrDefault(
+                RuleColumn.TO_ACCOUNT,
+                outputSet.getOrDefault(RuleColumn.CHANGE_TRANSFER_TO, transaction.computeTo()));
+
+        return from.createTransaction(
+                to,
+                transaction.computeAmount(transaction.computeTo()),
+                Transaction.Type.CREDIT,
+                t -> t.currency(transaction.getCurrency())
+                        .date(transaction.getDate())
+                        .bookDate(transaction.getBookDate())
+                        .interestDate(transaction.getInterestDate())
+                        .description(transaction.getDescription())
+                        .category(outputSet.getCasted(RuleColumn.CATEGORY))
+                        .budget(outputSet.getCasted(RuleColumn.BUDGET))
+                        .contract(outputSet.getCasted(RuleColumn.CONTRACT))
+                        .failureCode(from.equals(to) ? FailureCode.FROM_TO_SAME : null));
+    }
+
+    private Transaction createTransaction(
+            ImportAccountDirectory.Directory directory,
+            TransactionJson transaction) {
+        var fromAccount = directory.byName(transaction.getFromAccount())
+                .getOrThrow(() ->
+                        new IllegalStateException(
+                                "Unable to find account with name " + transaction.getFromAccount()));
+        var toAccount = directory.byName(transaction.getToAccount())
+                .getOrThrow(() ->
+                        new IllegalStateException(
+                                "Unable to find account with name " + transaction.getToAccount()));
+
+        return fromAccount.createTransaction(
+                toAccount,
+                transaction.getAmount(),
+                Transaction.Type.CREDIT,
+                t -> t.currency(transaction.getCurrency())
+                        .date(transaction.getDate())
+                        .bookDate(transaction.getBookDate())
+                        .interestDate(transaction.getInterestDate())
+                        .description(transaction.getDescription()));
+    }
+}
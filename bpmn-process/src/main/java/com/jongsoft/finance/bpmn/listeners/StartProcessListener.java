@@ -10,6 +10,8 @@ import org.camunda.bpm.engine.delegate.DelegateExecution;
 import org.camunda.bpm.engine.delegate.ExecutionListener;
 import org.camunda.bpm.engine.variable.value.StringValue;
 
+import java.util.Objects;
+
 @Slf4j
 @Singleton
 public class StartProcessListener implements ExecutionListener, JavaBean {
@@ -26,9 +28,13 @@ public class StartProcessListener implements ExecutionListener, JavaBean {
 
     @Override
     public void notify(DelegateExecution execution) {
-        if (execution.hasVariable("username") && authenticationFacade.authenticated() == null) {
-            var username = execution.<StringValue>getVariableTyped("username").getValue();
+        if (!execution.hasVariable("username")) {
+            return;
+        }
 
+        // asynchronous continuations run on pooled threads, which may still hold the user of a previous job
+        var username = execution.<StringValue>getVariableTyped("username").getValue();
+        if (!Objects.equals(username, authenticationFacade.authenticated())) {
             log.info("[{}-{}] Correcting authentication to user {}",
                     execution.getProcessDefinitionId(),
                     execution.getCurrentActivityName(),
@@ -1,5 +1,6 @@
 package com.jongsoft.finance.bpmn.listeners;
 
+import com.jongsoft.finance.bpmn.delegate.account.ImportAccountDirectory;
 import com.jongsoft.finance.core.JavaBean;
 import jakarta.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
@@ -10,9 +11,16 @@ import org.camunda.bpm.engine.delegate.ExecutionListener;
 @Singleton
 public class StopProcessListener implements ExecutionListener, JavaBean {
 
+    private final ImportAccountDirectory importAccountDirectory;
+
+    StopProcessListener(ImportAccountDirectory importAccountDirectory) {
+        this.importAccountDirectory = importAccountDirectory;
+    }
+
     @Override
     public void notify(DelegateExecution execution) {
         log.info("[{}] Finish business process", execution.getProcessDefinitionId());
+        importAccountDirectory.release(execution.getProcessInstanceId());
         execution.removeVariablesLocal();
         execution.removeVariables();
     }
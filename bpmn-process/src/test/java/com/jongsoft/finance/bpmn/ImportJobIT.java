@@ -7,12 +7,17 @@ import com.jongsoft.finance.domain.account.Account;
 import com.jongsoft.finance.domain.importer.BatchImport;
 import com.jongsoft.finance.domain.importer.BatchImportConfig;
 import com.jongsoft.finance.domain.transaction.Transaction;
+import com.jongsoft.finance.messaging.commands.transaction.CreateTransactionCommand;
+import com.jongsoft.finance.messaging.commands.transaction.CreateTransactionsCommand;
+import com.jongsoft.finance.messaging.handlers.TransactionCreationHandler;
 import com.jongsoft.finance.providers.AccountProvider;
+import com.jongsoft.finance.providers.TransactionProvider;
 import com.jongsoft.finance.serialized.ImportJobSettings;
 import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
 
 import java.util.Date;
 import java.util.Map;
@@ -114,6 +119,8 @@ public class ImportJobIT {
                 .complete();
 
         process.task("confirm_mappings")
+                .<String>verifyVariable("importStartDate", date -> Assertions.assertThat(date).isEqualTo("2016-05-25"))
+                .<String>verifyVariable("importEndDate", date -> Assertions.assertThat(date).isEqualTo("2016-05-31"))
                 .<Set<ExtractionMapping>>verifyVariable("account_mappings", mappings ->
                         Assertions.assertThat(mappings)
                                 .hasSize(3)
@@ -130,11 +137,16 @@ public class ImportJobIT {
                         new ExtractionMapping("Janssen PA", 2L),
                         new ExtractionMapping("MW GA Pieterse", 4L)
                 )));
+        process.awaitJobs();
 
         context.verifyTransactions(assertion -> assertion.hasSize(4)
                         .anySatisfy(this::verifyPostTransaction)
                         .noneSatisfy(this::verifyJanssenTransaction)
                         .anySatisfy(this::verifyPieterseTransaction));
+
+        // the duplicate detection uses the index of the import, loaded once for the import date range
+        context.verifyInteraction(TransactionProvider.class)
+                .lookup(Mockito.any(TransactionProvider.FilterCommand.class));
     }
 
     @Test
@@ -175,6 +187,7 @@ public class ImportJobIT {
                                 })
                 )
                 .complete();
+        process.awaitJobs();
         context.withAccount(setupPieterseAccount());
 
         process.task("user_create_account")
@@ -186,6 +199,55 @@ public class ImportJobIT {
                 .anySatisfy(this::verifyPieterseTransaction));
     }
 
+    @Test
+    @DisplayName("Run with multiple chunks, waiting on account creation in the first chunk")
+    void runWithChunkWaitingOnAccountCreate(RuntimeContext context) {
+        context
+            .withStorage()
+            .withStorage(JSON_FILE_CODE, "/import-test/import-config-test.json")
+            .withStorage(CSV_FILE_CODE, "/import-test/import-test-chunks.csv")
+            .withAccount(createTargetAccount())
+            .withAccount(setupPostAccount())
+            .withAccount(setupJanssenAccount())
+            .withImportJob(createBatchImport())
+            .withTransactions();
+
+        var process = context.execute("import_job", Map.of(
+                "importJobSlug", IMPORT_JOB_SLUG
+        ));
+
+        process.task("task_configure")
+                .<ImportJobSettings>updateVariable(
+                        "initialConfig",
+                        "updatedConfig",
+                        config -> new ImportJobSettings(
+                                config.importConfiguration(),
+                                config.applyRules(),
+                                false,
+                                TARGET_ACCOUNT_ID))
+                .complete();
+
+        process.task("confirm_mappings")
+                .complete();
+        process.awaitJobs();
+
+        // the first chunk waits on the account creation, while the second chunk is processed
+        process.verifyPendingActivity("user_create_account");
+        context.verifyTransactions(assertion -> assertion.hasSize(2)
+                .anySatisfy(this::verifyPostTransaction)
+                .anySatisfy(this::verifyJanssenTransaction));
+
+        context.withAccount(setupPieterseAccount());
+        process.task("user_create_account")
+                .complete(Map.of("accountId", 4L));
+
+        context.verifyTransactions(assertion -> assertion.hasSize(4)
+                .anySatisfy(this::verifyPieterseTransaction)
+                .anySatisfy(transaction -> verifyOpposingAccount(transaction, "Janssen PA", -14.19))
+                .anySatisfy(this::verifyPostTransaction)
+                .anySatisfy(this::verifyJanssenTransaction));
+    }
+
     @Test
     @DisplayName("Run with automated account creation")
     void runWithAutomatedAccountCreation(RuntimeContext context) {
@@ -218,6 +280,7 @@ public class ImportJobIT {
         process.task("confirm_mappings")
                 .updateVariable("account_mappings", "account_mappings", mappings -> mappings)
                 .complete();
+        process.awaitJobs();
 
         context
                 .verifyTransactions(assertion -> assertion.hasSize(4)
@@ -226,8 +289,14 @@ public class ImportJobIT {
                         .anySatisfy(this::verifyPieterseTransaction))
                 .verifyStorageCleaned();
 
-        context.verifyInteraction(AccountProvider.class).lookup("Janssen PA");
-        context.verifyInteraction(AccountProvider.class).lookup("P. Post");
+        context.verifyInteraction(AccountProvider.class).lookup();
+        context.verifyInteraction(AccountProvider.class).synonyms();
+
+        // each chunk creates its transactions at once
+        context.verifyInteraction(TransactionCreationHandler.class, Mockito.times(2))
+                .handleCreatedEvent(Mockito.any(CreateTransactionsCommand.class));
+        context.verifyInteraction(TransactionCreationHandler.class, Mockito.never())
+                .handleCreatedEvent(Mockito.any(CreateTransactionCommand.class));
     }
 
     private void verifyPostTransaction(Transaction transaction) {
@@ -272,6 +341,14 @@ public class ImportJobIT {
                 });
     }
 
+    private void verifyOpposingAccount(Transaction transaction, String accountName, double amount) {
+        Assertions.assertThat(transaction.getTransactions())
+                .anySatisfy(subTransaction -> {
+                    Assertions.assertThat(subTransaction.getAccount().getName()).isEqualTo(accountName);
+                    Assertions.assertThat(subTransaction.getAmount()).isEqualTo(amount);
+                });
+    }
+
     private Account createTargetAccount() {
         return Account.builder()
                 .id(1L)
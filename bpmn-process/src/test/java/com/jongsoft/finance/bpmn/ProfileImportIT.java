@@ -5,6 +5,8 @@ import com.jongsoft.finance.bpmn.process.RuntimeContext;
 import com.jongsoft.finance.core.RuleColumn;
 import com.jongsoft.finance.domain.account.Account;
 import com.jongsoft.finance.domain.user.Budget;
+import com.jongsoft.finance.messaging.commands.transaction.CreateTransactionsCommand;
+import com.jongsoft.finance.messaging.handlers.TransactionCreationHandler;
 import com.jongsoft.lang.collection.Sequence;
 import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
 import org.assertj.core.api.Assertions;
@@ -133,6 +135,7 @@ public class ProfileImportIT {
     }
 
     @Test
+    @DisplayName("Import a profile with transactions in a single batch")
     void runWithTransactions(RuntimeContext context) {
         context
             .withTransactions()
@@ -168,6 +171,8 @@ public class ProfileImportIT {
                                 Assertions.assertThat(transaction.getDescription()).isEqualTo("Some more shopping");
                                 Assertions.assertThat(transaction.getDate()).isEqualTo(LocalDate.of(2018, 2, 12));
                             }));
+        context.verifyInteraction(TransactionCreationHandler.class)
+                .handleCreatedEvent(Mockito.any(CreateTransactionsCommand.class));
     }
 
     @Test
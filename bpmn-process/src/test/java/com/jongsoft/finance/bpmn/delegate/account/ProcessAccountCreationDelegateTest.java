@@ -43,7 +43,12 @@ class ProcessAccountCreationDelegateTest {
     @BeforeEach
     void setup() throws JsonProcessingException {
         MockitoAnnotations.openMocks(this);
-        subject = new ProcessAccountCreationDelegate(userService, accountProvider, storageService, TestUtilities.getProcessMapper());
+        subject = new ProcessAccountCreationDelegate(
+                userService,
+                accountProvider,
+                storageService,
+                TestUtilities.getProcessMapper(),
+                new ImportAccountDirectory(accountProvider));
 
         final AccountJson accountJson = AccountJson.builder()
                 .name("Test account")
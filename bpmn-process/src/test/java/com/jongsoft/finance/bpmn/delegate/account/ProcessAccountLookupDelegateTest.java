@@ -32,7 +32,10 @@ class ProcessAccountLookupDelegateTest {
 
         Mockito.when(filterFactory.account()).thenReturn(filterCommand);
 
-        subject = new ProcessAccountLookupDelegate(accountProvider, filterFactory);
+        subject = new ProcessAccountLookupDelegate(
+                accountProvider,
+                filterFactory,
+                new ImportAccountDirectory(accountProvider));
     }
 
     @Test
@@ -91,4 +94,25 @@ class ProcessAccountLookupDelegateTest {
         Mockito.verify(filterCommand).iban("NL123723712", true);
     }
 
+    @Test
+    void execute_importDirectory() {
+        final Account account = Account.builder().id(4L).name("Janssen PA").iban("NL69INGB0123456789").build();
+
+        Mockito.when(execution.getProcessDefinitionId()).thenReturn("import_job:1:3b4c");
+        Mockito.when(execution.getProcessInstanceId()).thenReturn("8f1e");
+        Mockito.when(execution.hasVariableLocal("iban")).thenReturn(true);
+        Mockito.when(execution.getVariableLocal("iban")).thenReturn("nl69 ingb 0123 4567 89");
+        Mockito.when(accountProvider.lookup()).thenReturn(Collections.List(account));
+        Mockito.when(accountProvider.synonyms()).thenReturn(Collections.List());
+
+        subject.execute(execution);
+        subject.execute(execution);
+
+        Mockito.verify(accountProvider).lookup();
+        Mockito.verify(accountProvider, Mockito.never()).lookup(Mockito.any(AccountProvider.FilterCommand.class));
+        Mockito.verify(accountProvider, Mockito.never()).lookup(Mockito.anyString());
+
+        Mockito.verify(execution, Mockito.times(2)).setVariableLocal("id", 4L);
+    }
+
 }
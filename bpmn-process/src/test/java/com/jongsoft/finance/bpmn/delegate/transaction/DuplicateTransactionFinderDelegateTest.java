@@ -1,9 +1,11 @@
 package com.jongsoft.finance.bpmn.delegate.transaction;
 
+import com.jongsoft.finance.ResultPage;
 import com.jongsoft.finance.core.FailureCode;
 import com.jongsoft.finance.domain.account.Account;
 import com.jongsoft.finance.domain.core.EntityRef;
 import com.jongsoft.finance.domain.transaction.Transaction;
+import com.jongsoft.finance.factory.FilterFactory;
 import com.jongsoft.finance.providers.TransactionProvider;
 import com.jongsoft.finance.messaging.EventBus;
 import com.jongsoft.lang.Collections;
@@ -14,6 +16,7 @@ import org.camunda.bpm.engine.variable.impl.value.PrimitiveTypeValueImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
 
 import java.time.LocalDate;
 
@@ -42,6 +45,7 @@ class DuplicateTransactionFinderDelegateTest {
             .build();
 
     private TransactionProvider transactionProvider;
+    private FilterFactory filterFactory;
     private DelegateExecution execution;
 
     private DuplicateTransactionFinderDelegate subject;
@@ -50,9 +54,12 @@ class DuplicateTransactionFinderDelegateTest {
     void setup() {
         execution = Mockito.mock(DelegateExecution.class);
         transactionProvider = Mockito.mock(TransactionProvider.class);
+        filterFactory = Mockito.mock(FilterFactory.class);
         new EventBus(Mockito.mock(ApplicationEventPublisher.class));
 
-        subject = new DuplicateTransactionFinderDelegate(transactionProvider);
+        subject = new DuplicateTransactionFinderDelegate(
+                transactionProvider,
+                new ImportDuplicateIndex(transactionProvider, filterFactory));
 
         Mockito.when(execution.hasVariableLocal("transactionId")).thenReturn(true);
         Mockito.when(execution.getVariableLocalTyped("transactionId")).thenReturn(new PrimitiveTypeValueImpl.LongValueImpl(1L));
@@ -69,4 +76,74 @@ class DuplicateTransactionFinderDelegateTest {
         assertThat(TRANSACTION.getFailureCode()).isEqualTo(FailureCode.POSSIBLE_DUPLICATE);
         Mockito.verify(transactionProvider).similar(new EntityRef(2L), new EntityRef(1L), -2100, TRANSACTION_DATE);
     }
+
+    @Test
+    void execute_import() throws Exception {
+        var imported = transaction(3L, 2100);
+        var filterCommand = Mockito.mock(TransactionProvider.FilterCommand.class, InvocationOnMock::getMock);
+        Mockito.when(filterFactory.transaction()).thenReturn(filterCommand);
+        Mockito.when(transactionProvider.lookup(3L)).thenReturn(Control.Option(imported));
+        Mockito.when(transactionProvider.lookup(filterCommand)).thenReturn(ResultPage.of(TRANSACTION, imported));
+        Mockito.when(execution.getVariableLocalTyped("transactionId")).thenReturn(new PrimitiveTypeValueImpl.LongValueImpl(3L));
+        Mockito.when(execution.getVariable("importJobSlug")).thenReturn("import-job");
+        Mockito.when(execution.getVariable("importStartDate")).thenReturn("2019-01-01");
+        Mockito.when(execution.getVariable("importEndDate")).thenReturn("2019-01-31");
+
+        subject.execute(execution);
+
+        assertThat(imported.getFailureCode()).isEqualTo(FailureCode.POSSIBLE_DUPLICATE);
+        Mockito.verify(filterCommand).range(Mockito.any());
+        Mockito.verify(transactionProvider, Mockito.never())
+                .similar(Mockito.any(), Mockito.any(), Mockito.anyDouble(), Mockito.any());
+    }
+
+    @Test
+    void execute_importNoDuplicate() throws Exception {
+        var transaction = transaction(3L, 15);
+        var filterCommand = Mockito.mock(TransactionProvider.FilterCommand.class, InvocationOnMock::getMock);
+        Mockito.when(filterFactory.transaction()).thenReturn(filterCommand);
+        Mockito.when(transactionProvider.lookup(3L)).thenReturn(Control.Option(transaction));
+        Mockito.when(transactionProvider.lookup(filterCommand)).thenReturn(ResultPage.of(TRANSACTION, transaction));
+        Mockito.when(execution.getVariableLocalTyped("transactionId")).thenReturn(new PrimitiveTypeValueImpl.LongValueImpl(3L));
+        Mockito.when(execution.getVariable("importJobSlug")).thenReturn("import-job");
+        Mockito.when(execution.getVariable("importStartDate")).thenReturn("2019-01-01");
+        Mockito.when(execution.getVariable("importEndDate")).thenReturn("2019-01-31");
+
+        subject.execute(execution);
+
+        assertThat(transaction.getFailureCode()).isNull();
+    }
+
+    @Test
+    void execute_importCreatedTogether() throws Exception {
+        var first = transaction(3L, 15).toBuilder().importSlug("import-job").build();
+        var second = transaction(4L, 15).toBuilder().importSlug("import-job").build();
+        var filterCommand = Mockito.mock(TransactionProvider.FilterCommand.class, InvocationOnMock::getMock);
+        Mockito.when(filterFactory.transaction()).thenReturn(filterCommand);
+        Mockito.when(transactionProvider.lookup(3L)).thenReturn(Control.Option(first));
+        Mockito.when(transactionProvider.lookup(4L)).thenReturn(Control.Option(second));
+        Mockito.when(transactionProvider.lookup(filterCommand)).thenReturn(ResultPage.of(TRANSACTION, first, second));
+        Mockito.when(execution.getVariable("importJobSlug")).thenReturn("import-job");
+        Mockito.when(execution.getVariable("importStartDate")).thenReturn("2019-01-01");
+        Mockito.when(execution.getVariable("importEndDate")).thenReturn("2019-01-31");
+
+        Mockito.when(execution.getVariableLocalTyped("transactionId")).thenReturn(new PrimitiveTypeValueImpl.LongValueImpl(3L));
+        subject.execute(execution);
+        Mockito.when(execution.getVariableLocalTyped("transactionId")).thenReturn(new PrimitiveTypeValueImpl.LongValueImpl(4L));
+        subject.execute(execution);
+
+        assertThat(first.getFailureCode()).isNull();
+        assertThat(second.getFailureCode()).isEqualTo(FailureCode.POSSIBLE_DUPLICATE);
+    }
+
+    private Transaction transaction(long id, double amount) {
+        return Transaction.builder()
+                .id(id)
+                .date(TRANSACTION_DATE)
+                .currency("EUR")
+                .transactions(Collections.List(
+                        Transaction.Part.builder().amount(amount).account(TO_ACCOUNT).build(),
+                        Transaction.Part.builder().amount(-amount).account(FROM_ACCOUNT).build()))
+                .build();
+    }
 }
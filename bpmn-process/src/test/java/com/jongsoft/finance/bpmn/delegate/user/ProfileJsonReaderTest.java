@@ -0,0 +1,73 @@
+package com.jongsoft.finance.bpmn.delegate.user;
+
+import com.jongsoft.finance.bpmn.TestUtilities;
+import com.jongsoft.finance.serialized.AccountJson;
+import com.jongsoft.finance.serialized.CategoryJson;
+import com.jongsoft.finance.serialized.TransactionJson;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+
+class ProfileJsonReaderTest {
+
+    @Test
+    void read() throws Exception {
+        var accounts = new ArrayList<AccountJson>();
+        var categories = new ArrayList<CategoryJson>();
+        var tags = new ArrayList<String>();
+
+        try (var inputStream = getClass().getResourceAsStream("/profile-test/profile-export.json")) {
+            new ProfileJsonReader(TestUtilities.getProcessMapper())
+                    .on("accounts", AccountJson.class, accounts::add)
+                    .on("categories", CategoryJson.class, categories::add)
+                    .on("tags", String.class, tags::add)
+                    .read(inputStream);
+        }
+
+        Assertions.assertThat(accounts)
+                .extracting(AccountJson::getName)
+                .containsExactly("Demo checking account", "Groceries are us", "Boss & Co.");
+        Assertions.assertThat(categories).hasSize(3);
+        Assertions.assertThat(tags).isEmpty();
+    }
+
+    @Test
+    void read_skipsUnregisteredSections() throws Exception {
+        var json = """
+                {
+                  "$schema": "https://www.pledger.io/schemas/profile.schema.json",
+                  "categories": [{"label": "Groceries", "extra": {"nested": [1, 2]}}],
+                  "transactions": [
+                    {"date": "2018-01-01", "amount": 89.0, "currency": "EUR", "description": "Some groceries",
+                     "fromAccount": "My personal account", "toAccount": "Groceries are us"}
+                  ]
+                }""";
+
+        var transactions = new ArrayList<TransactionJson>();
+        new ProfileJsonReader(TestUtilities.getProcessMapper())
+                .on("transactions", TransactionJson.class, transactions::add)
+                .read(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+        Assertions.assertThat(transactions)
+                .hasSize(1)
+                .first()
+                .satisfies(transaction -> {
+                    Assertions.assertThat(transaction.getDescription()).isEqualTo("Some groceries");
+                    Assertions.assertThat(transaction.getDate()).isEqualTo(LocalDate.of(2018, 1, 1));
+                    Assertions.assertThat(transaction.getAmount()).isEqualTo(89.0);
+                });
+    }
+
+    @Test
+    void read_notAnObject() {
+        var reader = new ProfileJsonReader(TestUtilities.getProcessMapper());
+
+        Assertions.assertThatThrownBy(() -> reader.read(new ByteArrayInputStream("[]".getBytes(StandardCharsets.UTF_8))))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Unable to parse the profile, it is not a JSON object");
+    }
+}
@@ -13,6 +13,7 @@ import java.util.function.Consumer;
 
 public class RunningProcessExecution implements ProcessTestExtension.ProcessExecution<RunningProcessExecution> {
     private final static Logger log = LoggerFactory.getLogger(RunningProcessExecution.class);
+    private final static long JOB_TIMEOUT_MS = 10_000;
     private final ProcessEngine processEngine;
     private final ProcessInstance processInstance;
 
@@ -103,6 +104,32 @@ public class RunningProcessExecution implements ProcessTestExtension.ProcessExec
         return this;
     }
 
+    /**
+     * Wait until the job executor ran all asynchronous continuations of the process.
+     */
+    public RunningProcessExecution awaitJobs() {
+        var jobQuery = processEngine.getManagementService()
+                .createJobQuery()
+                .processInstanceId(processInstance.getProcessInstanceId())
+                .executable();
+
+        var timeout = System.currentTimeMillis() + JOB_TIMEOUT_MS;
+        while (jobQuery.count() > 0) {
+            Assertions.assertThat(System.currentTimeMillis())
+                    .as("Jobs of process %s did not complete in time", processInstance.getId())
+                    .isLessThan(timeout);
+
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting on the jobs", e);
+            }
+        }
+
+        return this;
+    }
+
     @Override
     public HistoricProcessExecution verifyCompleted() {
         var historicProcess = processEngine.getHistoryService().createHistoricProcessInstanceQuery()
@@ -20,12 +20,14 @@ import com.jongsoft.finance.factory.FilterFactory;
 import com.jongsoft.finance.messaging.EventBus;
 import com.jongsoft.finance.messaging.commands.budget.CreateBudgetCommand;
 import com.jongsoft.finance.messaging.commands.transaction.CreateTransactionCommand;
+import com.jongsoft.finance.messaging.commands.transaction.CreateTransactionsCommand;
 import com.jongsoft.finance.messaging.handlers.TransactionCreationHandler;
 import com.jongsoft.finance.providers.*;
 import com.jongsoft.finance.security.AuthenticationFacade;
 import com.jongsoft.finance.security.CurrentUserProvider;
 import com.jongsoft.lang.Collections;
 import com.jongsoft.lang.Control;
+import com.jongsoft.lang.collection.Sequence;
 import com.jongsoft.lang.control.Optional;
 import io.micronaut.context.ApplicationContext;
 import io.micronaut.context.event.ApplicationEventPublisher;
@@ -40,13 +42,16 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.mockito.stubbing.Answer;
 import org.mockito.stubbing.OngoingStubbing;
+import org.mockito.verification.VerificationMode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.*;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public class RuntimeContext {
 
@@ -62,6 +67,7 @@ public class RuntimeContext {
     private final List<String> storageTokens;
     private final MutableLong idGenerator;
     private final List<Budget> registeredBudgets;
+    private final List<Account> registeredAccounts;
 
     public RuntimeContext(ApplicationContext applicationContext) {
         this.applicationContext = applicationContext;
@@ -76,6 +82,7 @@ public class RuntimeContext {
         this.applicationEventPublisher = Mockito.spy(applicationContext.getBean(ApplicationEventPublisher.class));
         idGenerator = new MutableLong(100);
         registeredBudgets = new ArrayList<>();
+        registeredAccounts = new ArrayList<>();
 
         setupDefaultMocks();
     }
@@ -84,6 +91,7 @@ public class RuntimeContext {
         processEngine.close();
         storageTokens.clear();
         registeredBudgets.clear();
+        registeredAccounts.clear();
     }
 
     public RuntimeContext withoutUser() {
@@ -128,6 +136,8 @@ public class RuntimeContext {
 
         Mockito.when(applicationContext.getBean(StorageService.class).read(token))
                 .thenReturn(Control.Option(bytes));
+        Mockito.when(applicationContext.getBean(StorageService.class).readStream(token))
+                .thenAnswer(invocation -> Control.Option(new ByteArrayInputStream(bytes)));
 
         return this;
     }
@@ -180,7 +190,21 @@ public class RuntimeContext {
             field.set(event.transaction(), transactionId);
             Mockito.when(transactionProvider.lookup(transactionId)).thenReturn(Control.Option(event.transaction()));
             return transactionId;
-        }).when(transactionCreationHandler).handleCreatedEvent(Mockito.any());
+        }).when(transactionCreationHandler).handleCreatedEvent(Mockito.any(CreateTransactionCommand.class));
+        Mockito.doAnswer((Answer<Sequence<Long>>) invocation -> {
+            CreateTransactionsCommand event = invocation.getArgument(0);
+            var transactionIds = new ArrayList<Long>();
+            for (Transaction transaction : event.transactions()) {
+                long transactionId = idGenerator.getAndAdd(1);
+
+                var field = ReflectionUtils.getRequiredField(Transaction.class, "id");
+                field.setAccessible(true);
+                field.set(transaction, transactionId);
+                Mockito.when(transactionProvider.lookup(transactionId)).thenReturn(Control.Option(transaction));
+                transactionIds.add(transactionId);
+            }
+            return Collections.List(transactionIds);
+        }).when(transactionCreationHandler).handleCreatedEvent(Mockito.any(CreateTransactionsCommand.class));
 
         return this;
     }
@@ -232,6 +256,7 @@ public class RuntimeContext {
                             .build();
                     Mockito.when(accountProvider.lookup(accountId)).thenReturn(Control.Option(account));
                     Mockito.when(accountProvider.lookup(name)).thenReturn(Control.Option(account));
+                    registeredAccounts.add(account);
                     return account;
                 });
         return this;
@@ -242,6 +267,7 @@ public class RuntimeContext {
                 .thenReturn(Control.Option(account));
         Mockito.when(applicationContext.getBean(AccountProvider.class).lookup(account.getId()))
                 .thenReturn(Control.Option(account));
+        registeredAccounts.add(account);
         return this;
     }
 
@@ -315,8 +341,11 @@ public class RuntimeContext {
     public RuntimeContext verifyTransactions(Consumer<ListAssert<Transaction>> validations) {
         var createdTransactions = Mockito.mockingDetails(applicationContext.getBean(TransactionCreationHandler.class)).getInvocations().stream()
                 .filter(invocation -> invocation.getMethod().getName().equals("handleCreatedEvent"))
-                .map(invocation -> invocation.getArgument(0, CreateTransactionCommand.class))
-                .map(CreateTransactionCommand::transaction)
+                .flatMap(invocation -> switch (invocation.getArgument(0)) {
+                    case CreateTransactionCommand command -> Stream.of(command.transaction());
+                    case CreateTransactionsCommand command -> command.transactions().stream();
+                    default -> Stream.<Transaction>empty();
+                })
                 .toList();
 
         validations.accept(Assertions.assertThat(createdTransactions));
@@ -386,6 +415,10 @@ public class RuntimeContext {
         return Mockito.verify(applicationContext.getBean(type));
     }
 
+    public <T> T verifyInteraction(Class<T> type, VerificationMode mode) {
+        return Mockito.verify(applicationContext.getBean(type), mode);
+    }
+
     void resetMocks() {
         Mockito.reset(
                 applicationContext.getBean(BudgetProvider.class),
@@ -401,6 +434,7 @@ public class RuntimeContext {
                 applicationContext.getBean(TransactionScheduleProvider.class),
                 applicationContext.getBean(UserProvider.class),
                 userAccount);
+        registeredAccounts.clear();
 
         setupDefaultMocks();
     }
@@ -417,6 +451,11 @@ public class RuntimeContext {
 
         new EventBus(applicationEventPublisher);
 
+        // Prepare the account listing used by the import account directory
+        var accountProvider = applicationContext.getBean(AccountProvider.class);
+        Mockito.when(accountProvider.lookup())
+                .thenAnswer(invocation -> Collections.List(registeredAccounts));
+
         // Prepare the mocks for the filter factory
         var filterFactory = applicationContext.getBean(FilterFactory.class);
         Mockito.when(filterFactory.account()).thenReturn(Mockito.mock(AccountProvider.FilterCommand.class, Mockito.RETURNS_DEEP_STUBS));
@@ -1,5 +1,6 @@
 plugins {
     id("io.micronaut.library") apply false
+    id("me.champeau.jmh") apply false
     id("maven-publish")
     id("java")
 
@@ -30,6 +31,13 @@ subprojects {
         }
     }
 
+    plugins.withId("me.champeau.jmh") {
+        configure<me.champeau.jmh.JmhParameters> {
+            // report the allocation rate per operation next to the throughput
+            profilers.add("gc")
+        }
+    }
+
     publishing {
         publications {
             create<MavenPublication>("maven") {
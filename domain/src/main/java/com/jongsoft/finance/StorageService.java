@@ -3,6 +3,9 @@ package com.jongsoft.finance;
 import com.jongsoft.finance.core.JavaBean;
 import com.jongsoft.lang.control.Optional;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
 public interface StorageService extends JavaBean {
 
     /**
@@ -15,6 +18,17 @@ public interface StorageService extends JavaBean {
 
     Optional<byte[]> read(String token);
 
+    /**
+     * Opens a stream on the content of a file, allowing large files to be processed without loading them in memory
+     * completely. The caller is responsible for closing the stream.
+     *
+     * @param token the token of the file
+     * @return  the stream containing the (decrypted) content of the file
+     */
+    default Optional<InputStream> readStream(String token) {
+        return read(token).map(content -> new ByteArrayInputStream(content));
+    }
+
     /**
      * Remove a file from storage that is no longer needed.
      *
@@ -0,0 +1,11 @@
+package com.jongsoft.finance.domain.transaction.events;
+
+import com.jongsoft.finance.core.ApplicationEvent;
+
+/**
+ * Signals that a transaction rule, including its conditions and changes, was stored.
+ *
+ * @param id the identifier of the stored rule
+ */
+public record TransactionRuleSavedEvent(Long id) implements ApplicationEvent {
+}
@@ -0,0 +1,10 @@
+package com.jongsoft.finance.messaging.commands.account;
+
+import com.jongsoft.finance.core.ApplicationEvent;
+
+/**
+ * Verify the maintained balances of all accounts against their transactions. Unless {@code verifyOnly} is set, the
+ * balances that are found to be incorrect are rebuilt.
+ */
+public record RebuildAccountBalancesCommand(boolean verifyOnly) implements ApplicationEvent {
+}
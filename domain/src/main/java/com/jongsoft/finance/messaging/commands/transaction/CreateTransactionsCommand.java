@@ -0,0 +1,11 @@
+package com.jongsoft.finance.messaging.commands.transaction;
+
+import com.jongsoft.finance.core.ApplicationEvent;
+import com.jongsoft.finance.domain.transaction.Transaction;
+import com.jongsoft.lang.collection.Sequence;
+
+/**
+ * Create a batch of transactions at once, all transactions are written in the same database transaction.
+ */
+public record CreateTransactionsCommand(Sequence<Transaction> transactions) implements ApplicationEvent {
+}
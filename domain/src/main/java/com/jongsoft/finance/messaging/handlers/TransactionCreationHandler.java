@@ -1,6 +1,8 @@
 package com.jongsoft.finance.messaging.handlers;
 
 import com.jongsoft.finance.messaging.commands.transaction.CreateTransactionCommand;
+import com.jongsoft.finance.messaging.commands.transaction.CreateTransactionsCommand;
+import com.jongsoft.lang.collection.Sequence;
 
 public interface TransactionCreationHandler {
 
@@ -12,4 +14,12 @@ public interface TransactionCreationHandler {
      */
     long handleCreatedEvent(CreateTransactionCommand command);
 
+    /**
+     * Handle the creation of a batch of transactions
+     *
+     * @param command the command
+     * @return the ids of the created transactions, in the order of the transactions in the command
+     */
+    Sequence<Long> handleCreatedEvent(CreateTransactionsCommand command);
+
 }
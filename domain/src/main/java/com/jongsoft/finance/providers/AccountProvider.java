@@ -14,6 +14,12 @@ public interface AccountProvider extends DataProvider<Account>, Exportable<Accou
 
     interface FilterCommand {
         FilterCommand name(String value, boolean fullMatch);
+
+        /**
+         * Match all accounts whose name starts with the value, ignoring case. Unlike a partial match this can use the
+         * index on the account name, which makes it the preferred filter for autocompletion.
+         */
+        FilterCommand namePrefix(String value);
         FilterCommand iban(String value, boolean fullMatch);
         FilterCommand number(String value, boolean fullMatch);
         FilterCommand types(Sequence<String> types);
@@ -28,8 +34,18 @@ public interface AccountProvider extends DataProvider<Account>, Exportable<Accou
         double average();
     }
 
+    interface AccountSynonym {
+        String synonym();
+        long accountId();
+    }
+
     Optional<Account> synonymOf(String synonym);
 
+    /**
+     * List all synonyms registered for the active accounts of the user.
+     */
+    Sequence<AccountSynonym> synonyms();
+
     Optional<Account> lookup(String name);
 
     Optional<Account> lookup(SystemAccountTypes accountType);
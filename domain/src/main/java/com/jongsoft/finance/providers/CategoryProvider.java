@@ -9,6 +9,11 @@ public interface CategoryProvider extends DataProvider<Category>, Exportable<Cat
 
     interface FilterCommand {
         FilterCommand label(String label, boolean exact);
+
+        /**
+         * Match all categories whose label starts with the value, ignoring case.
+         */
+        FilterCommand labelPrefix(String label);
         FilterCommand page(int page);
         FilterCommand pageSize(int pageSize);
     }
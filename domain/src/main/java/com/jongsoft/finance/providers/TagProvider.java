@@ -9,6 +9,11 @@ public interface TagProvider extends Exportable<Tag> {
 
     interface FilterCommand {
         FilterCommand name(String value, boolean exact);
+
+        /**
+         * Match all tags whose name starts with the value, ignoring case.
+         */
+        FilterCommand namePrefix(String value);
         FilterCommand page(int page);
         FilterCommand pageSize(int pageSize);
     }
@@ -118,6 +118,27 @@ public interface TransactionProvider extends DataProvider<Transaction> {
          */
         FilterCommand page(int value);
         FilterCommand pageSize(int value);
+
+        /**
+         * Switch to keyset pagination, where only transactions sorted after the given transaction are returned. These
+         * are the transactions with an earlier date, or with the same date and a lower identifier. The page set using
+         * {@link #page(int)} is ignored, so that the cost of retrieving a page does not grow with its depth.
+         *
+         * @param date the date of the last transaction on the previous page
+         * @param id   the identifier of the last transaction on the previous page
+         * @return this instance
+         */
+        FilterCommand after(LocalDate date, long id);
+
+        /**
+         * Indicate if the total number of matching transactions should be counted, which is the default. Skipping the
+         * count saves a query for every page. The {@link ResultPage#total()} is then only the number of transactions
+         * on the page.
+         *
+         * @param value true to count all matching transactions
+         * @return this instance
+         */
+        FilterCommand countTotal(boolean value);
     }
 
     /**
@@ -138,6 +159,32 @@ public interface TransactionProvider extends DataProvider<Transaction> {
         double summary();
     }
 
+    /**
+     * The entity type used to partition the balance in {@link #balancePartitioned(FilterCommand, PartitionKey)}.
+     */
+    enum PartitionKey {
+        ACCOUNT,
+        BUDGET,
+        CATEGORY
+    }
+
+    /**
+     * The balance of all transactions that belong to a single partition.
+     */
+    interface PartitionBalance {
+        /**
+         * The unique identifier of the account, budget or category of the partition.
+         * @return the identifier
+         */
+        long partition();
+
+        /**
+         * The aggregated value of all transactions in the partition.
+         * @return the balance
+         */
+        double balance();
+    }
+
     /**
      * Locate the first ever transaction made that meets the preset given using the {@link FilterCommand}.
      *
@@ -161,6 +208,18 @@ public interface TransactionProvider extends DataProvider<Transaction> {
 
     Optional<BigDecimal> balance(FilterCommand filter);
 
+    /**
+     * Calculate the balance of the transactions matching the filter for every account, budget or category in a single
+     * aggregation. Any filter set on the entity type used as partition key is ignored. Partitions without any
+     * transactions are not included in the result, nor are transactions without a budget or category when
+     * partitioning on those.
+     *
+     * @param filter       the filter to be applied
+     * @param partitionKey the entity type to partition the balance on
+     * @return the balance per partition
+     */
+    Sequence<PartitionBalance> balancePartitioned(FilterCommand filter, PartitionKey partitionKey);
+
     Sequence<Transaction> similar(EntityRef from, EntityRef to, double amount, LocalDate date);
 
     default boolean supports(Class<?> supportingClass) {
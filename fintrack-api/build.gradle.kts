@@ -1,5 +1,6 @@
 plugins {
     id("io.micronaut.application")
+    id("me.champeau.jmh")
 }
 
 application {
@@ -60,6 +61,13 @@ dependencies {
     // Contains the health checker
     implementation(mn.micronaut.management)
 
+    // Request, query and provider metrics, exposed on the metrics and prometheus endpoints
+    implementation(mn.micronaut.micrometer.core)
+    implementation(mn.micronaut.micrometer.registry.prometheus)
+
+    // Used to write the bulk rule changes in batched transactions
+    implementation(mn.micronaut.data.tx)
+
     // Investigate if this can be swapped for micronaut serde
     implementation(mn.micronaut.jackson.databind)
     implementation(mn.micronaut.serde.jackson)
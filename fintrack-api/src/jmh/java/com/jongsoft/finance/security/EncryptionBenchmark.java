@@ -0,0 +1,65 @@
+package com.jongsoft.finance.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures concurrent reads of encrypted storage content, as done when several users download attachments or run
+ * imports at the same time. Run with {@code ./gradlew :fintrack-api:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class EncryptionBenchmark {
+
+    private static final String[] SECRETS = {"user-one", "user-two", "user-three", "user-four"};
+
+    @Param({"4096"})
+    private int contentSize;
+
+    private Encryption encryption;
+    private byte[][] encrypted;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        encryption = new Encryption();
+
+        var content = new byte[contentSize];
+        new Random(42).nextBytes(content);
+
+        encrypted = new byte[SECRETS.length][];
+        for (int i = 0; i < SECRETS.length; i++) {
+            encrypted[i] = encryption.encrypt(content, SECRETS[i]);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Reader {
+        private int next;
+    }
+
+    @Benchmark
+    public byte[] concurrentRead(Reader reader) {
+        var user = reader.next++ % SECRETS.length;
+        return encryption.decrypt(encrypted[user], SECRETS[user]);
+    }
+
+}
@@ -12,7 +12,9 @@ import com.jongsoft.lang.control.Optional;
 import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
@@ -85,6 +87,29 @@ public class DiskStorageService implements StorageService {
         }
     }
 
+    @Override
+    public Optional<InputStream> readStream(String token) {
+        InputStream fileStream;
+        try {
+            fileStream = new BufferedInputStream(Files.newInputStream(uploadRootDirectory.resolve(token)));
+        } catch (IOException e) {
+            throw StatusException.notFound("Cannot locate content for token " + token);
+        }
+
+        if (!securitySettings.isEncrypt()) {
+            return Control.Option(fileStream);
+        }
+
+        try {
+            return Control.Option(encryption.decrypt(
+                    fileStream,
+                    currentUserProvider.currentUser().getSecret()));
+        } catch (IllegalStateException e) {
+            Control.Try(fileStream::close);
+            throw StatusException.notAuthorized("Cannot access file with token " + token);
+        }
+    }
+
     @Override
     public void remove(String token) {
         try {
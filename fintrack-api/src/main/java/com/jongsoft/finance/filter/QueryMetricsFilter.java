@@ -0,0 +1,82 @@
+package com.jongsoft.finance.filter;
+
+import com.jongsoft.finance.jpa.reactive.QueryStatistics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.core.async.publisher.Publishers;
+import io.micronaut.http.BasicHttpAttributes;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.annotation.Filter;
+import io.micronaut.http.filter.HttpServerFilter;
+import io.micronaut.http.filter.ServerFilterChain;
+import io.micronaut.http.filter.ServerFilterPhase;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records the number of SQL statements and the time spent in HQL queries for every request, per route. Requests that
+ * issue more statements than the configured {@code application.metrics.query-budget} are logged, a budget of 0
+ * disables the logging.
+ * <p>
+ * The statistics are collected on the thread handling the request, statements issued from other threads are not
+ * counted.
+ */
+@Filter("/api/**")
+public class QueryMetricsFilter implements HttpServerFilter {
+
+    private final Logger log = LoggerFactory.getLogger(QueryMetricsFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int queryBudget;
+
+    public QueryMetricsFilter(
+            MeterRegistry meterRegistry,
+            @Value("${application.metrics.query-budget:0}") int queryBudget) {
+        this.meterRegistry = meterRegistry;
+        this.queryBudget = queryBudget;
+    }
+
+    @Override
+    public int getOrder() {
+        return ServerFilterPhase.METRICS.after();
+    }
+
+    @Override
+    public Publisher<MutableHttpResponse<?>> doFilter(HttpRequest<?> request, ServerFilterChain chain) {
+        var statistics = QueryStatistics.start();
+
+        return Publishers.then(chain.proceed(request), response -> {
+            statistics.stop();
+
+            var method = request.getMethodName();
+            var route = BasicHttpAttributes.getUriTemplate(request).orElse("UNMATCHED");
+            DistributionSummary.builder("fintrack.request.statements")
+                    .description("The number of SQL statements issued while handling a request")
+                    .tag("method", method)
+                    .tag("uri", route)
+                    .register(meterRegistry)
+                    .record(statistics.statements());
+            Timer.builder("fintrack.request.query.time")
+                    .description("The time spent in HQL queries while handling a request")
+                    .tag("method", method)
+                    .tag("uri", route)
+                    .register(meterRegistry)
+                    .record(statistics.queryTime());
+
+            if (queryBudget > 0 && statistics.statements() > queryBudget) {
+                log.warn("{}: {} issued {} SQL statements, over the budget of {}. {} HQL queries took {} ms.",
+                        method,
+                        request.getPath(),
+                        statistics.statements(),
+                        queryBudget,
+                        statistics.queries(),
+                        statistics.queryTime().toMillis());
+            }
+        });
+    }
+
+}
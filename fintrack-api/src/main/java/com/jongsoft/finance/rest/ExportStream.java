@@ -0,0 +1,104 @@
+package com.jongsoft.finance.rest;
+
+import com.jongsoft.finance.bpmn.InternalAuthenticationEvent;
+import com.jongsoft.finance.messaging.EventBus;
+import io.micronaut.core.io.Writable;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.server.types.files.StreamedFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Streams an export to the response through a bounded pipe. The export is written on a dedicated thread, authenticated
+ * as the user that requested it, while the response is sent from the other end of the pipe. Writing blocks as long as
+ * the pipe is full, so only the buffer of the pipe is held in memory whatever the size of the export.
+ * <p>
+ * When the export fails, reading the end of the pipe fails as well, so that the response is aborted instead of ending
+ * with a partial export.
+ * </p>
+ */
+public final class ExportStream {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportStream.class);
+
+    private static final int PIPE_SIZE = 64 * 1024;
+
+    private ExportStream() {
+    }
+
+    /**
+     * Start writing the export for the user.
+     *
+     * @param username  the user the export is written for
+     * @param mediaType the media type of the export
+     * @param export    writes the export
+     * @return the file to send as response
+     */
+    public static StreamedFile of(String username, MediaType mediaType, Writable export) {
+        var input = new ExportInputStream();
+        PipedOutputStream output;
+        try {
+            output = new PipedOutputStream(input);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        Thread.ofVirtual()
+                .name("export-" + username)
+                .start(() -> write(username, export, input, output));
+        return new StreamedFile(input, mediaType);
+    }
+
+    private static void write(String username, Writable export, ExportInputStream input, PipedOutputStream output) {
+        // the thread only lives for this export, so the authentication is never visible to other requests
+        EventBus.getBus().sendSystemEvent(new InternalAuthenticationEvent(ExportStream.class, username));
+
+        try (var writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+            try {
+                export.writeTo(writer);
+            } catch (IOException | RuntimeException e) {
+                log.warn("[{}] - Failed to write the export", username, e);
+                input.failure = new IOException("The export could not be completed", e);
+            }
+        } catch (IOException e) {
+            log.debug("[{}] - The export was closed before it was completed", username);
+        }
+    }
+
+    /**
+     * The reading end of the pipe, which fails at the end of the export if writing it failed.
+     */
+    private static class ExportInputStream extends PipedInputStream {
+        private volatile IOException failure;
+
+        ExportInputStream() {
+            super(PIPE_SIZE);
+        }
+
+        @Override
+        public synchronized int read() throws IOException {
+            return verify(super.read());
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len) throws IOException {
+            return verify(super.read(b, off, len));
+        }
+
+        private int verify(int read) throws IOException {
+            if (read < 0 && failure != null) {
+                throw failure;
+            }
+
+            return read;
+        }
+    }
+}
@@ -76,12 +76,12 @@ public class AccountResource {
     @Get("/auto-complete{?token,type}")
     @Operation(
             summary = "Autocomplete accounts",
-            description = "Performs a search operation based on the partial name (token) of the given account type",
+            description = "Lists the accounts of the given account type with a name starting with the token",
             operationId = "autocomplete",
             parameters = {
                     @Parameter(
                             name = "token",
-                            description = "A partial search text.",
+                            description = "The start of the account name, matched ignoring case.",
                             in = ParameterIn.QUERY,
                             required = true,
                             schema = @Schema(implementation = String.class)),
@@ -96,7 +96,7 @@ public class AccountResource {
     )
     List<AccountResponse> autocomplete(@Nullable String token, @Nullable String type) {
         var filter =  accountFilterFactory.account()
-                .name(token, false)
+                .namePrefix(token)
                 .pageSize(settingProvider.getAutocompleteLimit());
         if (type != null) {
             filter.types(Collections.List(type));
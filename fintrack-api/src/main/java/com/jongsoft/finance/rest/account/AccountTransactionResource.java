@@ -85,6 +85,10 @@ public class AccountTransactionResource {
             command.description(request.getText(), false);
         }
 
+        Control.Option(request.getAfter())
+                .ifPresent(position -> command.after(position.date(), position.id()));
+        command.countTotal(!request.isSkipCount());
+
         var results = transactionProvider.lookup(command)
                 .map(TransactionResponse::new);
 
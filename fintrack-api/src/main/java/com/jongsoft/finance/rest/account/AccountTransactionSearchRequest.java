@@ -1,6 +1,7 @@
 package com.jongsoft.finance.rest.account;
 
 import io.micronaut.serde.annotation.Serdeable;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 
@@ -13,6 +14,10 @@ class AccountTransactionSearchRequest {
     public record Range(LocalDate start, LocalDate end) {
     }
 
+    @Serdeable
+    public record Position(@NotNull LocalDate date, long id) {
+    }
+
     private String text;
 
     @Min(0)
@@ -21,10 +26,17 @@ class AccountTransactionSearchRequest {
     @NotNull
     private Range dateRange;
 
-    public AccountTransactionSearchRequest(String text, int page, Range dateRange) {
+    @Valid
+    private Position after;
+
+    private boolean skipCount;
+
+    public AccountTransactionSearchRequest(String text, int page, Range dateRange, Position after, boolean skipCount) {
         this.text = text;
         this.page = page;
         this.dateRange = dateRange;
+        this.after = after;
+        this.skipCount = skipCount;
     }
 
     public String getText() {
@@ -39,4 +51,12 @@ class AccountTransactionSearchRequest {
         return Math.max(0, page - 1);
     }
 
+    public Position getAfter() {
+        return after;
+    }
+
+    public boolean isSkipCount() {
+        return skipCount;
+    }
+
 }
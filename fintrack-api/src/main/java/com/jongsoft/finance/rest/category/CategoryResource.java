@@ -71,13 +71,13 @@ public class CategoryResource {
     @Get("/auto-complete{?token}")
     @Operation(
             summary = "Autocomplete",
-            description = "List all categories matching the provided token",
+            description = "List all categories with a label starting with the provided token",
             operationId = "getCategoriesByToken"
     )
     List<CategoryResponse> autocomplete(@Nullable String token) {
         return categoryService.lookup(
                         filterFactory.category()
-                                .label(token, false)
+                                .labelPrefix(token)
                                 .pageSize(settingProvider.getAutocompleteLimit()))
                 .content()
                 .map(CategoryResponse::new)
@@ -2,30 +2,71 @@ package com.jongsoft.finance.rest.localization;
 
 import com.jongsoft.finance.core.exception.StatusException;
 import io.micronaut.context.MessageSource;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.MediaType;
 import io.micronaut.http.annotation.Controller;
 import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.Header;
 import io.micronaut.http.annotation.PathVariable;
 import io.micronaut.security.annotation.Secured;
 import io.micronaut.security.rules.SecurityRule;
+import io.micronaut.serde.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.tags.Tags;
 
 import java.io.IOException;
-import java.util.HashMap;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Tags(@Tag(name = "Localization"))
 @Secured(SecurityRule.IS_ANONYMOUS)
 @Controller("/api/localization/lang")
 public class LanguageResource {
 
+    /**
+     * The bundles only change with a new release, clients may keep them but must revalidate them using the ETag.
+     */
+    private static final String CACHE_CONTROL = "public, no-cache";
+
+    /**
+     * The merged translations of a single language, serialized once and identified by the hash of the content.
+     */
+    record Bundle(byte[] content, String etag) {
+
+        boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+
+            for (String candidate : ifNoneMatch.split(",")) {
+                var tag = candidate.trim();
+                if ("*".equals(tag) || etag.equals(tag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
     private final MessageSource messageSource;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Bundle> bundles;
 
-    public LanguageResource(MessageSource messageSource) {
+    public LanguageResource(MessageSource messageSource, ObjectMapper objectMapper) {
         this.messageSource = messageSource;
+        this.objectMapper = objectMapper;
+        this.bundles = new ConcurrentHashMap<>();
     }
 
     @Get("/{language}")
@@ -33,18 +74,21 @@ public class LanguageResource {
             summary = "Get a localization file",
             operationId = "getTranslations"
     )
-    public Map<String, String> get(@PathVariable String language) throws IOException {
-        var pathPart = "en".equals(language) ? "" : "_" + language;
+    public HttpResponse<byte[]> get(
+            @PathVariable String language,
+            @Nullable @Header(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+        var bundle = bundles.computeIfAbsent(language, this::buildBundle);
 
-        var messages = getClass().getResourceAsStream("/i18n/messages" + pathPart + ".properties");
-        var validation = getClass().getResourceAsStream("/i18n/ValidationMessages" + pathPart + ".properties");
+        if (bundle.matches(ifNoneMatch)) {
+            return HttpResponse.<byte[]>notModified()
+                    .header(HttpHeaders.ETAG, bundle.etag())
+                    .header(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        }
 
-        var response = new HashMap<String, String>();
-        var textKeys = new Properties();
-        textKeys.load(messages);
-        textKeys.load(validation);
-        textKeys.forEach((key, value) -> response.put(key.toString(), value.toString()));
-        return response;
+        return HttpResponse.ok(bundle.content())
+                .contentType(MediaType.APPLICATION_JSON_TYPE)
+                .header(HttpHeaders.ETAG, bundle.etag())
+                .header(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
     }
 
     @Get("/{language}/{textKey}")
@@ -61,4 +105,38 @@ public class LanguageResource {
         return new LanguageResponse(message);
     }
 
+    private Bundle buildBundle(String language) {
+        var pathPart = "en".equals(language) ? "" : "_" + language;
+
+        var textKeys = new Properties();
+        load(textKeys, "/i18n/messages" + pathPart + ".properties", language);
+        load(textKeys, "/i18n/ValidationMessages" + pathPart + ".properties", language);
+
+        // sorted, so that the same translations always result in the same ETag
+        var response = new TreeMap<String, String>();
+        textKeys.forEach((key, value) -> response.put(key.toString(), value.toString()));
+
+        try {
+            var content = objectMapper.writeValueAsBytes(response);
+            var digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return new Bundle(content, "\"" + HexFormat.of().formatHex(digest) + "\"");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void load(Properties textKeys, String path, String language) {
+        try (InputStream resource = getClass().getResourceAsStream(path)) {
+            if (resource == null) {
+                throw StatusException.notFound("No translations found for " + language);
+            }
+
+            textKeys.load(resource);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
 }
@@ -44,6 +44,11 @@ public class ResultPageResponse<T> {
             return null;
         }
 
+        @Schema(description = "Indicates if there are more matches after this page", example = "true")
+        public boolean isHasNext() {
+            return wrapped.hasNext();
+        }
+
         @Schema(description = "The amount of matches per page", required = true, example = "15")
         public Integer getPageSize() {
             if (wrapped.hasPages()) {
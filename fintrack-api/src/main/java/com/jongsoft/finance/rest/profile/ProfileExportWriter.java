@@ -0,0 +1,240 @@
+package com.jongsoft.finance.rest.profile;
+
+import com.jongsoft.finance.Exportable;
+import com.jongsoft.finance.StorageService;
+import com.jongsoft.finance.core.AggregateBase;
+import com.jongsoft.finance.core.RuleColumn;
+import com.jongsoft.finance.domain.account.Account;
+import com.jongsoft.finance.domain.account.Contract;
+import com.jongsoft.finance.domain.transaction.Tag;
+import com.jongsoft.finance.domain.transaction.Transaction;
+import com.jongsoft.finance.domain.transaction.TransactionRule;
+import com.jongsoft.finance.domain.user.Budget;
+import com.jongsoft.finance.domain.user.Category;
+import com.jongsoft.finance.providers.DataProvider;
+import com.jongsoft.finance.providers.TransactionProvider;
+import com.jongsoft.finance.serialized.AccountJson;
+import com.jongsoft.finance.serialized.BudgetJson;
+import com.jongsoft.finance.serialized.CategoryJson;
+import com.jongsoft.finance.serialized.ContractJson;
+import com.jongsoft.finance.serialized.ExportJson;
+import com.jongsoft.finance.serialized.RuleConfigJson;
+import com.jongsoft.finance.serialized.TransactionJson;
+import com.jongsoft.lang.Collections;
+import com.jongsoft.lang.collection.Sequence;
+import io.micronaut.core.io.Writable;
+import io.micronaut.serde.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Writes the {@link ExportJson} of the profile. Every element is serialized on its own and written as soon as it is
+ * created, so the complete export is never held in memory. The export is sent to the client through the
+ * {@link com.jongsoft.finance.rest.ExportStream} while it is being written.
+ * <p>
+ * Account icons and contract attachments are only read from the storage when the owning element is written, and the
+ * transactions are read using keyset pagination in fixed size batches. The relations used in the rules are resolved
+ * from the exported entities instead of being looked up for every change.
+ * </p>
+ * <p>
+ * The sections are written in the order of the {@link ExportJson}, with the accounts first and the transactions last,
+ * which is the order the profile import relies on.
+ * </p>
+ */
+class ProfileExportWriter implements Writable {
+
+    private final Logger log = LoggerFactory.getLogger(ProfileExportWriter.class);
+
+    private static final int BATCH_SIZE = 500;
+
+    private final List<Exportable<?>> exportable;
+    private final List<DataProvider<?>> dataProviders;
+    private final StorageService storageService;
+    private final TransactionProvider transactionProvider;
+    private final TransactionProvider.FilterCommand filterCommand;
+    private final ObjectMapper objectMapper;
+    private final String username;
+
+    ProfileExportWriter(
+            List<Exportable<?>> exportable,
+            List<DataProvider<?>> dataProviders,
+            StorageService storageService,
+            TransactionProvider transactionProvider,
+            TransactionProvider.FilterCommand filterCommand,
+            ObjectMapper objectMapper,
+            String username) {
+        this.exportable = exportable;
+        this.dataProviders = dataProviders;
+        this.storageService = storageService;
+        this.transactionProvider = transactionProvider;
+        this.filterCommand = filterCommand;
+        this.objectMapper = objectMapper;
+        this.username = username;
+    }
+
+    @Override
+    public void writeTo(Writer out) throws IOException {
+        var accounts = lookupAllOf(Account.class);
+        var categories = lookupAllOf(Category.class);
+        var budgets = lookupAllOf(Budget.class);
+        var contracts = lookupAllOf(Contract.class);
+        var relations = new Relations(accounts, categories, budgets, contracts);
+
+        out.write('{');
+        writeSection(out, "accounts", accounts, account -> AccountJson.fromDomain(
+                account, loadFromStorage(account.getImageFileToken())), false);
+        writeSection(out, "rules", lookupAllOf(TransactionRule.class),
+                rule -> RuleConfigJson.RuleJson.fromDomain(rule, relations::lookup), true);
+        writeSection(out, "categories", categories, CategoryJson::fromDomain, true);
+        writeSection(out, "budgetPeriods", budgets, BudgetJson::fromDomain, true);
+        writeSection(out, "contracts", contracts, contract -> ContractJson.fromDomain(
+                contract, loadFromStorage(contract.getFileToken())), true);
+        writeSection(out, "tags", lookupAllOf(Tag.class), Tag::name, true);
+        writeTransactions(out);
+        out.write('}');
+        out.flush();
+
+        log.debug("[{}] - Exported the user profile", username);
+    }
+
+    /**
+     * Write the section, every element is converted just before it is written so that only one converted element is
+     * held in memory at a time.
+     */
+    private <T> void writeSection(
+            Writer out,
+            String name,
+            Iterable<T> elements,
+            Function<T, ?> converter,
+            boolean separator) throws IOException {
+        if (separator) {
+            out.write(',');
+        }
+
+        out.write('"');
+        out.write(name);
+        out.write("\":[");
+        var first = true;
+        for (T element : elements) {
+            if (!first) {
+                out.write(',');
+            }
+            out.write(objectMapper.writeValueAsString(converter.apply(element)));
+            first = false;
+        }
+        out.write(']');
+    }
+
+    private void writeTransactions(Writer out) throws IOException {
+        out.write(",\"transactions\":[");
+
+        filterCommand.pageSize(BATCH_SIZE)
+                .countTotal(false);
+
+        var first = true;
+        var hasNext = true;
+        while (hasNext) {
+            var batch = transactionProvider.lookup(filterCommand);
+
+            Transaction last = null;
+            for (Transaction transaction : batch.content()) {
+                if (!first) {
+                    out.write(',');
+                }
+                out.write(objectMapper.writeValueAsString(TransactionJson.fromDomain(transaction)));
+                first = false;
+                last = transaction;
+            }
+
+            hasNext = batch.hasNext() && last != null;
+            if (hasNext) {
+                filterCommand.after(last.getDate(), last.getId());
+            }
+            out.flush();
+        }
+
+        out.write(']');
+    }
+
+    private Supplier<byte[]> loadFromStorage(String fileToken) {
+        return () -> storageService.read(fileToken).getOrSupply(() -> new byte[0]);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private <T> Sequence<T> lookupAllOf(Class<T> forClass) {
+        for (Exportable exporter : exportable) {
+            if (exporter.supports(forClass)) {
+                return ((Exportable<T>) exporter).lookup();
+            }
+        }
+
+        return Collections.List();
+    }
+
+    /**
+     * The names of the entities that can be used in the changes of a rule, by their id.
+     */
+    private class Relations {
+        private final Map<Class<?>, Map<String, String>> names = new HashMap<>();
+
+        Relations(
+                Sequence<Account> accounts,
+                Sequence<Category> categories,
+                Sequence<Budget> budgets,
+                Sequence<Contract> contracts) {
+            accounts.forEach(account -> register(Account.class, account));
+            categories.forEach(category -> register(Category.class, category));
+            // expenses are matched by their name when the rules are imported
+            budgets.forEach(budget -> budget.getExpenses().forEach(expense ->
+                    register(Budget.Expense.class, expense.getId(), expense.getName())));
+            contracts.forEach(contract -> register(Contract.class, contract));
+        }
+
+        String lookup(RuleColumn column, String value) {
+            if (column == RuleColumn.TAGS) {
+                return value;
+            }
+
+            Class<?> genericType = switch (column) {
+                case TO_ACCOUNT, SOURCE_ACCOUNT, CHANGE_TRANSFER_FROM, CHANGE_TRANSFER_TO -> Account.class;
+                case CATEGORY -> Category.class;
+                case BUDGET -> Budget.Expense.class;
+                case CONTRACT -> Contract.class;
+                default -> throw new IllegalArgumentException("Unsupported type");
+            };
+
+            // entities that are not exported, like archived accounts, are looked up individually
+            return names.computeIfAbsent(genericType, key -> new HashMap<>())
+                    .computeIfAbsent(value, id -> loadRelation(genericType, id));
+        }
+
+        private void register(Class<?> type, AggregateBase entity) {
+            register(type, entity.getId(), entity.toString());
+        }
+
+        private void register(Class<?> type, Long id, String name) {
+            names.computeIfAbsent(type, key -> new HashMap<>())
+                    .put(String.valueOf(id), name);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private String loadRelation(Class<?> genericType, String value) {
+        for (DataProvider provider : dataProviders) {
+            if (provider.supports(genericType)) {
+                return provider.lookup(Long.parseLong(value))
+                        .get().toString();
+            }
+        }
+
+        return null;
+    }
+}
@@ -26,8 +26,8 @@ import jakarta.validation.Valid;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.function.Function;
 
 @Tag(name = "Reports")
 @Controller("/api/statistics/balance")
@@ -83,10 +83,10 @@ public class BalanceResource {
             default -> throw new IllegalArgumentException("Unsupported partition used " + partitionKey);
         };
 
-        Function<Sequence<EntityRef>, TransactionProvider.FilterCommand> filterBuilder = switch (partitionKey) {
-            case "account" -> (e) -> buildFilterCommand(request).accounts(e);
-            case "budget" -> (e) -> buildFilterCommand(request).expenses(e);
-            case "category" -> (e) -> buildFilterCommand(request).categories(e);
+        var partition = switch (partitionKey) {
+            case "account" -> TransactionProvider.PartitionKey.ACCOUNT;
+            case "budget" -> TransactionProvider.PartitionKey.BUDGET;
+            case "category" -> TransactionProvider.PartitionKey.CATEGORY;
             default -> throw new IllegalArgumentException("Unsupported partition used " + partitionKey);
         };
 
@@ -94,15 +94,15 @@ public class BalanceResource {
         var total = transactionProvider.balance(buildFilterCommand(request))
                 .getOrSupply(() -> BigDecimal.ZERO);
 
+        var balances = new HashMap<Long, Double>();
+        transactionProvider.balancePartitioned(buildFilterCommand(request), partition)
+                .forEach(balance -> balances.put(balance.partition(), balance.balance()));
+
         for (AggregateBase entity : entityProvider) {
-            var filter = filterBuilder.apply(
-                    Collections.List(
-                            new EntityRef(entity.getId())));
-            var balance = transactionProvider.balance(filter)
-                    .getOrSupply(() -> BigDecimal.ZERO);
-
-            result.add(new BalancePartitionResponse(entity.toString(), balance.doubleValue()));
-            total = total.subtract(BigDecimal.valueOf(balance.doubleValue()));
+            var balance = balances.getOrDefault(entity.getId(), 0D);
+
+            result.add(new BalancePartitionResponse(entity.toString(), balance));
+            total = total.subtract(BigDecimal.valueOf(balance));
         }
 
         result.add(new BalancePartitionResponse("", total.doubleValue()));
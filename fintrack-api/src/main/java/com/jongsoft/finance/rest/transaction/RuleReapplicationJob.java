@@ -0,0 +1,197 @@
+package com.jongsoft.finance.rest.transaction;
+
+import com.jongsoft.finance.bpmn.InternalAuthenticationEvent;
+import com.jongsoft.finance.domain.core.EntityRef;
+import com.jongsoft.finance.domain.transaction.Transaction;
+import com.jongsoft.finance.factory.FilterFactory;
+import com.jongsoft.finance.messaging.EventBus;
+import com.jongsoft.finance.providers.AccountProvider;
+import com.jongsoft.finance.providers.AccountTypeProvider;
+import com.jongsoft.finance.providers.TransactionProvider;
+import com.jongsoft.finance.rule.RuleEngine;
+import com.jongsoft.finance.rule.TransactionRuleMapping;
+import com.jongsoft.lang.Control;
+import com.jongsoft.lang.control.Optional;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Re-applies all transaction rules to every transaction of a user. The rules are evaluated in-process on batches of
+ * transactions read using keyset pagination, and the changes of each batch are written in a single database
+ * transaction before the next batch is read.
+ * <p>
+ * Every user can have at most one job running, and the number of jobs running at the same time is bounded. Jobs that
+ * are started while the limit is reached wait until another job completes.
+ * </p>
+ */
+@Singleton
+class RuleReapplicationJob {
+
+    private final Logger log = LoggerFactory.getLogger(RuleReapplicationJob.class);
+
+    static final int BATCH_SIZE = 250;
+    private static final int MAX_RUNNING_JOBS = 2;
+
+    enum State {
+        QUEUED, RUNNING, COMPLETED, CANCELLED, FAILED
+    }
+
+    private static class Run {
+        private final String username;
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong changed = new AtomicLong();
+        private volatile long total = -1;
+        private volatile State state = State.QUEUED;
+        private volatile boolean cancelled;
+
+        Run(String username) {
+            this.username = username;
+        }
+
+        boolean active() {
+            return state == State.QUEUED || state == State.RUNNING;
+        }
+
+        RuleReapplicationProgress progress() {
+            return new RuleReapplicationProgress(state.name(), total, processed.get(), changed.get());
+        }
+    }
+
+    private final TransactionProvider transactionProvider;
+    private final AccountProvider accountProvider;
+    private final AccountTypeProvider accountTypeProvider;
+    private final FilterFactory filterFactory;
+    private final RuleEngine ruleEngine;
+    private final RuleReapplicationWriter writer;
+
+    private final Map<String, Run> runs = new ConcurrentHashMap<>();
+    private final Semaphore runPermits = new Semaphore(MAX_RUNNING_JOBS);
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    RuleReapplicationJob(
+            TransactionProvider transactionProvider,
+            AccountProvider accountProvider,
+            AccountTypeProvider accountTypeProvider,
+            FilterFactory filterFactory,
+            RuleEngine ruleEngine,
+            RuleReapplicationWriter writer) {
+        this.transactionProvider = transactionProvider;
+        this.accountProvider = accountProvider;
+        this.accountTypeProvider = accountTypeProvider;
+        this.filterFactory = filterFactory;
+        this.ruleEngine = ruleEngine;
+        this.writer = writer;
+    }
+
+    /**
+     * Start re-applying the rules for the user, unless a job for the user is already queued or running.
+     *
+     * @return the progress of the started or already active job
+     */
+    RuleReapplicationProgress start(String username) {
+        var created = new Run(username);
+        var run = runs.compute(username, (user, existing) ->
+                existing != null && existing.active() ? existing : created);
+
+        if (run == created) {
+            log.info("[{}] - Starting to re-apply all transaction rules", username);
+            executor.execute(() -> execute(run));
+        }
+        return run.progress();
+    }
+
+    /**
+     * The progress of the last job started for the user.
+     */
+    Optional<RuleReapplicationProgress> progress(String username) {
+        return Control.Option(runs.get(username))
+                .map(Run::progress);
+    }
+
+    /**
+     * Request the active job of the user to stop. The batch currently being processed is still completed.
+     */
+    Optional<RuleReapplicationProgress> cancel(String username) {
+        var run = runs.get(username);
+        if (run != null && run.active()) {
+            log.info("[{}] - Cancelling the re-application of transaction rules", username);
+            run.cancelled = true;
+        }
+        return Control.Option(run)
+                .map(Run::progress);
+    }
+
+    @PreDestroy
+    void close() {
+        runs.values().forEach(run -> run.cancelled = true);
+        executor.shutdown();
+    }
+
+    private void execute(Run run) {
+        try {
+            runPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.state = State.CANCELLED;
+            return;
+        }
+
+        try {
+            // the job runs on its own thread, which needs the authentication of the user that started it
+            EventBus.getBus().sendSystemEvent(new InternalAuthenticationEvent(this, run.username));
+            run.state = State.RUNNING;
+            process(run);
+            run.state = run.cancelled ? State.CANCELLED : State.COMPLETED;
+            log.info("[{}] - Re-applied transaction rules, {} of {} transactions changed",
+                    run.username, run.changed.get(), run.processed.get());
+        } catch (RuntimeException e) {
+            log.warn("[{}] - Failed to re-apply the transaction rules", run.username, e);
+            run.state = State.FAILED;
+        } finally {
+            runPermits.release();
+        }
+    }
+
+    private void process(Run run) {
+        run.total = transactionProvider.lookup(createFilter().pageSize(1))
+                .total();
+
+        var filterCommand = createFilter()
+                .pageSize(BATCH_SIZE)
+                .countTotal(false);
+
+        var hasNext = true;
+        while (hasNext && !run.cancelled) {
+            var batch = transactionProvider.lookup(filterCommand);
+            var transactions = batch.content().toJava();
+            if (transactions.isEmpty()) {
+                break;
+            }
+
+            var outputs = ruleEngine.runAll(transactions.stream().map(TransactionRuleMapping::toInput));
+            run.changed.addAndGet(writer.apply(transactions, outputs));
+            run.processed.addAndGet(transactions.size());
+
+            Transaction last = transactions.getLast();
+            filterCommand.after(last.getDate(), last.getId());
+            hasNext = batch.hasNext();
+        }
+    }
+
+    private TransactionProvider.FilterCommand createFilter() {
+        return filterFactory.transaction()
+                .accounts(accountProvider.lookup(filterFactory.account()
+                                .types(accountTypeProvider.lookup(false)))
+                        .content()
+                        .map(account -> new EntityRef(account.getId())));
+    }
+}
@@ -0,0 +1,16 @@
+package com.jongsoft.finance.rest.transaction;
+
+import io.micronaut.serde.annotation.Serdeable;
+
+/**
+ * The progress of re-applying all transaction rules for the authenticated user.
+ *
+ * @param state     the state of the job, one of {@code QUEUED}, {@code RUNNING}, {@code COMPLETED}, {@code CANCELLED}
+ *                  or {@code FAILED}
+ * @param total     the number of transactions that will be processed, or {@code -1} when not yet known
+ * @param processed the number of transactions processed so far
+ * @param changed   the number of transactions changed by the rules so far
+ */
+@Serdeable.Serializable
+record RuleReapplicationProgress(String state, long total, long processed, long changed) {
+}
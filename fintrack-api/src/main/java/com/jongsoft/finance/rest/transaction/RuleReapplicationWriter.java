@@ -0,0 +1,34 @@
+package com.jongsoft.finance.rest.transaction;
+
+import com.jongsoft.finance.domain.transaction.Transaction;
+import com.jongsoft.finance.rule.RuleDataSet;
+import com.jongsoft.finance.rule.TransactionRuleMapping;
+import io.micronaut.transaction.annotation.Transactional;
+import jakarta.inject.Singleton;
+
+import java.util.List;
+
+/**
+ * Writes the output of the rule engine for a batch of transactions back in a single database transaction.
+ */
+@Singleton
+class RuleReapplicationWriter {
+
+    /**
+     * Apply the rule output to the transaction at the same position in the list.
+     *
+     * @return the number of transactions that were changed
+     */
+    @Transactional
+    public int apply(List<Transaction> transactions, List<RuleDataSet> outputs) {
+        var changed = 0;
+        for (int i = 0; i < transactions.size(); i++) {
+            var output = outputs.get(i);
+            if (!output.isEmpty()) {
+                TransactionRuleMapping.applyOutput(transactions.get(i), output);
+                changed++;
+            }
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,123 @@
+package com.jongsoft.finance.rest.transaction;
+
+import com.jongsoft.finance.domain.transaction.Transaction;
+import com.jongsoft.finance.providers.TransactionProvider;
+import io.micronaut.core.io.Writable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes the CSV export of all transactions matching the filter. The transactions are read using keyset pagination in
+ * fixed size batches, and every row is formatted in the same buffer, so the memory used does not depend on the number
+ * of transactions exported. Every batch is flushed, it is sent to the client through the
+ * {@link com.jongsoft.finance.rest.ExportStream} before the next batch is read.
+ */
+class TransactionExportWriter implements Writable {
+
+    private final Logger log = LoggerFactory.getLogger(TransactionExportWriter.class);
+
+    private static final String HEADER = "Date,Booking Date,Interest Date,From name,From IBAN," +
+            "To name,To IBAN,Description,Category,Budget,Contract,Amount\n";
+
+    private static final int BATCH_SIZE = 500;
+
+    private final TransactionProvider transactionProvider;
+    private final TransactionProvider.FilterCommand filterCommand;
+    private final String username;
+
+    TransactionExportWriter(
+            TransactionProvider transactionProvider,
+            TransactionProvider.FilterCommand filterCommand,
+            String username) {
+        this.transactionProvider = transactionProvider;
+        this.filterCommand = filterCommand;
+        this.username = username;
+    }
+
+    @Override
+    public void writeTo(Writer out) throws IOException {
+        out.write(HEADER);
+
+        filterCommand.pageSize(BATCH_SIZE)
+                .countTotal(false);
+
+        var row = new StringBuilder(256);
+        var exported = 0L;
+        var hasNext = true;
+        while (hasNext) {
+            var batch = transactionProvider.lookup(filterCommand);
+
+            Transaction last = null;
+            for (Transaction transaction : batch.content()) {
+                row.setLength(0);
+                appendRow(row, transaction);
+                out.append(row);
+                last = transaction;
+            }
+
+            exported += batch.content().size();
+            hasNext = batch.hasNext() && last != null;
+            if (hasNext) {
+                filterCommand.after(last.getDate(), last.getId());
+            }
+            out.flush();
+        }
+
+        log.debug("[{}] - Exported {} transactions", username, exported);
+    }
+
+    private void appendRow(StringBuilder row, Transaction transaction) {
+        var from = transaction.computeFrom();
+        var to = transaction.computeTo();
+
+        appendValue(row, transaction.getDate()).append(',');
+        appendValue(row, transaction.getBookDate()).append(',');
+        appendValue(row, transaction.getInterestDate()).append(',');
+        appendValue(row, from.getName()).append(',');
+        appendValue(row, from.getIban()).append(',');
+        appendValue(row, to.getName()).append(',');
+        appendValue(row, to.getIban()).append(',');
+        appendValue(row, transaction.getDescription()).append(',');
+        appendValue(row, transaction.getCategory()).append(',');
+        appendValue(row, transaction.getBudget()).append(',');
+        appendValue(row, transaction.getContract()).append(',');
+        row.append(transaction.computeAmount(from)).append('\n');
+    }
+
+    /**
+     * Append the value to the row, values that contain a separator, quote or line break are quoted.
+     */
+    private StringBuilder appendValue(StringBuilder row, Object value) {
+        if (value == null) {
+            return row;
+        }
+
+        var text = value.toString();
+        if (!needsQuotes(text)) {
+            return row.append(text);
+        }
+
+        row.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            var c = text.charAt(i);
+            if (c == '"') {
+                row.append('"');
+            }
+            row.append(c);
+        }
+        return row.append('"');
+    }
+
+    private boolean needsQuotes(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            var c = text.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,18 +1,16 @@
 package com.jongsoft.finance.rest.transaction;
 
-import com.jongsoft.finance.bpmn.InternalAuthenticationEvent;
 import com.jongsoft.finance.core.exception.StatusException;
 import com.jongsoft.finance.domain.core.EntityRef;
 import com.jongsoft.finance.domain.transaction.Transaction;
 import com.jongsoft.finance.factory.FilterFactory;
-import com.jongsoft.finance.messaging.EventBus;
 import com.jongsoft.finance.providers.AccountProvider;
 import com.jongsoft.finance.providers.AccountTypeProvider;
 import com.jongsoft.finance.providers.SettingProvider;
 import com.jongsoft.finance.providers.TransactionProvider;
+import com.jongsoft.finance.rest.ExportStream;
 import com.jongsoft.finance.rest.model.ResultPageResponse;
 import com.jongsoft.finance.rest.model.TransactionResponse;
-import com.jongsoft.finance.rest.process.RuntimeResource;
 import com.jongsoft.finance.security.AuthenticationFacade;
 import com.jongsoft.lang.Collections;
 import com.jongsoft.lang.Control;
@@ -21,6 +19,7 @@ import io.micronaut.http.HttpStatus;
 import io.micronaut.http.MediaType;
 import io.micronaut.http.annotation.*;
 import io.micronaut.http.hateoas.JsonError;
+import io.micronaut.http.server.types.files.StreamedFile;
 import io.micronaut.security.annotation.Secured;
 import io.micronaut.security.rules.SecurityRule;
 import io.swagger.v3.oas.annotations.Operation;
@@ -30,13 +29,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.OutputStream;
-import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
-import java.util.Map;
-import java.util.concurrent.Executors;
 
 @Tag(name = "Transactions")
 @Controller("/api/transactions")
@@ -48,16 +41,16 @@ public class TransactionResource {
     private final AccountProvider accountProvider;
     private final FilterFactory filterFactory;
     private final AccountTypeProvider accountTypeProvider;
-    private final RuntimeResource runtimeResource;
+    private final RuleReapplicationJob ruleReapplicationJob;
     private final AuthenticationFacade authenticationFacade;
 
-    public TransactionResource(SettingProvider settingProvider, TransactionProvider transactionProvider, AccountProvider accountProvider, FilterFactory filterFactory, AccountTypeProvider accountTypeProvider, RuntimeResource runtimeResource, AuthenticationFacade authenticationFacade) {
+    public TransactionResource(SettingProvider settingProvider, TransactionProvider transactionProvider, AccountProvider accountProvider, FilterFactory filterFactory, AccountTypeProvider accountTypeProvider, RuleReapplicationJob ruleReapplicationJob, AuthenticationFacade authenticationFacade) {
         this.settingProvider = settingProvider;
         this.transactionProvider = transactionProvider;
         this.accountProvider = accountProvider;
         this.filterFactory = filterFactory;
         this.accountTypeProvider = accountTypeProvider;
-        this.runtimeResource = runtimeResource;
+        this.ruleReapplicationJob = ruleReapplicationJob;
         this.authenticationFacade = authenticationFacade;
     }
 
@@ -105,6 +98,10 @@ public class TransactionResource {
             command.currency(request.getCurrency());
         }
 
+        Control.Option(request.getAfter())
+                .ifPresent(position -> command.after(position.date(), position.id()));
+        command.countTotal(!request.isSkipCount());
+
         var response = transactionProvider.lookup(command)
                 .map(TransactionResponse::new);
 
@@ -186,93 +183,37 @@ public class TransactionResource {
             summary = "Export transactions",
             description = "Creates a CSV export of all transactions in the system."
     )
-    OutputStream export() throws IOException {
-        var outputStream = new ByteArrayOutputStream();
-        outputStream.write(("Date,Booking Date,Interest Date,From name,From IBAN," +
-                "To name,To IBAN,Description,Category,Budget,Contract,Amount\n").getBytes(StandardCharsets.UTF_8));
-
+    StreamedFile export() {
         var filterCommand = filterFactory.transaction()
                 .accounts(accountProvider.lookup(filterFactory.account()
                                 .types(accountTypeProvider.lookup(false)))
                         .content()
-                        .map(account -> new EntityRef(account.getId())))
-                .pageSize(100);
-
-        int currentPage = 0;
-        filterCommand.page(currentPage);
-        var page = transactionProvider.lookup(filterCommand);
-        do {
-            for (Transaction transaction : page.content()) {
-                outputStream.write(convertTransaction(transaction));
-            }
+                        .map(account -> new EntityRef(account.getId())));
 
-            filterCommand.page(++currentPage);
-            page = transactionProvider.lookup(filterCommand);
-        } while (page.hasNext());
-
-        return outputStream;
+        var username = authenticationFacade.authenticated();
+        return ExportStream.of(
+                username,
+                MediaType.TEXT_PLAIN_TYPE,
+                new TransactionExportWriter(transactionProvider, filterCommand, username));
     }
 
     @Get("/apply-all-rules")
     @Operation(hidden = true)
-    void applyRules() {
-        try (var executors = Executors.newFixedThreadPool(25)) {
-            executors.execute(() -> {
-                EventBus.getBus().sendSystemEvent(new InternalAuthenticationEvent(
-                        this,
-                        authenticationFacade.authenticated()));
-
-                var filterCommand = filterFactory.transaction()
-                        .accounts(accountProvider.lookup(filterFactory.account()
-                                        .types(accountTypeProvider.lookup(false)))
-                                .content()
-                                .map(account -> new EntityRef(account.getId())))
-                        .pageSize(100);
-
-                int currentPage = 0;
-                var page = transactionProvider.lookup(filterCommand);
-                do {
-                    page.content()
-                            .map(Transaction::getId)
-                            .forEach(transaction -> executors.execute(() -> {
-                                EventBus.getBus().sendSystemEvent(
-                                        new InternalAuthenticationEvent(
-                                                this,
-                                                authenticationFacade.authenticated()));
-
-                                runtimeResource.startProcess(
-                                        "analyzeRule",
-                                        Map.of("transactionId", transaction));
-                            }));
-
-                    filterCommand.page(++currentPage);
-                    page = transactionProvider.lookup(filterCommand);
-                } while (page.hasNext());
-            });
-        }
+    RuleReapplicationProgress applyRules() {
+        return ruleReapplicationJob.start(authenticationFacade.authenticated());
     }
 
-    private byte[] convertTransaction(Transaction transaction) {
-        return (transaction.getDate() + "," +
-                valueOrEmpty(transaction.getBookDate()) + "," +
-                valueOrEmpty(transaction.getInterestDate()) + "," +
-                transaction.computeFrom().getName() + "," +
-                valueOrEmpty(transaction.computeFrom().getIban()) + "," +
-                transaction.computeTo().getName() + "," +
-                valueOrEmpty(transaction.computeTo().getIban()) + "," +
-                transaction.getDescription() + "," +
-                valueOrEmpty(transaction.getCategory()) + "," +
-                valueOrEmpty(transaction.getBudget()) + "," +
-                valueOrEmpty(transaction.getContract()) + "," +
-                transaction.computeAmount(transaction.computeFrom()) +
-                "\n").getBytes(StandardCharsets.UTF_8);
+    @Get("/apply-all-rules/progress")
+    @Operation(hidden = true)
+    RuleReapplicationProgress applyRulesProgress() {
+        return ruleReapplicationJob.progress(authenticationFacade.authenticated())
+                .getOrThrow(() -> StatusException.notFound("No rule application was started."));
     }
 
-    private <T> String valueOrEmpty(T value) {
-        if (value == null) {
-            return "";
-        }
-
-        return value.toString();
+    @Delete("/apply-all-rules")
+    @Operation(hidden = true)
+    RuleReapplicationProgress cancelApplyRules() {
+        return ruleReapplicationJob.cancel(authenticationFacade.authenticated())
+                .getOrThrow(() -> StatusException.notFound("No rule application was started."));
     }
 }
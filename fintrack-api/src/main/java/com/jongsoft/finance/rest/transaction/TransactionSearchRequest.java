@@ -2,6 +2,7 @@ package com.jongsoft.finance.rest.transaction;
 
 import io.micronaut.serde.annotation.Serdeable;
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 
@@ -18,6 +19,14 @@ class TransactionSearchRequest {
             LocalDate end) {
     }
 
+    @Serdeable
+    public record Position(
+            @Schema(description = "The date of the last transaction on the previous page")
+            @NotNull LocalDate date,
+            @Schema(description = "The identifier of the last transaction on the previous page")
+            long id) {
+    }
+
     @Serdeable
     public record EntityRef(
             @Schema(description = "The identifier of the relationship")
@@ -44,6 +53,13 @@ class TransactionSearchRequest {
     @Schema(description = "Set the page number in the resulting pages")
     private final int page;
 
+    @Valid
+    @Schema(description = "Only return transactions after this position, replaces the page number for infinite scrolling")
+    private final Position after;
+
+    @Schema(description = "Do not count the total number of matching transactions")
+    private final boolean skipCount;
+
     @Schema(description = "Only include transactions between one own accounts")
     private final boolean transfers;
 
@@ -53,7 +69,7 @@ class TransactionSearchRequest {
 
     TransactionSearchRequest(String description, String account, String currency, boolean onlyExpense,
                              boolean onlyIncome, EntityRef category, EntityRef budget, int page,
-                             boolean transfers, DateRange dateRange) {
+                             Position after, boolean skipCount, boolean transfers, DateRange dateRange) {
         this.description = description;
         this.account = account;
         this.currency = currency;
@@ -62,6 +78,8 @@ class TransactionSearchRequest {
         this.category = category;
         this.budget = budget;
         this.page = page;
+        this.after = after;
+        this.skipCount = skipCount;
         this.transfers = transfers;
         this.dateRange = dateRange;
     }
@@ -105,4 +123,12 @@ class TransactionSearchRequest {
     public int getPage() {
         return Math.max(0, page - 1);
     }
+
+    public Position getAfter() {
+        return after;
+    }
+
+    public boolean isSkipCount() {
+        return skipCount;
+    }
 }
@@ -71,12 +71,12 @@ public class TransactionTagResource {
     @Get("/auto-complete{?token}")
     @Operation(
             summary = "Search tag",
-            description = "Look for tags with the partial token in the name",
+            description = "Look for tags with a name starting with the token",
             operationId = "lookupTags"
     )
     List<TagResponse> autoCompleteTag(@Nullable String token) {
         var filter = filterFactory.tag()
-                .name(token, false)
+                .namePrefix(token)
                 .pageSize(settingProvider.getAutocompleteLimit());
 
         return tagProvider.lookup(filter)
@@ -1,14 +1,34 @@
 package com.jongsoft.finance.security;
 
+import org.bouncycastle.crypto.engines.AESEngine;
+import org.bouncycastle.crypto.io.CipherInputStream;
+import org.bouncycastle.crypto.modes.GCMBlockCipher;
+import org.bouncycastle.crypto.params.AEADParameters;
+import org.bouncycastle.crypto.params.KeyParameter;
+
 import javax.crypto.Cipher;
 import javax.crypto.SecretKeyFactory;
 import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.PBEKeySpec;
 import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.InputStream;
 import java.security.GeneralSecurityException;
 import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.Base64;
-
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Encrypts content using AES-GCM with a key derived from the password using PBKDF2. The output is the Base64 encoded
+ * concatenation of the salt, the nonce and the cipher text.
+ * <p>
+ * Instances are thread-safe. Every encryption uses a fresh random nonce, and derived keys are kept in a bounded,
+ * time-limited cache keyed by password and salt, so repeated operations for the same user skip the key derivation.
+ * </p>
+ */
 public class Encryption {
 
     private static final String ALGORITHM_NAME = "AES/GCM/NoPadding";
@@ -19,21 +39,41 @@ public class Encryption {
     private static final int PBKDF2_SALT_SIZE = 16;
     private static final int PBKDF2_ITERATIONS = 32767;
 
+    private static final int DEFAULT_MAX_CACHED_KEYS = 256;
+    private static final Duration DEFAULT_KEY_TTL = Duration.ofMinutes(10);
+
+    private record DerivedKeyId(String password, String salt) {
+    }
+
+    private record DerivedKey(byte[] key, long expiresAt) {
+        boolean expired(long now) {
+            return now - expiresAt > 0;
+        }
+    }
+
+    private final SecureRandom random;
     private final byte[] securitySalt = new byte[PBKDF2_SALT_SIZE];
-    private final byte[] nonce = new byte[ALGORITHM_NONCE_SIZE];
+
+    private final Map<DerivedKeyId, DerivedKey> derivedKeys;
+    private final int maxCachedKeys;
+    private final long keyTtlNanos;
 
     public Encryption() {
-        SecureRandom rand = new SecureRandom();
-        rand.nextBytes(securitySalt);
-        rand.nextBytes(nonce);
+        this(DEFAULT_MAX_CACHED_KEYS, DEFAULT_KEY_TTL);
+    }
+
+    public Encryption(int maxCachedKeys, Duration keyTtl) {
+        this.random = new SecureRandom();
+        this.random.nextBytes(securitySalt);
+        this.derivedKeys = new ConcurrentHashMap<>();
+        this.maxCachedKeys = maxCachedKeys;
+        this.keyTtlNanos = keyTtl.toNanos();
     }
 
-    public synchronized byte[] encrypt(byte[] data, String password) {
+    public byte[] encrypt(byte[] data, String password) {
         try {
-            // Create an instance of PBKDF2 and derive a key.
-            var pwSpec = new PBEKeySpec(password.toCharArray(), securitySalt, PBKDF2_ITERATIONS, ALGORITHM_KEY_SIZE);
-            var keyFactory = SecretKeyFactory.getInstance(PBKDF2_NAME);
-            var key = keyFactory.generateSecret(pwSpec).getEncoded();
+            // Derive the key, or use the cached one.
+            var key = deriveKey(password, securitySalt);
 
             // Encrypt and prepend salt.
             var cipherTextAndNonce = encrypt(data, key);
@@ -58,44 +98,100 @@ public class Encryption {
         }
     }
 
-    public synchronized byte[] decrypt(byte[] base64CiphertextAndNonceAndSalt, String password) {
+    public byte[] decrypt(byte[] base64CiphertextAndNonceAndSalt, String password) {
         try {
             // Decode the base64.
             var cipherTextAndNonceAndSalt = Base64.getDecoder().decode(base64CiphertextAndNonceAndSalt);
+            if (cipherTextAndNonceAndSalt.length < PBKDF2_SALT_SIZE + ALGORITHM_NONCE_SIZE) {
+                throw new IllegalStateException("Unable to decrypt data, content is truncated");
+            }
 
-            // Retrieve the salt and cipherTextAndNonce.
-            var salt = new byte[PBKDF2_SALT_SIZE];
-            var cipherTextAndNonce = new byte[cipherTextAndNonceAndSalt.length - PBKDF2_SALT_SIZE];
-            System.arraycopy(
-                    cipherTextAndNonceAndSalt,
-                    0,
-                    salt,
-                    0,
-                    salt.length);
-            System.arraycopy(
-                    cipherTextAndNonceAndSalt,
-                    salt.length,
-                    cipherTextAndNonce,
-                    0,
-                    cipherTextAndNonce.length);
-
-            // Create an instance of PBKDF2 and derive the key.
-            var pwSpec = new PBEKeySpec(
-                    password.toCharArray(),
-                    salt,
-                    PBKDF2_ITERATIONS,
-                    ALGORITHM_KEY_SIZE);
-            var keyFactory = SecretKeyFactory.getInstance(PBKDF2_NAME);
-            byte[] key = keyFactory.generateSecret(pwSpec).getEncoded();
+            // Retrieve the salt and derive the key, or use the cached one.
+            var salt = Arrays.copyOfRange(cipherTextAndNonceAndSalt, 0, PBKDF2_SALT_SIZE);
+            var key = deriveKey(password, salt);
 
             // Decrypt and return result.
-            return decrypt(cipherTextAndNonce, key);
+            return decrypt(cipherTextAndNonceAndSalt, PBKDF2_SALT_SIZE, key);
         } catch (GeneralSecurityException e) {
             throw new IllegalStateException("Unable to decrypt data", e);
         }
     }
 
+    /**
+     * Decrypt the content of the stream while it is being read, without loading the complete content in memory. The
+     * authentication tag is verified when the end of the stream is reached, reading will fail with an
+     * {@link IOException} if the content was tampered with.
+     *
+     * @param base64CiphertextAndNonceAndSalt the stream with the encrypted content, as produced by {@link #encrypt}
+     * @param password the password used to encrypt the content
+     * @return the stream with the decrypted content
+     */
+    public InputStream decrypt(InputStream base64CiphertextAndNonceAndSalt, String password) {
+        try {
+            var cipherTextAndNonceAndSalt = Base64.getDecoder().wrap(base64CiphertextAndNonceAndSalt);
+
+            // Retrieve the salt and nonce that precede the cipher text.
+            var salt = cipherTextAndNonceAndSalt.readNBytes(PBKDF2_SALT_SIZE);
+            var streamNonce = cipherTextAndNonceAndSalt.readNBytes(ALGORITHM_NONCE_SIZE);
+            if (salt.length != PBKDF2_SALT_SIZE || streamNonce.length != ALGORITHM_NONCE_SIZE) {
+                throw new IllegalStateException("Unable to decrypt data, content is truncated");
+            }
+
+            // Decrypt the remainder of the stream while it is being read.
+            var decryptCipher = new GCMBlockCipher(new AESEngine());
+            decryptCipher.init(
+                    false,
+                    new AEADParameters(new KeyParameter(deriveKey(password, salt)), ALGORITHM_TAG_SIZE, streamNonce));
+
+            return new CipherInputStream(cipherTextAndNonceAndSalt, decryptCipher);
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to decrypt data", e);
+        }
+    }
+
+    private byte[] deriveKey(String password, byte[] salt) throws GeneralSecurityException {
+        var now = System.nanoTime();
+        var id = new DerivedKeyId(password, Base64.getEncoder().encodeToString(salt));
+
+        var cached = derivedKeys.get(id);
+        if (cached != null && !cached.expired(now)) {
+            return cached.key();
+        }
+
+        var pwSpec = new PBEKeySpec(password.toCharArray(), salt, PBKDF2_ITERATIONS, ALGORITHM_KEY_SIZE);
+        var keyFactory = SecretKeyFactory.getInstance(PBKDF2_NAME);
+        var key = keyFactory.generateSecret(pwSpec).getEncoded();
+        pwSpec.clearPassword();
+
+        if (derivedKeys.size() >= maxCachedKeys) {
+            evict(now);
+        }
+        derivedKeys.put(id, new DerivedKey(key, now + keyTtlNanos));
+        return key;
+    }
+
+    /**
+     * Drop all expired keys, and if the cache is still full drop the keys closest to expiring.
+     */
+    private void evict(long now) {
+        derivedKeys.values().removeIf(derivedKey -> derivedKey.expired(now));
+
+        var excess = derivedKeys.size() - maxCachedKeys + 1;
+        if (excess > 0) {
+            derivedKeys.entrySet().stream()
+                    .sorted((left, right) -> Long.compare(left.getValue().expiresAt(), right.getValue().expiresAt()))
+                    .limit(excess)
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(derivedKeys::remove);
+        }
+    }
+
     private byte[] encrypt(byte[] plaintext, byte[] key) throws GeneralSecurityException {
+        // Every encryption uses its own nonce, reusing a nonce with the same key breaks GCM.
+        var nonce = new byte[ALGORITHM_NONCE_SIZE];
+        random.nextBytes(nonce);
+
         // Create the cipher instance and initialize.
         var encryptCipher = Cipher.getInstance(ALGORITHM_NAME);
         encryptCipher.init(
@@ -112,29 +208,16 @@ public class Encryption {
         return cipherTextAndNonce;
     }
 
-    private byte[] decrypt(byte[] cipherTextAndNonce, byte[] key) throws GeneralSecurityException {
-        var ciphertext = new byte[cipherTextAndNonce.length - ALGORITHM_NONCE_SIZE];
-        System.arraycopy(
-                cipherTextAndNonce,
-                0,
-                nonce,
-                0,
-                nonce.length);
-        System.arraycopy(
-                cipherTextAndNonce,
-                nonce.length,
-                ciphertext,
-                0,
-                ciphertext.length);
-
-        // Create the cipher instance and initialize.
+    private byte[] decrypt(byte[] content, int offset, byte[] key) throws GeneralSecurityException {
+        // Create the cipher instance and initialize with the nonce that follows the salt.
         var decryptCipher = Cipher.getInstance(ALGORITHM_NAME);
         decryptCipher.init(
                 Cipher.DECRYPT_MODE,
                 new SecretKeySpec(key, "AES"),
-                new GCMParameterSpec(ALGORITHM_TAG_SIZE, nonce));
+                new GCMParameterSpec(ALGORITHM_TAG_SIZE, content, offset, ALGORITHM_NONCE_SIZE));
 
         // Decrypt and return result.
-        return decryptCipher.doFinal(ciphertext);
+        var cipherTextOffset = offset + ALGORITHM_NONCE_SIZE;
+        return decryptCipher.doFinal(content, cipherTextOffset, content.length - cipherTextOffset);
     }
 }
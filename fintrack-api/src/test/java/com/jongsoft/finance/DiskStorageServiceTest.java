@@ -14,6 +14,7 @@ import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 
 import java.io.File;
+import java.io.IOException;
 import java.security.GeneralSecurityException;
 
 class DiskStorageServiceTest {
@@ -62,6 +63,29 @@ class DiskStorageServiceTest {
         subject.remove(storageKey);
     }
 
+    @Test
+    void encryptedStream() throws IOException {
+        Mockito.when(securitySettings.isEncrypt()).thenReturn(true);
+
+        var content = "My private text, ".repeat(5_000);
+        var storageKey = subject.store(content.getBytes());
+
+        try (var stream = subject.readStream(storageKey).get()) {
+            Assertions.assertThat(new String(stream.readAllBytes())).isEqualTo(content);
+        }
+        subject.remove(storageKey);
+    }
+
+    @Test
+    void unencryptedStream() throws IOException {
+        var storageKey = subject.store("My private text".getBytes());
+
+        try (var stream = subject.readStream(storageKey).get()) {
+            Assertions.assertThat(new String(stream.readAllBytes())).isEqualTo("My private text");
+        }
+        subject.remove(storageKey);
+    }
+
     @Test
     void storageChange() {
         var storageKey = subject.store("My private text".getBytes());
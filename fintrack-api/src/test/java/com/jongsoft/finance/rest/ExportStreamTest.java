@@ -0,0 +1,71 @@
+package com.jongsoft.finance.rest;
+
+import com.jongsoft.finance.bpmn.InternalAuthenticationEvent;
+import com.jongsoft.finance.messaging.EventBus;
+import io.micronaut.context.event.ApplicationEventPublisher;
+import io.micronaut.http.MediaType;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+
+class ExportStreamTest {
+
+    private ApplicationEventPublisher<Serializable> eventPublisher;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+        eventPublisher = Mockito.mock(ApplicationEventPublisher.class);
+        new EventBus(eventPublisher);
+    }
+
+    @Test
+    void of() throws IOException {
+        var writingThread = new AtomicReference<Thread>();
+        var line = "a line of the export\n";
+
+        var export = ExportStream.of("test-user", MediaType.TEXT_PLAIN_TYPE, out -> {
+            writingThread.set(Thread.currentThread());
+            // write more than fits in the pipe, so that writing has to wait for the reader
+            for (int i = 0; i < 10_000; i++) {
+                out.write(line);
+            }
+        });
+
+        try (var inputStream = export.getInputStream()) {
+            var content = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+
+            Assertions.assertThat(content)
+                    .hasSize(line.length() * 10_000)
+                    .startsWith(line);
+        }
+
+        var eventCaptor = ArgumentCaptor.forClass(Serializable.class);
+        Mockito.verify(eventPublisher).publishEvent(eventCaptor.capture());
+        Assertions.assertThat(eventCaptor.getValue())
+                .isInstanceOfSatisfying(InternalAuthenticationEvent.class, event ->
+                        Assertions.assertThat(event.getUsername()).isEqualTo("test-user"));
+        Assertions.assertThat(writingThread.get())
+                .isNotNull()
+                .isNotSameAs(Thread.currentThread());
+    }
+
+    @Test
+    void of_failed() {
+        var export = ExportStream.of("test-user", MediaType.TEXT_PLAIN_TYPE, out -> {
+            out.write("the first part");
+            throw new IllegalStateException("Lost the database connection");
+        });
+
+        Assertions.assertThatThrownBy(() -> export.getInputStream().readAllBytes())
+                .isInstanceOf(IOException.class)
+                .hasMessage("The export could not be completed");
+    }
+}
@@ -143,7 +143,7 @@ class AccountResourceTest extends TestSetup {
 
         var mockCommand = filterFactory.account();
         Mockito.verify(accountProvider).lookup(Mockito.any(AccountProvider.FilterCommand.class));
-        Mockito.verify(mockCommand).name("sampl", false);
+        Mockito.verify(mockCommand).namePrefix("sampl");
         Mockito.verify(mockCommand).types(Collections.List("creditor"));
     }
 
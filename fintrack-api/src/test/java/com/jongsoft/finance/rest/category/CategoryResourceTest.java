@@ -106,7 +106,7 @@ class CategoryResourceTest extends TestSetup {
 
         var mockFilter = filterFactory.category();
         verify(categoryProvider).lookup(Mockito.any(CategoryProvider.FilterCommand.class));
-        verify(mockFilter).label("gro", false);
+        verify(mockFilter).labelPrefix("gro");
     }
 
     @Test
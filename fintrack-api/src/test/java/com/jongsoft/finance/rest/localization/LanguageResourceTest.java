@@ -0,0 +1,58 @@
+package com.jongsoft.finance.rest.localization;
+
+import com.jongsoft.finance.rest.TestSetup;
+import io.micronaut.http.HttpHeaders;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+
+@DisplayName("Localization resource")
+class LanguageResourceTest extends TestSetup {
+
+    @Test
+    @DisplayName("should return the merged translations")
+    void get(RequestSpecification spec) {
+        // @formatter:off
+        spec.when()
+                .get("/api/localization/lang/{language}", "nl")
+            .then()
+                .statusCode(200)
+                .contentType("application/json")
+                .header(HttpHeaders.ETAG, notNullValue())
+                .header(HttpHeaders.CACHE_CONTROL, "public, no-cache")
+                .body("'common.action.edit'", notNullValue());
+        // @formatter:on
+    }
+
+    @Test
+    @DisplayName("should answer not modified when the ETag matches")
+    void get_notModified(RequestSpecification spec) {
+        var etag = spec.when()
+                .get("/api/localization/lang/{language}", "en")
+                .header(HttpHeaders.ETAG);
+
+        // @formatter:off
+        spec.given()
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+            .when()
+                .get("/api/localization/lang/{language}", "en")
+            .then()
+                .statusCode(304)
+                .header(HttpHeaders.ETAG, equalTo(etag));
+        // @formatter:on
+    }
+
+    @Test
+    @DisplayName("should fail for an unknown language")
+    void get_unknown(RequestSpecification spec) {
+        // @formatter:off
+        spec.when()
+                .get("/api/localization/lang/{language}", "xx")
+            .then()
+                .statusCode(404);
+        // @formatter:on
+    }
+}
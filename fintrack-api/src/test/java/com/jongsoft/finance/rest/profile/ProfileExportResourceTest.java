@@ -1,17 +1,28 @@
 package com.jongsoft.finance.rest.profile;
 
 import com.jongsoft.finance.ResultPage;
+import com.jongsoft.finance.core.RuleColumn;
+import com.jongsoft.finance.domain.account.Account;
+import com.jongsoft.finance.domain.transaction.Transaction;
+import com.jongsoft.finance.domain.transaction.TransactionRule;
+import com.jongsoft.finance.domain.user.Budget;
+import com.jongsoft.finance.providers.BudgetProvider;
 import com.jongsoft.finance.providers.TransactionProvider;
+import com.jongsoft.finance.providers.TransactionRuleProvider;
 import com.jongsoft.finance.rest.TestSetup;
+import com.jongsoft.lang.Collections;
 import io.micronaut.context.annotation.Replaces;
 import io.micronaut.http.HttpHeaders;
 import io.micronaut.test.annotation.MockBean;
 import io.restassured.specification.RequestSpecification;
 import jakarta.inject.Inject;
+import org.hamcrest.Matchers;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.time.LocalDate;
+
 @DisplayName("Profile export resource")
 class ProfileExportResourceTest extends TestSetup {
 
@@ -21,8 +32,24 @@ class ProfileExportResourceTest extends TestSetup {
         return Mockito.mock(TransactionProvider.class);
     }
 
+    @Replaces
+    @MockBean
+    BudgetProvider budgetProvider() {
+        return Mockito.mock(BudgetProvider.class);
+    }
+
+    @Replaces
+    @MockBean
+    TransactionRuleProvider transactionRuleProvider() {
+        return Mockito.mock(TransactionRuleProvider.class);
+    }
+
     @Inject
     private TransactionProvider transactionProvider;
+    @Inject
+    private BudgetProvider budgetProvider;
+    @Inject
+    private TransactionRuleProvider transactionRuleProvider;
 
     @Test
     @DisplayName("should export profile")
@@ -36,7 +63,88 @@ class ProfileExportResourceTest extends TestSetup {
             .then()
                 .statusCode(200)
                 .contentType("application/json")
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"test-user-profile.json\"");
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"test-user-profile.json\"")
+                .body("transactions", Matchers.empty());
+        // @formatter:on
+    }
+
+    @Test
+    @DisplayName("should export the opening balance transactions in batches")
+    void export_transactions(RequestSpecification spec) {
+        Mockito.when(transactionProvider.lookup(Mockito.any(TransactionProvider.FilterCommand.class)))
+                .thenReturn(ResultPage.of(
+                        Transaction.builder()
+                                .id(1L)
+                                .description("Opening balance")
+                                .currency("EUR")
+                                .date(LocalDate.of(2019, 1, 15))
+                                .transactions(Collections.List(
+                                        Transaction.Part.builder()
+                                                .id(1L)
+                                                .account(Account.builder().id(1L).name("My loan").build())
+                                                .amount(-250.00D)
+                                                .build(),
+                                        Transaction.Part.builder()
+                                                .id(2L)
+                                                .account(Account.builder().id(2L).name("Bank").build())
+                                                .amount(250.00D)
+                                                .build()
+                                ))
+                                .build()));
+
+        // @formatter:off
+        spec.when()
+                .get("/api/profile/export")
+            .then()
+                .statusCode(200)
+                .body("transactions", Matchers.hasSize(1))
+                .body("transactions[0].description", Matchers.equalTo("Opening balance"))
+                .body("transactions[0].fromAccount", Matchers.equalTo("My loan"))
+                .body("transactions[0].toAccount", Matchers.equalTo("Bank"));
+        // @formatter:on
+
+        var mockFilter = filterFactory.transaction();
+        Mockito.verify(mockFilter).description("Opening balance", true);
+        Mockito.verify(mockFilter).pageSize(500);
+        Mockito.verify(mockFilter).countTotal(false);
+    }
+
+    @Test
+    @DisplayName("should export the expense name for rules that change the budget")
+    void export_ruleWithBudgetChange(RequestSpecification spec) {
+        var budget = Budget.builder()
+                .id(1L)
+                .expectedIncome(2500D)
+                .start(LocalDate.of(2019, 1, 1))
+                .build();
+        budget.new Expense(2L, "Groceries", 200);
+
+        var rule = TransactionRule.builder()
+                .id(1L)
+                .name("Grocery store")
+                .active(true)
+                .conditions(Collections.List())
+                .changes(Collections.List())
+                .user(ACTIVE_USER)
+                .build();
+        rule.new Change(1L, RuleColumn.BUDGET, "2");
+
+        Mockito.when(budgetProvider.supports(Budget.class)).thenReturn(true);
+        Mockito.when(budgetProvider.lookup()).thenReturn(Collections.List(budget));
+        Mockito.when(transactionRuleProvider.supports(TransactionRule.class)).thenReturn(true);
+        Mockito.when(transactionRuleProvider.lookup()).thenReturn(Collections.List(rule));
+        Mockito.when(transactionProvider.lookup(Mockito.any(TransactionProvider.FilterCommand.class)))
+                .thenReturn(ResultPage.of());
+
+        // @formatter:off
+        spec.when()
+                .get("/api/profile/export")
+            .then()
+                .statusCode(200)
+                .body("budgetPeriods[0].expenses[0].name", Matchers.equalTo("Groceries"))
+                .body("rules[0].name", Matchers.equalTo("Grocery store"))
+                .body("rules[0].changes[0].field", Matchers.equalTo("BUDGET"))
+                .body("rules[0].changes[0].value", Matchers.equalTo("Groceries"));
         // @formatter:on
     }
 }
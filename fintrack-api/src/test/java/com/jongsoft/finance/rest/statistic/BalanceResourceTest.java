@@ -43,6 +43,7 @@ class BalanceResourceTest extends TestSetup {
     @BeforeEach
     void setup() {
         Mockito.when(transactionProvider.balance(Mockito.any())).thenReturn(Control.Option());
+        Mockito.when(transactionProvider.balancePartitioned(Mockito.any(), Mockito.any())).thenReturn(Collections.List());
         Mockito.when(transactionProvider.daily(Mockito.any())).thenReturn(Collections.List());
         Mockito.when(transactionProvider.monthly(Mockito.any())).thenReturn(Collections.List());
     }
@@ -151,5 +152,9 @@ class BalanceResourceTest extends TestSetup {
                 .body("size()", Matchers.equalTo(1))
                 .body("[0].balance", Matchers.equalTo(0.0f));
         // @formatter:on
+
+        Mockito.verify(transactionProvider).balancePartitioned(
+                Mockito.any(),
+                Mockito.eq(TransactionProvider.PartitionKey.ACCOUNT));
     }
 }
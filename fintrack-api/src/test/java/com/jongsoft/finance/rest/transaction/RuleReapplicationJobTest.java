@@ -0,0 +1,136 @@
+package com.jongsoft.finance.rest.transaction;
+
+import com.jongsoft.finance.ResultPage;
+import com.jongsoft.finance.core.RuleColumn;
+import com.jongsoft.finance.domain.account.Account;
+import com.jongsoft.finance.domain.transaction.Transaction;
+import com.jongsoft.finance.factory.FilterFactory;
+import com.jongsoft.finance.messaging.EventBus;
+import com.jongsoft.finance.providers.AccountProvider;
+import com.jongsoft.finance.providers.AccountTypeProvider;
+import com.jongsoft.finance.providers.TransactionProvider;
+import com.jongsoft.finance.rule.RuleDataSet;
+import com.jongsoft.finance.rule.RuleEngine;
+import com.jongsoft.lang.Collections;
+import io.micronaut.context.event.ApplicationEventPublisher;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+class RuleReapplicationJobTest {
+
+    private TransactionProvider transactionProvider;
+    private TransactionProvider.FilterCommand filterCommand;
+    private RuleEngine ruleEngine;
+    private RuleReapplicationWriter writer;
+    private RuleReapplicationJob subject;
+
+    @BeforeEach
+    void setup() {
+        transactionProvider = Mockito.mock(TransactionProvider.class);
+        filterCommand = Mockito.mock(TransactionProvider.FilterCommand.class, InvocationOnMock::getMock);
+        ruleEngine = Mockito.mock(RuleEngine.class);
+        writer = Mockito.mock(RuleReapplicationWriter.class);
+
+        var accountProvider = Mockito.mock(AccountProvider.class);
+        var filterFactory = Mockito.mock(FilterFactory.class);
+        Mockito.when(filterFactory.transaction()).thenReturn(filterCommand);
+        Mockito.when(filterFactory.account())
+                .thenReturn(Mockito.mock(AccountProvider.FilterCommand.class, InvocationOnMock::getMock));
+        Mockito.when(accountProvider.lookup(Mockito.any(AccountProvider.FilterCommand.class)))
+                .thenReturn(ResultPage.empty());
+
+        subject = new RuleReapplicationJob(
+                transactionProvider,
+                accountProvider,
+                Mockito.mock(AccountTypeProvider.class),
+                filterFactory,
+                ruleEngine,
+                writer);
+
+        new EventBus(Mockito.mock(ApplicationEventPublisher.class));
+    }
+
+    @Test
+    @DisplayName("Apply the rules batch by batch and report the progress")
+    void start() throws InterruptedException {
+        var first = transaction(2L, LocalDate.of(2019, 2, 1));
+        var second = transaction(1L, LocalDate.of(2019, 1, 1));
+        var output = new RuleDataSet();
+        output.put(RuleColumn.CATEGORY, "Groceries");
+
+        Mockito.when(transactionProvider.lookup(Mockito.any(TransactionProvider.FilterCommand.class)))
+                .thenReturn(ResultPage.of(first, second));
+        Mockito.when(ruleEngine.runAll(Mockito.<Stream<RuleDataSet>>any()))
+                .thenReturn(List.of(output, new RuleDataSet()));
+        Mockito.when(writer.apply(Mockito.anyList(), Mockito.anyList()))
+                .thenReturn(1);
+
+        subject.start("demo-user");
+        var progress = awaitCompletion("demo-user");
+
+        Assertions.assertThat(progress.state()).isEqualTo("COMPLETED");
+        Assertions.assertThat(progress.total()).isEqualTo(2);
+        Assertions.assertThat(progress.processed()).isEqualTo(2);
+        Assertions.assertThat(progress.changed()).isEqualTo(1);
+
+        Mockito.verify(writer).apply(List.of(first, second), List.of(output, new RuleDataSet()));
+        Mockito.verify(filterCommand).countTotal(false);
+        Mockito.verify(filterCommand).after(LocalDate.of(2019, 1, 1), 1L);
+    }
+
+    @Test
+    @DisplayName("Report a failed job when the rules cannot be applied")
+    void start_failed() throws InterruptedException {
+        Mockito.when(transactionProvider.lookup(Mockito.any(TransactionProvider.FilterCommand.class)))
+                .thenReturn(ResultPage.of(transaction(1L, LocalDate.of(2019, 1, 1))));
+        Mockito.when(ruleEngine.runAll(Mockito.<Stream<RuleDataSet>>any()))
+                .thenThrow(new IllegalStateException("Rules are broken"));
+
+        subject.start("demo-user");
+
+        Assertions.assertThat(awaitCompletion("demo-user").state()).isEqualTo("FAILED");
+        Mockito.verifyNoInteractions(writer);
+    }
+
+    @Test
+    @DisplayName("No progress is known when no job was started")
+    void progress_notStarted() {
+        Assertions.assertThat(subject.progress("demo-user").isPresent()).isFalse();
+        Assertions.assertThat(subject.cancel("demo-user").isPresent()).isFalse();
+    }
+
+    private RuleReapplicationProgress awaitCompletion(String username) throws InterruptedException {
+        var progress = subject.progress(username).get();
+        for (int i = 0; i < 500 && ("QUEUED".equals(progress.state()) || "RUNNING".equals(progress.state())); i++) {
+            Thread.sleep(10);
+            progress = subject.progress(username).get();
+        }
+        return progress;
+    }
+
+    private Transaction transaction(long id, LocalDate date) {
+        return Transaction.builder()
+                .id(id)
+                .date(date)
+                .currency("EUR")
+                .description("Transaction " + id)
+                .transactions(Collections.List(
+                        Transaction.Part.builder()
+                                .amount(20)
+                                .account(Account.builder().id(1L).type("checking").name("My account").build())
+                                .build(),
+                        Transaction.Part.builder()
+                                .amount(-20)
+                                .account(Account.builder().id(2L).type("creditor").name("Shop").build())
+                                .build()))
+                .build();
+    }
+}
@@ -34,6 +34,8 @@ class TransactionResourceTest extends TestSetup {
     private AccountProvider accountProvider;
     @Inject
     private AccountTypeProvider accountTypeProvider;
+    @Inject
+    private RuleReapplicationJob ruleReapplicationJob;
 
     @Replaces
     @MockBean
@@ -59,6 +61,12 @@ class TransactionResourceTest extends TestSetup {
         return Mockito.mock(RuntimeResource.class);
     }
 
+    @Replaces
+    @MockBean
+    RuleReapplicationJob ruleReapplicationJob() {
+        return Mockito.mock(RuleReapplicationJob.class);
+    }
+
     @Test
     @DisplayName("should return the search results")
     void search(RequestSpecification spec) {
@@ -131,6 +139,38 @@ class TransactionResourceTest extends TestSetup {
         Mockito.verify(mockFilter).range(DateUtils.forMonth(2019, 1));
     }
 
+    @Test
+    @DisplayName("should search after the given position without counting")
+    void search_keyset(RequestSpecification spec) {
+        Mockito.when(transactionProvider.lookup(Mockito.any()))
+                .thenReturn(ResultPage.empty());
+
+        // @formatter:off
+        spec.given()
+                .body("""
+                        {
+                            "dateRange": {
+                                "start": "2019-01-01",
+                                "end": "2019-02-01"
+                            },
+                            "after": {
+                                "date": "2019-01-15",
+                                "id": 12
+                            },
+                            "skipCount": true
+                        }""")
+            .when()
+                .post("/api/transactions")
+            .then()
+                .statusCode(200)
+                .body("info.hasNext", Matchers.equalTo(false));
+        // @formatter:on
+
+        var mockFilter = filterFactory.transaction();
+        Mockito.verify(mockFilter).after(LocalDate.of(2019, 1, 15), 12L);
+        Mockito.verify(mockFilter).countTotal(false);
+    }
+
     @Test
     @DisplayName("should update part of the transactions")
     void patch(RequestSpecification spec) {
@@ -257,7 +297,59 @@ class TransactionResourceTest extends TestSetup {
                 .get("/api/transactions/export")
             .then()
                 .statusCode(200)
-                .body(Matchers.containsString("Sample transaction"));
+                .body(Matchers.startsWith("Date,Booking Date,Interest Date"))
+                .body(Matchers.containsString("2019-01-15,,,From account,,To account,,Sample transaction,Grocery,Household,,-20.0"));
+        // @formatter:on
+
+        Mockito.verify(filterFactory.transaction()).countTotal(false);
+    }
+
+    @Test
+    @DisplayName("should start re-applying all rules")
+    void applyRules(RequestSpecification spec) {
+        Mockito.when(ruleReapplicationJob.start("test-user"))
+                .thenReturn(new RuleReapplicationProgress("QUEUED", -1, 0, 0));
+
+        // @formatter:off
+        spec.when()
+                .get("/api/transactions/apply-all-rules")
+            .then()
+                .statusCode(200)
+                .body("state", Matchers.equalTo("QUEUED"));
+        // @formatter:on
+
+        Mockito.verify(ruleReapplicationJob).start("test-user");
+    }
+
+    @Test
+    @DisplayName("should report the progress of re-applying all rules")
+    void applyRulesProgress(RequestSpecification spec) {
+        Mockito.when(ruleReapplicationJob.progress("test-user"))
+                .thenReturn(Control.Option(new RuleReapplicationProgress("RUNNING", 1000, 250, 12)));
+
+        // @formatter:off
+        spec.when()
+                .get("/api/transactions/apply-all-rules/progress")
+            .then()
+                .statusCode(200)
+                .body("state", Matchers.equalTo("RUNNING"))
+                .body("total", Matchers.equalTo(1000))
+                .body("processed", Matchers.equalTo(250))
+                .body("changed", Matchers.equalTo(12));
+        // @formatter:on
+    }
+
+    @Test
+    @DisplayName("should cancel re-applying all rules")
+    void cancelApplyRules(RequestSpecification spec) {
+        Mockito.when(ruleReapplicationJob.cancel("test-user"))
+                .thenReturn(Control.Option());
+
+        // @formatter:off
+        spec.when()
+                .delete("/api/transactions/apply-all-rules")
+            .then()
+                .statusCode(404);
         // @formatter:on
     }
 
@@ -83,6 +83,6 @@ class TransactionTagResourceTest extends TestSetup {
 
         var mockFilter = filterFactory.tag();
         Mockito.verify(tagProvider).lookup(Mockito.any(TagProvider.FilterCommand.class));
-        Mockito.verify(mockFilter).name("samp", false);
+        Mockito.verify(mockFilter).namePrefix("samp");
     }
 }
@@ -0,0 +1,63 @@
+package com.jongsoft.finance.security;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+class EncryptionTest {
+
+    private final Encryption subject = new Encryption();
+
+    @Test
+    void encrypt_uniqueNonce() {
+        var first = subject.encrypt("My private text".getBytes(), "my-secret");
+        var second = subject.encrypt("My private text".getBytes(), "my-secret");
+
+        Assertions.assertThat(first).isNotEqualTo(second);
+        Assertions.assertThat(new String(subject.decrypt(first, "my-secret"))).isEqualTo("My private text");
+        Assertions.assertThat(new String(subject.decrypt(second, "my-secret"))).isEqualTo("My private text");
+    }
+
+    @Test
+    void decrypt_otherInstance() throws IOException {
+        var encrypted = new Encryption(1, Duration.ofMillis(1)).encrypt("My private text".getBytes(), "my-secret");
+
+        Assertions.assertThat(new String(subject.decrypt(encrypted, "my-secret"))).isEqualTo("My private text");
+        try (var stream = subject.decrypt(new ByteArrayInputStream(encrypted), "my-secret")) {
+            Assertions.assertThat(new String(stream.readAllBytes())).isEqualTo("My private text");
+        }
+    }
+
+    @Test
+    void decrypt_wrongPassword() {
+        var encrypted = subject.encrypt("My private text".getBytes(), "my-secret");
+
+        Assertions.assertThatThrownBy(() -> subject.decrypt(encrypted, "other-secret"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void concurrentUse() throws Exception {
+        var boundedSubject = new Encryption(2, Duration.ofMinutes(1));
+        try (var executor = Executors.newFixedThreadPool(8)) {
+            var tasks = IntStream.range(0, 32)
+                    .<Callable<String>>mapToObj(i -> () -> {
+                        var password = "secret-" + (i % 4);
+                        var encrypted = boundedSubject.encrypt(("text " + i).getBytes(), password);
+                        return new String(boundedSubject.decrypt(encrypted, password));
+                    })
+                    .toList();
+
+            var results = executor.invokeAll(tasks);
+            for (int i = 0; i < results.size(); i++) {
+                Assertions.assertThat(results.get(i).get()).isEqualTo("text " + i);
+            }
+        }
+    }
+}
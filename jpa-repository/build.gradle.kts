@@ -16,6 +16,7 @@ dependencies {
     implementation(mn.micronaut.data.jpa)
     implementation(mn.micronaut.data.jdbc)
     implementation(mn.micronaut.flyway)
+    implementation(mn.micronaut.micrometer.core)
     implementation(mn.validation)
 
     implementation(libs.otp)
@@ -6,7 +6,15 @@ import java.util.Map;
 
 public interface FilterDelegate<T extends FilterDelegate<T>> {
 
-    record Sort(String field, boolean ascending) {}
+    /**
+     * The sorting of a query, the optional {@code tieBreaker} is sorted in the same direction as the field and makes
+     * the order stable when multiple entities have the same value for the field.
+     */
+    record Sort(String field, boolean ascending, String tieBreaker) {
+        public Sort(String field, boolean ascending) {
+            this(field, ascending, null);
+        }
+    }
 
     /**
      * Generates the HQL query that belongs to the command supported by the delegate.
@@ -0,0 +1,63 @@
+package com.jongsoft.finance.jpa;
+
+import com.jongsoft.finance.ResultPage;
+import com.jongsoft.lang.collection.Sequence;
+
+import java.util.function.Function;
+
+/**
+ * A page retrieved using keyset pagination. Whether a next page exists is known from the query itself, the total
+ * number of records is only available when it was counted.
+ */
+public class SeekResultPageImpl<T> implements ResultPage<T> {
+
+    private final int limit;
+    private final Long totalRecords;
+    private final boolean hasNext;
+    private final Sequence<T> elements;
+
+    public SeekResultPageImpl(Sequence<T> elements, int limit, Long totalRecords, boolean hasNext) {
+        this.elements = elements;
+        this.limit = limit;
+        this.totalRecords = totalRecords;
+        this.hasNext = hasNext;
+    }
+
+    @Override
+    public int pages() {
+        if (totalRecords == null) {
+            return 0;
+        }
+
+        return (int) Math.max(1, (totalRecords + limit - 1) / limit);
+    }
+
+    @Override
+    public int pageSize() {
+        return limit;
+    }
+
+    @Override
+    public long total() {
+        return totalRecords != null ? totalRecords : elements.size();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return hasNext;
+    }
+
+    @Override
+    public Sequence<T> content() {
+        return elements;
+    }
+
+    @Override
+    public <R> ResultPage<R> map(Function<T, R> mapper) {
+        return new SeekResultPageImpl<>(
+                elements.map(mapper),
+                limit,
+                totalRecords,
+                hasNext);
+    }
+}
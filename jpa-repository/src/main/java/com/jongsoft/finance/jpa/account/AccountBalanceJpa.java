@@ -0,0 +1,48 @@
+package com.jongsoft.finance.jpa.account;
+
+import lombok.Getter;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * The materialized balance of an account, together with the date of the first and last transaction booked on it.
+ * The rows are maintained by the transaction handlers through the {@link AccountBalanceMaintainer}, and read as part
+ * of the {@link AccountJpa}.
+ */
+@Getter
+@Entity
+@Table(name = "account_balance")
+public class AccountBalanceJpa {
+
+    @Id
+    @Column(name = "account_id", nullable = false, updatable = false)
+    private Long accountId;
+
+    private BigDecimal balance;
+    private LocalDate firstTransaction;
+    private LocalDate lastTransaction;
+
+    public AccountBalanceJpa() {
+    }
+
+    public AccountBalanceJpa(Long accountId, BigDecimal balance, LocalDate firstTransaction, LocalDate lastTransaction) {
+        this.accountId = accountId;
+        this.balance = balance;
+        this.firstTransaction = firstTransaction;
+        this.lastTransaction = lastTransaction;
+    }
+
+    boolean matches(AccountBalanceJpa other) {
+        return other != null
+                && balance.compareTo(other.balance) == 0
+                && Objects.equals(firstTransaction, other.firstTransaction)
+                && Objects.equals(lastTransaction, other.lastTransaction);
+    }
+
+}
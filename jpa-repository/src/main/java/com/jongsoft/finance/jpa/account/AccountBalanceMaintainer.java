@@ -0,0 +1,199 @@
+package com.jongsoft.finance.jpa.account;
+
+import com.jongsoft.finance.jpa.reactive.ReactiveEntityManager;
+import com.jongsoft.lang.collection.Sequence;
+import io.micronaut.transaction.annotation.Transactional;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+
+/**
+ * Keeps the {@link AccountBalanceJpa} of an account in line with the transactions booked on it. All changes are
+ * applied as relative updates in the database, so that concurrent bookings on the same account do not overwrite each
+ * other. When the balance row of an account is missing it is rebuilt from the transactions instead.
+ * <p>
+ * The methods must be called after the change to the transactions has been written, within the same transaction.
+ */
+@Slf4j
+@Singleton
+@Transactional
+public class AccountBalanceMaintainer {
+
+    private static final String REBUILD_HQL = """
+            insert into AccountBalanceJpa (accountId, balance, firstTransaction, lastTransaction)
+            select a.id, coalesce(sum(t.amount), 0), min(j.date), max(j.date)
+            from AccountJpa a
+                left join TransactionJpa t on t.account.id = a.id and t.deleted is null
+                left join t.journal j
+            where a.id = :accountId
+            group by a.id""";
+
+    private static final String DATE_RANGE_HQL = """
+            firstTransaction = (
+                select min(j.date) from TransactionJpa t join t.journal j
+                where t.account.id = :accountId and t.deleted is null),
+            lastTransaction = (
+                select max(j.date) from TransactionJpa t join t.journal j
+                where t.account.id = :accountId and t.deleted is null)""";
+
+    private final ReactiveEntityManager entityManager;
+
+    @Inject
+    public AccountBalanceMaintainer(ReactiveEntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Create the empty balance of a newly created account.
+     */
+    public void register(long accountId) {
+        entityManager.update()
+                .hql("""
+                        insert into AccountBalanceJpa (accountId, balance)
+                        values (:accountId, :balance)""")
+                .set("accountId", accountId)
+                .set("balance", BigDecimal.ZERO)
+                .execute();
+    }
+
+    /**
+     * Add a new transaction of the given amount and date to the balance of the account.
+     */
+    public void book(long accountId, BigDecimal amount, LocalDate date) {
+        book(accountId, amount, date, date);
+    }
+
+    /**
+     * Add a number of new transactions to the balance of the account.
+     *
+     * @param amount    the sum of the amounts of all transactions
+     * @param firstDate the date of the earliest transaction
+     * @param lastDate  the date of the latest transaction
+     */
+    public void book(long accountId, BigDecimal amount, LocalDate firstDate, LocalDate lastDate) {
+        var hql = """
+                update AccountBalanceJpa
+                set balance = balance + :amount,
+                    firstTransaction = case when firstTransaction is null or firstTransaction > :firstDate
+                                        then :firstDate else firstTransaction end,
+                    lastTransaction = case when lastTransaction is null or lastTransaction < :lastDate
+                                        then :lastDate else lastTransaction end
+                where accountId = :accountId""";
+
+        var updated = entityManager.update()
+                .hql(hql)
+                .set("accountId", accountId)
+                .set("amount", amount)
+                .set("firstDate", firstDate)
+                .set("lastDate", lastDate)
+                .execute();
+        rebuildWhenMissing(accountId, updated);
+    }
+
+    /**
+     * Change the balance of the account by the given amount, without affecting the transaction dates.
+     */
+    public void adjust(long accountId, BigDecimal amount) {
+        if (amount.signum() == 0) {
+            return;
+        }
+
+        var updated = entityManager.update()
+                .hql("""
+                        update AccountBalanceJpa
+                        set balance = balance + :amount
+                        where accountId = :accountId""")
+                .set("accountId", accountId)
+                .set("amount", amount)
+                .execute();
+        rebuildWhenMissing(accountId, updated);
+    }
+
+    /**
+     * Remove a transaction of the given amount from the balance of the account. As the removed transaction may have
+     * been the first or last one, the date range is recomputed for this account.
+     */
+    public void withdraw(long accountId, BigDecimal amount) {
+        var hql = """
+                update AccountBalanceJpa
+                set balance = balance - :amount,
+                    %s
+                where accountId = :accountId""".formatted(DATE_RANGE_HQL);
+
+        var updated = entityManager.update()
+                .hql(hql)
+                .set("accountId", accountId)
+                .set("amount", amount)
+                .execute();
+        rebuildWhenMissing(accountId, updated);
+    }
+
+    /**
+     * Recompute the first and last transaction date of the account, used when the date of a transaction changed.
+     */
+    public void refreshDates(long accountId) {
+        var updated = entityManager.update()
+                .hql("""
+                        update AccountBalanceJpa
+                        set %s
+                        where accountId = :accountId""".formatted(DATE_RANGE_HQL))
+                .set("accountId", accountId)
+                .execute();
+        rebuildWhenMissing(accountId, updated);
+    }
+
+    /**
+     * Replace the balance of the account with one computed from all its transactions.
+     */
+    public void rebuild(long accountId) {
+        log.debug("[{}] - Rebuilding the account balance", accountId);
+
+        entityManager.update()
+                .hql("delete from AccountBalanceJpa where accountId = :accountId")
+                .set("accountId", accountId)
+                .execute();
+
+        entityManager.update()
+                .hql(REBUILD_HQL)
+                .set("accountId", accountId)
+                .execute();
+    }
+
+    /**
+     * Compare the maintained balances against the balances computed from the transactions.
+     *
+     * @return the identifiers of all accounts for which the maintained balance is missing or incorrect
+     */
+    public Sequence<Long> verify() {
+        var computedHql = """
+                select new AccountBalanceJpa(a.id, coalesce(sum(t.amount), 0), min(j.date), max(j.date))
+                from AccountJpa a
+                    left join TransactionJpa t on t.account.id = a.id and t.deleted is null
+                    left join t.journal j
+                group by a.id""";
+
+        var maintained = new HashMap<Long, AccountBalanceJpa>();
+        entityManager.<AccountBalanceJpa>blocking()
+                .hql("from AccountBalanceJpa")
+                .sequence()
+                .forEach(balance -> maintained.put(balance.getAccountId(), balance));
+
+        return entityManager.<AccountBalanceJpa>blocking()
+                .hql(computedHql)
+                .sequence()
+                .reject(computed -> computed.matches(maintained.get(computed.getAccountId())))
+                .map(AccountBalanceJpa::getAccountId);
+    }
+
+    private void rebuildWhenMissing(long accountId, int updated) {
+        if (updated == 0) {
+            log.warn("[{}] - No maintained balance found for the account", accountId);
+            rebuild(accountId);
+        }
+    }
+
+}
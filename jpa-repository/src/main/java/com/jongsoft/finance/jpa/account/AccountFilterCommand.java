@@ -1,6 +1,7 @@
 package com.jongsoft.finance.jpa.account;
 
 import com.jongsoft.finance.jpa.core.FilterCommandJpa;
+import com.jongsoft.finance.jpa.core.NormalizedText;
 import com.jongsoft.finance.providers.AccountProvider;
 import com.jongsoft.lang.collection.Sequence;
 
@@ -23,24 +24,31 @@ public class AccountFilterCommand extends FilterCommandJpa implements AccountPro
     @Override
     public AccountFilterCommand name(String value, boolean exact) {
         if (exact) {
-            hql(FIELD_NAME, " and lower(a.name) = lower(:name)");
-            parameter(FIELD_NAME, value);
+            hql(FIELD_NAME, " and a.nameNormalized = :name");
+            parameter(FIELD_NAME, NormalizedText.of(value));
         } else {
-            hql(FIELD_NAME, " and lower(a.name) like lower(:name)");
-            parameter(FIELD_NAME, "%" + value + "%");
+            hql(FIELD_NAME, " and a.nameNormalized like :name");
+            parameter(FIELD_NAME, "%" + NormalizedText.of(value) + "%");
         }
 
         return this;
     }
 
+    @Override
+    public AccountFilterCommand namePrefix(String value) {
+        hql(FIELD_NAME, " and a.nameNormalized like :name");
+        parameter(FIELD_NAME, NormalizedText.of(value) + "%");
+        return this;
+    }
+
     @Override
     public AccountFilterCommand iban(String value, boolean exact) {
         if (exact) {
-            hql(FIELD_IBAN, " and lower(a.iban) = lower(:iban)");
-            parameter(FIELD_IBAN, value);
+            hql(FIELD_IBAN, " and a.ibanNormalized = :iban");
+            parameter(FIELD_IBAN, NormalizedText.of(value));
         } else {
-            hql(FIELD_IBAN, " and lower(a.iban) like lower(:iban)");
-            parameter(FIELD_IBAN, "%" + value + "%");
+            hql(FIELD_IBAN, " and a.ibanNormalized like :iban");
+            parameter(FIELD_IBAN, "%" + NormalizedText.of(value) + "%");
         }
 
         return this;
@@ -49,11 +57,11 @@ public class AccountFilterCommand extends FilterCommandJpa implements AccountPro
     @Override
     public AccountFilterCommand number(String value, boolean exact) {
         if (exact) {
-            hql(FIELD_NUMBER, " and lower(a.number) = :number");
-            parameter(FIELD_NUMBER, value);
+            hql(FIELD_NUMBER, " and a.numberNormalized = :number");
+            parameter(FIELD_NUMBER, NormalizedText.of(value));
         } else {
-            hql(FIELD_NUMBER, " and lower(a.number) like :number");
-            parameter(FIELD_NUMBER, "%" + value + "%");
+            hql(FIELD_NUMBER, " and a.numberNormalized like :number");
+            parameter(FIELD_NUMBER, "%" + NormalizedText.of(value) + "%");
         }
 
         return this;
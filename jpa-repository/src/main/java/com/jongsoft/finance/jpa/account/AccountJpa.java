@@ -1,5 +1,6 @@
 package com.jongsoft.finance.jpa.account;
 
+import com.jongsoft.finance.jpa.core.NormalizedText;
 import com.jongsoft.finance.jpa.core.entity.EntityJpa;
 import com.jongsoft.finance.jpa.currency.CurrencyJpa;
 import com.jongsoft.finance.jpa.savings.SavingGoalJpa;
@@ -7,7 +8,7 @@ import com.jongsoft.finance.jpa.user.entity.UserAccountJpa;
 import com.jongsoft.finance.schedule.Periodicity;
 import lombok.Builder;
 import lombok.Getter;
-import org.hibernate.annotations.Formula;
+import org.hibernate.annotations.SecondaryRow;
 
 import jakarta.persistence.*;
 import java.time.LocalDate;
@@ -17,6 +18,8 @@ import java.util.Set;
 @Getter
 @Entity
 @Table(name = "account")
+@SecondaryTable(name = "account_balance", pkJoinColumns = @PrimaryKeyJoinColumn(name = "account_id"))
+@SecondaryRow(table = "account_balance", owned = false)
 public class AccountJpa extends EntityJpa {
 
     private String name;
@@ -26,6 +29,11 @@ public class AccountJpa extends EntityJpa {
     private String bic;
     private String number;
 
+    // lower-cased copies used for lookups, kept in line by the handlers that change the originals
+    private String nameNormalized;
+    private String ibanNormalized;
+    private String numberNormalized;
+
     private String imageFileToken;
 
     private double interest;
@@ -42,13 +50,14 @@ public class AccountJpa extends EntityJpa {
     @ManyToOne
     private CurrencyJpa currency;
 
-    @Formula("(select max(tj.t_date) from transaction_part t join transaction_journal tj on tj.id = t.journal_id where t.account_id = id and t.deleted is null)")
+    // maintained by the AccountBalanceMaintainer, never written through the account itself
+    @Column(table = "account_balance", insertable = false, updatable = false)
     private LocalDate lastTransaction;
 
-    @Formula("(select min(tj.t_date) from transaction_part t join transaction_journal tj on tj.id = t.journal_id where t.account_id = id and t.deleted is null)")
+    @Column(table = "account_balance", insertable = false, updatable = false)
     private LocalDate firstTransaction;
 
-    @Formula("(select sum(t.amount) from transaction_part t where t.account_id = id and t.deleted is null)")
+    @Column(table = "account_balance", insertable = false, updatable = false)
     private Double balance;
 
     private boolean archived;
@@ -82,6 +91,9 @@ public class AccountJpa extends EntityJpa {
         this.iban = iban;
         this.bic = bic;
         this.number = number;
+        this.nameNormalized = NormalizedText.of(name);
+        this.ibanNormalized = NormalizedText.of(iban);
+        this.numberNormalized = NormalizedText.of(number);
         this.imageFileToken = imageFileToken;
         this.interest = interest;
         this.interestPeriodicity = interestPeriodicity;
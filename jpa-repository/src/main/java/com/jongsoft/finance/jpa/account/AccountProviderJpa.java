@@ -7,6 +7,7 @@ import com.jongsoft.finance.domain.account.SavingGoal;
 import com.jongsoft.finance.domain.transaction.ScheduleValue;
 import com.jongsoft.finance.domain.user.UserAccount;
 import com.jongsoft.finance.jpa.FilterDelegate;
+import com.jongsoft.finance.jpa.core.ProviderTimer;
 import com.jongsoft.finance.jpa.projections.TripleProjection;
 import com.jongsoft.finance.jpa.reactive.ReactiveEntityManager;
 import com.jongsoft.finance.jpa.savings.SavingGoalJpa;
@@ -31,6 +32,7 @@ import java.util.stream.Collectors;
 @Slf4j
 @ReadOnly
 @Singleton
+@ProviderTimer
 @Named("accountProvider")
 public class AccountProviderJpa implements AccountProvider {
 
@@ -62,6 +64,22 @@ public class AccountProviderJpa implements AccountProvider {
                 .map(this::convert);
     }
 
+    @Override
+    public Sequence<AccountSynonym> synonyms() {
+        log.trace("Account synonym listing");
+
+        String hql = """
+                select new com.jongsoft.finance.jpa.account.AccountSynonymImpl(a.synonym, a.account.id)
+                from AccountSynonymJpa a
+                where a.account.user.username = :username
+                and a.account.archived = false""";
+
+        return entityManager.<AccountSynonym>blocking()
+                .hql(hql)
+                .set("username", authenticationFacade.authenticated())
+                .sequence();
+    }
+
     @Override
     public Sequence<Account> lookup() {
         log.trace("Account listing");
@@ -0,0 +1,10 @@
+package com.jongsoft.finance.jpa.account;
+
+import com.jongsoft.finance.providers.AccountProvider;
+
+public record AccountSynonymImpl(String synonym, long accountId) implements AccountProvider.AccountSynonym {
+
+    public AccountSynonymImpl(String synonym, Long accountId) {
+        this(synonym, accountId.longValue());
+    }
+}
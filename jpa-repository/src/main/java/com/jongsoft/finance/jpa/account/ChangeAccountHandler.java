@@ -1,6 +1,7 @@
 package com.jongsoft.finance.jpa.account;
 
 import com.jongsoft.finance.annotation.BusinessEventListener;
+import com.jongsoft.finance.jpa.core.NormalizedText;
 import com.jongsoft.finance.jpa.reactive.ReactiveEntityManager;
 import com.jongsoft.finance.messaging.CommandHandler;
 import com.jongsoft.finance.messaging.commands.account.ChangeAccountCommand;
@@ -29,15 +30,19 @@ public class ChangeAccountHandler implements CommandHandler<ChangeAccountCommand
         var hql = """
                 update AccountJpa
                 set iban = :iban,
+                    ibanNormalized = :ibanNormalized,
                     bic = :bic,
-                    number = :number
+                    number = :number,
+                    numberNormalized = :numberNormalized
                 where id = :id""";
 
         entityManager.update()
                 .hql(hql)
                 .set("iban", command.iban())
+                .set("ibanNormalized", NormalizedText.of(command.iban()))
                 .set("bic", command.bic())
                 .set("number", command.number())
+                .set("numberNormalized", NormalizedText.of(command.number()))
                 .set("id", command.id())
                 .execute();
     }
@@ -20,11 +20,16 @@ public class CreateAccountHandler implements CommandHandler<CreateAccountCommand
 
     private final ReactiveEntityManager entityManager;
     private final AuthenticationFacade authenticationFacade;
+    private final AccountBalanceMaintainer accountBalanceMaintainer;
 
     @Inject
-    CreateAccountHandler(ReactiveEntityManager entityManager, AuthenticationFacade authenticationFacade) {
+    CreateAccountHandler(
+            ReactiveEntityManager entityManager,
+            AuthenticationFacade authenticationFacade,
+            AccountBalanceMaintainer accountBalanceMaintainer) {
         this.entityManager = entityManager;
         this.authenticationFacade = authenticationFacade;
+        this.accountBalanceMaintainer = accountBalanceMaintainer;
     }
 
     @Override
@@ -46,6 +51,7 @@ public class CreateAccountHandler implements CommandHandler<CreateAccountCommand
                 .build();
 
         entityManager.persist(toCreate);
+        accountBalanceMaintainer.register(toCreate.getId());
     }
 
 }
@@ -0,0 +1,40 @@
+package com.jongsoft.finance.jpa.account;
+
+import com.jongsoft.finance.annotation.BusinessEventListener;
+import com.jongsoft.finance.messaging.CommandHandler;
+import com.jongsoft.finance.messaging.commands.account.RebuildAccountBalancesCommand;
+import io.micronaut.transaction.annotation.Transactional;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Singleton
+@Transactional
+public class RebuildAccountBalancesHandler implements CommandHandler<RebuildAccountBalancesCommand> {
+
+    private final AccountBalanceMaintainer accountBalanceMaintainer;
+
+    @Inject
+    RebuildAccountBalancesHandler(AccountBalanceMaintainer accountBalanceMaintainer) {
+        this.accountBalanceMaintainer = accountBalanceMaintainer;
+    }
+
+    @Override
+    @BusinessEventListener
+    public void handle(RebuildAccountBalancesCommand command) {
+        log.info("Processing account balance verification event");
+
+        var incorrect = accountBalanceMaintainer.verify();
+        if (incorrect.isEmpty()) {
+            log.info("All account balances are correct");
+            return;
+        }
+
+        log.warn("Found {} accounts with an incorrect balance: {}", incorrect.size(), incorrect.toJava());
+        if (!command.verifyOnly()) {
+            incorrect.forEach(accountBalanceMaintainer::rebuild);
+        }
+    }
+
+}
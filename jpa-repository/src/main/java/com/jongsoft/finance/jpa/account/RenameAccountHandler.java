@@ -1,8 +1,10 @@
 package com.jongsoft.finance.jpa.account;
 
 import com.jongsoft.finance.annotation.BusinessEventListener;
+import com.jongsoft.finance.jpa.core.NormalizedText;
 import com.jongsoft.finance.jpa.currency.CurrencyJpa;
 import com.jongsoft.finance.jpa.reactive.ReactiveEntityManager;
+import com.jongsoft.finance.jpa.transaction.TransactionDailyMaintainer;
 import com.jongsoft.finance.messaging.CommandHandler;
 import com.jongsoft.finance.messaging.commands.account.RenameAccountCommand;
 import com.jongsoft.lang.Collections;
@@ -17,10 +19,14 @@ import lombok.extern.slf4j.Slf4j;
 public class RenameAccountHandler implements CommandHandler<RenameAccountCommand> {
 
     private final ReactiveEntityManager entityManager;
+    private final TransactionDailyMaintainer transactionDailyMaintainer;
 
     @Inject
-    RenameAccountHandler(ReactiveEntityManager entityManager) {
+    RenameAccountHandler(
+            ReactiveEntityManager entityManager,
+            TransactionDailyMaintainer transactionDailyMaintainer) {
         this.entityManager = entityManager;
+        this.transactionDailyMaintainer = transactionDailyMaintainer;
     }
 
     @Override
@@ -28,9 +34,17 @@ public class RenameAccountHandler implements CommandHandler<RenameAccountCommand
     public void handle(RenameAccountCommand command) {
         log.info("[{}] - Processing account rename event", command.id());
 
+        var typeChanged = entityManager.<String>blocking()
+                .hql("select a.type.label from AccountJpa a where a.id = :id")
+                .set("id", command.id())
+                .maybe()
+                .map(label -> !label.equals(command.type()))
+                .getOrSupply(() -> false);
+
         var hql = """
                 update AccountJpa
                 set name = :name,
+                    nameNormalized = :nameNormalized,
                     description = :description,
                     type = :type,
                     currency = :currency
@@ -39,6 +53,7 @@ public class RenameAccountHandler implements CommandHandler<RenameAccountCommand
         entityManager.update()
                 .hql(hql)
                 .set("name", command.name())
+                .set("nameNormalized", NormalizedText.of(command.name()))
                 .set("description", command.description())
                 .set("type", entityManager.get(
                         AccountTypeJpa.class,
@@ -48,6 +63,11 @@ public class RenameAccountHandler implements CommandHandler<RenameAccountCommand
                         Collections.Map("code", command.currency())))
                 .set("id", command.id())
                 .execute();
+
+        if (typeChanged) {
+            // the own account flag of the rollup depends on the type of the accounts in the transaction
+            transactionDailyMaintainer.refreshAccount(command.id());
+        }
     }
 
 }
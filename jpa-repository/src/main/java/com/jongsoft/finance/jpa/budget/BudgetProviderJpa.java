@@ -2,6 +2,7 @@ package com.jongsoft.finance.jpa.budget;
 
 import com.jongsoft.finance.core.DateUtils;
 import com.jongsoft.finance.domain.user.Budget;
+import com.jongsoft.finance.jpa.core.ProviderTimer;
 import com.jongsoft.finance.jpa.reactive.ReactiveEntityManager;
 import com.jongsoft.finance.providers.BudgetProvider;
 import com.jongsoft.finance.security.AuthenticationFacade;
@@ -13,6 +14,7 @@ import jakarta.inject.Singleton;
 
 @ReadOnly
 @Singleton
+@ProviderTimer
 @Named("budgetProvider")
 public class BudgetProviderJpa implements BudgetProvider {
 
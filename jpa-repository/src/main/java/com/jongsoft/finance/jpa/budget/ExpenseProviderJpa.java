@@ -2,6 +2,7 @@ package com.jongsoft.finance.jpa.budget;
 
 import com.jongsoft.finance.ResultPage;
 import com.jongsoft.finance.domain.core.EntityRef;
+import com.jongsoft.finance.jpa.core.ProviderTimer;
 import com.jongsoft.finance.jpa.reactive.ReactiveEntityManager;
 import com.jongsoft.finance.providers.ExpenseProvider;
 import com.jongsoft.finance.security.AuthenticationFacade;
@@ -13,6 +14,7 @@ import jakarta.inject.Singleton;
 
 @ReadOnly
 @Singleton
+@ProviderTimer
 @Named("expenseProvider")
 public class ExpenseProviderJpa implements ExpenseProvider {
 
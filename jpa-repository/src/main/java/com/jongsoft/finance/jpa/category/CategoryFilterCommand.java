@@ -1,6 +1,7 @@
 package com.jongsoft.finance.jpa.category;
 
 import com.jongsoft.finance.jpa.core.FilterCommandJpa;
+import com.jongsoft.finance.jpa.core.NormalizedText;
 import com.jongsoft.finance.providers.CategoryProvider;
 import jakarta.inject.Singleton;
 
@@ -18,15 +19,22 @@ public class CategoryFilterCommand extends FilterCommandJpa implements CategoryP
     @Override
     public CategoryProvider.FilterCommand label(String label, boolean exact) {
         if (exact) {
-            hql("label", " and lower(a.label) = lower(:label)");
-            parameter("label", label);
+            hql("label", " and a.labelNormalized = :label");
+            parameter("label", NormalizedText.of(label));
         } else {
-            hql("label", " and lower(a.label) like lower(:label)");
-            parameter("label", "%" + label + "%");
+            hql("label", " and a.labelNormalized like :label");
+            parameter("label", "%" + NormalizedText.of(label) + "%");
         }
         return this;
     }
 
+    @Override
+    public CategoryProvider.FilterCommand labelPrefix(String label) {
+        hql("label", " and a.labelNormalized like :label");
+        parameter("label", NormalizedText.of(label) + "%");
+        return this;
+    }
+
     @Override
     public CategoryProvider.FilterCommand page(int page) {
         this.page = page;
@@ -9,6 +9,7 @@ import jakarta.persistence.Table;
 
 import com.jongsoft.finance.jpa.user.entity.UserAccountJpa;
 import org.hibernate.annotations.Formula;
+import com.jongsoft.finance.jpa.core.NormalizedText;
 import com.jongsoft.finance.jpa.core.entity.EntityJpa;
 
 import lombok.Builder;
@@ -20,6 +21,7 @@ import lombok.Getter;
 public class CategoryJpa extends EntityJpa {
 
     private String label;
+    private String labelNormalized;
     private String description;
     private boolean archived;
 
@@ -38,6 +40,7 @@ public class CategoryJpa extends EntityJpa {
             UserAccountJpa user,
             LocalDate lastTransaction) {
         this.label = label;
+        this.labelNormalized = NormalizedText.of(label);
         this.description = description;
         this.archived = archived;
         this.user = user;
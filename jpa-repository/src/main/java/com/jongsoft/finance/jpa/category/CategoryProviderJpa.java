@@ -3,6 +3,7 @@ package com.jongsoft.finance.jpa.category;
 import com.jongsoft.finance.ResultPage;
 import com.jongsoft.finance.domain.user.Category;
 import com.jongsoft.finance.domain.user.UserAccount;
+import com.jongsoft.finance.jpa.core.ProviderTimer;
 import com.jongsoft.finance.jpa.reactive.ReactiveEntityManager;
 import com.jongsoft.finance.providers.CategoryProvider;
 import com.jongsoft.finance.security.AuthenticationFacade;
@@ -15,6 +16,7 @@ import jakarta.inject.Singleton;
 
 @ReadOnly
 @Singleton
+@ProviderTimer
 @Named("categoryProvider")
 public class CategoryProviderJpa implements CategoryProvider {
 
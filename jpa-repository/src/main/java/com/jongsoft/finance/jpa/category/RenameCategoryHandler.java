@@ -1,6 +1,7 @@
 package com.jongsoft.finance.jpa.category;
 
 import com.jongsoft.finance.annotation.BusinessEventListener;
+import com.jongsoft.finance.jpa.core.NormalizedText;
 import com.jongsoft.finance.jpa.reactive.ReactiveEntityManager;
 import com.jongsoft.finance.messaging.CommandHandler;
 import com.jongsoft.finance.messaging.commands.category.RenameCategoryCommand;
@@ -30,10 +31,12 @@ public class RenameCategoryHandler implements CommandHandler<RenameCategoryComma
                 .hql("""
                         update CategoryJpa
                         set label = :label,
+                            labelNormalized = :labelNormalized,
                             description = :description
                         where id = :id""")
                 .set("id", command.id())
                 .set("label", command.name())
+                .set("labelNormalized", NormalizedText.of(command.name()))
                 .set("description", command.description())
                 .execute();
     }
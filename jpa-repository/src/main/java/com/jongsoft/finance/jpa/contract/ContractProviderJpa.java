@@ -3,6 +3,7 @@ package com.jongsoft.finance.jpa.contract;
 import com.jongsoft.finance.domain.account.Account;
 import com.jongsoft.finance.domain.account.Contract;
 import com.jongsoft.finance.domain.user.UserAccount;
+import com.jongsoft.finance.jpa.core.ProviderTimer;
 import com.jongsoft.finance.jpa.reactive.ReactiveEntityManager;
 import com.jongsoft.finance.providers.ContractProvider;
 import com.jongsoft.finance.security.AuthenticationFacade;
@@ -16,6 +17,7 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 @ReadOnly
 @Singleton
+@ProviderTimer
 public class ContractProviderJpa implements ContractProvider {
 
     private final AuthenticationFacade authenticationFacade;
@@ -0,0 +1,44 @@
+package com.jongsoft.finance.jpa.core;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.transaction.TransactionOperations;
+import io.micronaut.transaction.support.TransactionSynchronization;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+
+/**
+ * Keeps the caches of the {@link CachingProvider} instances consistent with the database. A caching provider updates
+ * its copy while the change is still part of the running transaction, when that transaction does not commit the
+ * copy is dropped so that it is loaded again from the database on the next lookup.
+ */
+@Slf4j
+@Singleton
+public class CacheRollbackGuard {
+
+    private final TransactionOperations<Session> transactionOperations;
+
+    @Inject
+    public CacheRollbackGuard(TransactionOperations<Session> transactionOperations) {
+        this.transactionOperations = transactionOperations;
+    }
+
+    /**
+     * Invalidate the cache of the provider when the running transaction is rolled back. Does nothing when there is no
+     * running transaction, as the change is then already stored.
+     */
+    public void invalidateOnRollback(CachingProvider provider) {
+        transactionOperations.findTransactionStatus()
+                .ifPresent(status -> status.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(@NonNull Status completion) {
+                        if (completion != Status.COMMITTED) {
+                            log.debug("Transaction did not commit, invalidating {}", provider.getClass().getSimpleName());
+                            provider.invalidate();
+                        }
+                    }
+                }));
+    }
+
+}
@@ -0,0 +1,14 @@
+package com.jongsoft.finance.jpa.core;
+
+/**
+ * A provider that keeps a copy of data that rarely changes in memory. The copy is kept up to date by the command
+ * handlers that change the data, but must be invalidated when the data is changed in any other way.
+ */
+public interface CachingProvider {
+
+    /**
+     * Drop the cached data, it is loaded again on the next lookup.
+     */
+    void invalidate();
+
+}
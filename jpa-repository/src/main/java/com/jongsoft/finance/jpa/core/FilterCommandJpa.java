@@ -6,25 +6,36 @@ import jakarta.persistence.Query;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.TreeMap;
 
+/**
+ * Base for the JPA filter commands, which build the HQL from a number of filter fragments. The fragments are ordered
+ * by their key, so that the same filters always result in the same HQL regardless of the order in which they were
+ * set. This allows Hibernate to reuse the interpretation of the query from its query plan cache.
+ */
 public abstract class FilterCommandJpa implements FilterDelegate<FilterCommandJpa> {
 
     private final Map<String, Object> parameters;
     private final Map<String, String> filters;
+    private String generatedHql;
 
     protected FilterCommandJpa() {
         this.parameters = new HashMap<>();
-        this.filters = new HashMap<>();
+        this.filters = new TreeMap<>();
     }
 
     @Override
     public String generateHql() {
-        var hqlBuilder = new StringBuilder(fromHql());
-        filters.values().forEach(hqlFilter -> hqlBuilder
-                .append(System.lineSeparator())
-                .append(hqlFilter));
+        if (generatedHql == null) {
+            var hqlBuilder = new StringBuilder(fromHql());
+            filters.values().forEach(hqlFilter -> hqlBuilder
+                    .append(System.lineSeparator())
+                    .append(hqlFilter));
 
-        return hqlBuilder.toString();
+            generatedHql = hqlBuilder.toString();
+        }
+
+        return generatedHql;
     }
 
     @Override
@@ -42,12 +53,27 @@ public abstract class FilterCommandJpa implements FilterDelegate<FilterCommandJp
 
     protected void hql(String key, String hql) {
         filters.put(key, hql);
+        generatedHql = null;
     }
 
     protected void parameter(String key, Object value) {
         parameters.put(key, value);
     }
 
+    /**
+     * Remove a previously added filter, together with the parameters it uses.
+     *
+     * @param key        the key of the filter
+     * @param parameters the parameters used by the filter
+     */
+    protected void remove(String key, String... parameters) {
+        filters.remove(key);
+        generatedHql = null;
+        for (String parameter : parameters) {
+            this.parameters.remove(parameter);
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (o instanceof FilterCommandJpa other) {
@@ -0,0 +1,22 @@
+package com.jongsoft.finance.jpa.core;
+
+import java.util.Locale;
+
+/**
+ * Computes the value of the normalized lookup columns, the lower-cased and trimmed copy of a searchable column. The
+ * normalized columns are indexed, so that case-insensitive exact and prefix lookups do not need {@code lower(...)} on
+ * the column itself.
+ */
+public final class NormalizedText {
+
+    private NormalizedText() {
+    }
+
+    public static String of(String value) {
+        if (value == null) {
+            return null;
+        }
+
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,22 @@
+package com.jongsoft.finance.jpa.core;
+
+import io.micronaut.aop.Around;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Record the duration of every public method of the annotated provider in the {@code fintrack.provider} timer, tagged
+ * with the provider and the method name.
+ *
+ * @see ProviderTimerInterceptor
+ */
+@Around
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface ProviderTimer {
+}
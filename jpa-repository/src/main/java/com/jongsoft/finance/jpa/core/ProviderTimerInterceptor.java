@@ -0,0 +1,42 @@
+package com.jongsoft.finance.jpa.core;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micronaut.aop.InterceptorBean;
+import io.micronaut.aop.MethodInterceptor;
+import io.micronaut.aop.MethodInvocationContext;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+@Singleton
+@InterceptorBean(ProviderTimer.class)
+public class ProviderTimerInterceptor implements MethodInterceptor<Object, Object> {
+
+    static final String METRIC_NAME = "fintrack.provider";
+
+    private final MeterRegistry meterRegistry;
+
+    @Inject
+    public ProviderTimerInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object intercept(MethodInvocationContext<Object, Object> context) {
+        var sample = Timer.start(meterRegistry);
+        var outcome = "success";
+        try {
+            return context.proceed();
+        } catch (RuntimeException e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(METRIC_NAME)
+                    .tag("provider", context.getDeclaringType().getSimpleName())
+                    .tag("method", context.getMethodName())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.jongsoft.finance.jpa.core;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+/**
+ * Publishes the hits and misses of the Hibernate query plan cache, which holds the interpretation of every distinct
+ * HQL string. Requires the {@code hibernate.generate_statistics} property, without it all values remain zero.
+ */
+@Singleton
+public class QueryPlanMetrics implements MeterBinder {
+
+    private final Statistics statistics;
+
+    @Inject
+    public QueryPlanMetrics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("fintrack.hibernate.query.plan", statistics, Statistics::getQueryPlanCacheHitCount)
+                .description("The number of HQL queries of which the interpretation was found in the plan cache")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("fintrack.hibernate.query.plan", statistics, Statistics::getQueryPlanCacheMissCount)
+                .description("The number of HQL queries of which the interpretation was not found in the plan cache")
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("fintrack.hibernate.query.plan.hit.ratio", statistics, QueryPlanMetrics::hitRatio)
+                .description("The share of HQL queries of which the interpretation was found in the plan cache")
+                .register(registry);
+    }
+
+    static double hitRatio(Statistics statistics) {
+        var hits = statistics.getQueryPlanCacheHitCount();
+        var total = hits + statistics.getQueryPlanCacheMissCount();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+}
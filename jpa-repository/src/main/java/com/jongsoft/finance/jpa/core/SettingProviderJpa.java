@@ -1,11 +1,14 @@
 package com.jongsoft.finance.jpa.core;
 
 import com.jongsoft.finance.annotation.BusinessEventListener;
+import com.jongsoft.finance.core.SettingType;
 import com.jongsoft.finance.domain.core.Setting;
 import com.jongsoft.finance.domain.core.events.SettingUpdatedEvent;
 import com.jongsoft.finance.jpa.core.entity.SettingJpa;
 import com.jongsoft.finance.jpa.reactive.ReactiveEntityManager;
 import com.jongsoft.finance.providers.SettingProvider;
+import com.jongsoft.lang.Collections;
+import com.jongsoft.lang.Control;
 import com.jongsoft.lang.collection.Sequence;
 import com.jongsoft.lang.control.Optional;
 import io.micronaut.transaction.annotation.ReadOnly;
@@ -13,24 +16,36 @@ import jakarta.inject.Singleton;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Provides the application settings. All settings are loaded on the first lookup and kept in memory, the cached
+ * values are updated by {@link #handleSettingUpdated(SettingUpdatedEvent)}. When the transaction of the update does
+ * not commit all cached settings are dropped.
+ */
 @Slf4j
-@ReadOnly
 @Singleton
-public class SettingProviderJpa implements SettingProvider {
+@ProviderTimer
+public class SettingProviderJpa implements SettingProvider, CachingProvider {
+
+    record CachedSetting(String name, SettingType type, String value) {
+    }
 
     private final ReactiveEntityManager entityManager;
+    private final CacheRollbackGuard rollbackGuard;
+    private volatile Map<String, CachedSetting> settings;
 
-    public SettingProviderJpa(ReactiveEntityManager entityManager) {
+    public SettingProviderJpa(ReactiveEntityManager entityManager, CacheRollbackGuard rollbackGuard) {
         this.entityManager = entityManager;
+        this.rollbackGuard = rollbackGuard;
     }
 
     @Override
     public Sequence<Setting> lookup() {
         log.trace("Setting listing");
 
-        return entityManager.<SettingJpa>blocking()
-                .hql("select s from SettingJpa s")
-                .sequence()
+        return Collections.List(settings().values())
                 .map(this::convert);
     }
 
@@ -38,14 +53,7 @@ public class SettingProviderJpa implements SettingProvider {
     public Optional<Setting> lookup(String name) {
         log.trace("Setting lookup by name {}", name);
 
-        var hql = """
-                select s from SettingJpa s
-                where s.name = :name""";
-
-        return entityManager.<SettingJpa>blocking()
-                .hql(hql)
-                .set("name", name)
-                .maybe()
+        return Control.Option(settings().get(name))
                 .map(this::convert);
     }
 
@@ -62,13 +70,55 @@ public class SettingProviderJpa implements SettingProvider {
                 .set("name", event.getSetting())
                 .set("value", event.getValue())
                 .execute();
+
+        synchronized (this) {
+            var cached = settings;
+            if (cached != null && cached.containsKey(event.getSetting())) {
+                var updated = new LinkedHashMap<>(cached);
+                updated.computeIfPresent(
+                        event.getSetting(),
+                        (name, setting) -> new CachedSetting(name, setting.type(), event.getValue()));
+                settings = updated;
+                rollbackGuard.invalidateOnRollback(this);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void invalidate() {
+        settings = null;
+    }
+
+    private Map<String, CachedSetting> settings() {
+        var cached = settings;
+        if (cached == null) {
+            synchronized (this) {
+                if (settings == null) {
+                    settings = load();
+                }
+                cached = settings;
+            }
+        }
+        return cached;
+    }
+
+    @ReadOnly
+    protected Map<String, CachedSetting> load() {
+        log.debug("Loading all settings");
+
+        var loaded = new LinkedHashMap<String, CachedSetting>();
+        entityManager.<SettingJpa>blocking()
+                .hql("select s from SettingJpa s")
+                .sequence()
+                .forEach(s -> loaded.put(s.getName(), new CachedSetting(s.getName(), s.getType(), s.getValue())));
+        return loaded;
     }
 
-    private Setting convert(SettingJpa source) {
+    private Setting convert(CachedSetting source) {
         return Setting.builder()
-                .name(source.getName())
-                .type(source.getType())
-                .value(source.getValue())
+                .name(source.name())
+                .type(source.type())
+                .value(source.value())
                 .build();
     }
 
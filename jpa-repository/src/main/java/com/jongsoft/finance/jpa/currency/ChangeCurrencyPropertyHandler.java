@@ -4,6 +4,7 @@ import com.jongsoft.finance.annotation.BusinessEventListener;
 import com.jongsoft.finance.jpa.reactive.ReactiveEntityManager;
 import com.jongsoft.finance.messaging.CommandHandler;
 import com.jongsoft.finance.messaging.commands.currency.ChangeCurrencyPropertyCommand;
+import com.jongsoft.finance.messaging.commands.currency.CurrencyCommandType;
 import io.micronaut.transaction.annotation.Transactional;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
@@ -15,10 +16,12 @@ import lombok.extern.slf4j.Slf4j;
 public class ChangeCurrencyPropertyHandler implements CommandHandler<ChangeCurrencyPropertyCommand<?>> {
 
     private final ReactiveEntityManager entityManager;
+    private final CurrencyProviderJpa currencyProvider;
 
     @Inject
-    public ChangeCurrencyPropertyHandler(ReactiveEntityManager entityManager) {
+    public ChangeCurrencyPropertyHandler(ReactiveEntityManager entityManager, CurrencyProviderJpa currencyProvider) {
         this.entityManager = entityManager;
+        this.currencyProvider = currencyProvider;
     }
 
     @Override
@@ -40,6 +43,18 @@ public class ChangeCurrencyPropertyHandler implements CommandHandler<ChangeCurre
                 .set("code", command.code())
                 .set("value", command.value())
                 .execute();
+
+        currencyProvider.change(command.code(), currency -> new CurrencyProviderJpa.CachedCurrency(
+                currency.id(),
+                currency.name(),
+                currency.code(),
+                currency.symbol(),
+                command.type() == CurrencyCommandType.DECIMAL_PLACES
+                        ? ((Number) command.value()).intValue()
+                        : currency.decimalPlaces(),
+                command.type() == CurrencyCommandType.ENABLED
+                        ? (Boolean) command.value()
+                        : currency.enabled()));
     }
 
 }
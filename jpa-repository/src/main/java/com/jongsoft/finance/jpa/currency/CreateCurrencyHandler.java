@@ -15,10 +15,12 @@ import lombok.extern.slf4j.Slf4j;
 public class CreateCurrencyHandler implements CommandHandler<CreateCurrencyCommand> {
 
     private final ReactiveEntityManager entityManager;
+    private final CurrencyProviderJpa currencyProvider;
 
     @Inject
-    public CreateCurrencyHandler(ReactiveEntityManager entityManager) {
+    public CreateCurrencyHandler(ReactiveEntityManager entityManager, CurrencyProviderJpa currencyProvider) {
         this.entityManager = entityManager;
+        this.currencyProvider = currencyProvider;
     }
 
     @Override
@@ -35,5 +37,6 @@ public class CreateCurrencyHandler implements CommandHandler<CreateCurrencyComma
                 .build();
 
         entityManager.persist(entity);
+        currencyProvider.cache(entity);
     }
 }
@@ -1,8 +1,13 @@
 package com.jongsoft.finance.jpa.currency;
 
 import com.jongsoft.finance.domain.core.Currency;
+import com.jongsoft.finance.jpa.core.CacheRollbackGuard;
+import com.jongsoft.finance.jpa.core.CachingProvider;
+import com.jongsoft.finance.jpa.core.ProviderTimer;
 import com.jongsoft.finance.jpa.reactive.ReactiveEntityManager;
 import com.jongsoft.finance.providers.CurrencyProvider;
+import com.jongsoft.lang.Collections;
+import com.jongsoft.lang.Control;
 import com.jongsoft.lang.collection.Sequence;
 import com.jongsoft.lang.control.Optional;
 import io.micronaut.transaction.annotation.ReadOnly;
@@ -10,18 +15,44 @@ import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Provides the currencies known to the application. All active currencies are loaded on the first lookup and kept
+ * in memory, the cached values are updated by the currency command handlers. A cached value that is changed by a
+ * transaction that does not commit is dropped together with the rest of the cache.
+ */
 @Slf4j
-@ReadOnly
 @Singleton
-public class CurrencyProviderJpa implements CurrencyProvider {
+@ProviderTimer
+public class CurrencyProviderJpa implements CurrencyProvider, CachingProvider {
+
+    record CachedCurrency(long id, String name, String code, char symbol, int decimalPlaces, boolean enabled) {
+
+        CachedCurrency(CurrencyJpa source) {
+            this(
+                    source.getId(),
+                    source.getName(),
+                    source.getCode(),
+                    source.getSymbol(),
+                    source.getDecimalPlaces(),
+                    source.isEnabled());
+        }
+    }
 
     private final ReactiveEntityManager entityManager;
+    private final CacheRollbackGuard rollbackGuard;
+    private volatile Map<String, CachedCurrency> currencies;
 
     @Inject
-    public CurrencyProviderJpa(ReactiveEntityManager entityManager) {
+    public CurrencyProviderJpa(ReactiveEntityManager entityManager, CacheRollbackGuard rollbackGuard) {
         this.entityManager = entityManager;
+        this.rollbackGuard = rollbackGuard;
     }
 
+    @ReadOnly
     public Optional<Currency> lookup(long id) {
         return entityManager.<CurrencyJpa>blocking()
                 .hql("from CurrencyJpa where id = :id")
@@ -34,15 +65,7 @@ public class CurrencyProviderJpa implements CurrencyProvider {
     public Optional<Currency> lookup(String code) {
         log.trace("Currency lookup by code: {}", code);
 
-        var hql = """
-                select c from CurrencyJpa c
-                where c.archived = false
-                    and c.code = :code""";
-
-        return entityManager.<CurrencyJpa>blocking()
-                .hql(hql)
-                .set("code", code)
-                .maybe()
+        return Control.Option(currencies().get(code))
                 .map(this::convert);
     }
 
@@ -50,14 +73,82 @@ public class CurrencyProviderJpa implements CurrencyProvider {
     public Sequence<Currency> lookup() {
         log.trace("Currency listing");
 
+        return Collections.List(currencies().values())
+                .map(this::convert);
+    }
+
+    @Override
+    public synchronized void invalidate() {
+        currencies = null;
+    }
+
+    /**
+     * Add a newly created currency to the cache.
+     */
+    synchronized void cache(CurrencyJpa currency) {
+        var cached = currencies;
+        if (cached != null) {
+            var updated = new LinkedHashMap<>(cached);
+            updated.put(currency.getCode(), new CachedCurrency(currency));
+            currencies = updated;
+            rollbackGuard.invalidateOnRollback(this);
+        }
+    }
+
+    /**
+     * Replace the cached currency with the given id with the result of the change.
+     */
+    synchronized void change(long id, UnaryOperator<CachedCurrency> change) {
+        var cached = currencies;
+        if (cached != null) {
+            var updated = new LinkedHashMap<String, CachedCurrency>();
+            cached.values().forEach(currency -> {
+                var result = currency.id() == id ? change.apply(currency) : currency;
+                updated.put(result.code(), result);
+            });
+            currencies = updated;
+            rollbackGuard.invalidateOnRollback(this);
+        }
+    }
+
+    /**
+     * Replace the cached currency with the given code with the result of the change.
+     */
+    void change(String code, UnaryOperator<CachedCurrency> change) {
+        var cached = currencies;
+        var currency = cached == null ? null : cached.get(code);
+        if (currency != null) {
+            change(currency.id(), change);
+        }
+    }
+
+    private Map<String, CachedCurrency> currencies() {
+        var cached = currencies;
+        if (cached == null) {
+            synchronized (this) {
+                if (currencies == null) {
+                    currencies = load();
+                }
+                cached = currencies;
+            }
+        }
+        return cached;
+    }
+
+    @ReadOnly
+    protected Map<String, CachedCurrency> load() {
+        log.debug("Loading all active currencies");
+
         var hql = """
-                select c from CurrencyJpa c 
+                select c from CurrencyJpa c
                 where c.archived = false""";
 
-        return entityManager.<CurrencyJpa>blocking()
+        var loaded = new LinkedHashMap<String, CachedCurrency>();
+        entityManager.<CurrencyJpa>blocking()
                 .hql(hql)
                 .sequence()
-                .map(this::convert);
+                .forEach(currency -> loaded.put(currency.getCode(), new CachedCurrency(currency)));
+        return loaded;
     }
 
     protected Currency convert(CurrencyJpa source) {
@@ -65,13 +156,17 @@ public class CurrencyProviderJpa implements CurrencyProvider {
             return null;
         }
 
+        return convert(new CachedCurrency(source));
+    }
+
+    private Currency convert(CachedCurrency source) {
         return Currency.builder()
-                .id(source.getId())
-                .name(source.getName())
-                .code(source.getCode())
-                .symbol(source.getSymbol())
-                .decimalPlaces(source.getDecimalPlaces())
-                .enabled(source.isEnabled())
+                .id(source.id())
+                .name(source.name())
+                .code(source.code())
+                .symbol(source.symbol())
+                .decimalPlaces(source.decimalPlaces())
+                .enabled(source.enabled())
                 .build();
     }
 
@@ -15,10 +15,12 @@ import lombok.extern.slf4j.Slf4j;
 public class RenameCurrencyHandler implements CommandHandler<RenameCurrencyCommand> {
 
     private final ReactiveEntityManager entityManager;
+    private final CurrencyProviderJpa currencyProvider;
 
     @Inject
-    public RenameCurrencyHandler(ReactiveEntityManager entityManager) {
+    public RenameCurrencyHandler(ReactiveEntityManager entityManager, CurrencyProviderJpa currencyProvider) {
         this.entityManager = entityManager;
+        this.currencyProvider = currencyProvider;
     }
 
     @Override
@@ -40,6 +42,14 @@ public class RenameCurrencyHandler implements CommandHandler<RenameCurrencyComma
                 .set("code", command.isoCode())
                 .set("symbol", command.symbol())
                 .execute();
+
+        currencyProvider.change(command.id(), currency -> new CurrencyProviderJpa.CachedCurrency(
+                currency.id(),
+                command.name(),
+                command.isoCode(),
+                command.symbol(),
+                currency.decimalPlaces(),
+                currency.enabled()));
     }
 
 }
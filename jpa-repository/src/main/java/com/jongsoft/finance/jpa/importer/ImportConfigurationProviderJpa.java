@@ -2,6 +2,7 @@ package com.jongsoft.finance.jpa.importer;
 
 import com.jongsoft.finance.domain.importer.BatchImportConfig;
 import com.jongsoft.finance.domain.user.UserAccount;
+import com.jongsoft.finance.jpa.core.ProviderTimer;
 import com.jongsoft.finance.jpa.importer.entity.ImportConfig;
 import com.jongsoft.finance.jpa.reactive.ReactiveEntityManager;
 import com.jongsoft.finance.providers.ImportConfigurationProvider;
@@ -15,6 +16,7 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 @ReadOnly
 @Singleton
+@ProviderTimer
 public class ImportConfigurationProviderJpa implements ImportConfigurationProvider {
 
     private final ReactiveEntityManager entityManager;
@@ -105,9 +105,16 @@ abstract class JpaPipe<T, R extends JpaPipe<T, R>> {
             return "";
         }
 
-        return " order by %s %s".formatted(
-                sort.get().field(),
-                sort.get().ascending() ? "asc" : "desc");
+        var direction = sort.get().ascending() ? "asc" : "desc";
+        if (sort.get().tieBreaker() != null) {
+            return " order by %s %s, %s %s".formatted(
+                    sort.get().field(),
+                    direction,
+                    sort.get().tieBreaker(),
+                    direction);
+        }
+
+        return " order by %s %s".formatted(sort.get().field(), direction);
     }
 
     int limit() {
@@ -2,6 +2,7 @@ package com.jongsoft.finance.jpa.reactive;
 
 import com.jongsoft.finance.ResultPage;
 import com.jongsoft.finance.jpa.ResultPageImpl;
+import com.jongsoft.finance.jpa.SeekResultPageImpl;
 import com.jongsoft.lang.Collections;
 import com.jongsoft.lang.Control;
 import com.jongsoft.lang.collection.Sequence;
@@ -50,7 +51,7 @@ public class NonReactivePipe<T> extends JpaPipe<T, NonReactivePipe<T>> {
         applyParameters(query);
         applyPaging(query);
 
-        return Control.Try(() -> (T) query.getSingleResult())
+        return Control.Try(() -> (T) QueryStatistics.measure(query::getSingleResult))
                 .map(converter)
                 .map(Control::Option)
                 .recover(e -> {
@@ -74,7 +75,7 @@ public class NonReactivePipe<T> extends JpaPipe<T, NonReactivePipe<T>> {
         applyParameters(query);
         applyPaging(query);
 
-        return Collections.List(query.getResultList());
+        return Collections.List((List<T>) QueryStatistics.measure(query::getResultList));
     }
 
     /**
@@ -95,14 +96,46 @@ public class NonReactivePipe<T> extends JpaPipe<T, NonReactivePipe<T>> {
         applyParameters(selectQuery);
         applyPaging(selectQuery);
 
-        long hits = countQuery.getSingleResult();
+        long hits = QueryStatistics.measure(countQuery::getSingleResult);
 
         return new ResultPageImpl<>(
-                Collections.List((List<T>) selectQuery.getResultList()),
+                Collections.List((List<T>) QueryStatistics.measure(selectQuery::getResultList)),
                 limit(),
                 hits);
     }
 
+    /**
+     * Run a query on the database using keyset pagination. The query should already exclude all entities of the
+     * previous pages instead of using an {@link #offset(int)}, and the sort of the pipeline must result in a stable
+     * order. Instead of counting all matches one additional
+     * entity is fetched to detect if there is a next page, unless the count is explicitly requested.
+     *
+     * @param countTotal should the total number of matches be counted
+     * @return a page with at most {@link #limit(int)} entities, or an empty page when no entities match the query
+     */
+    @SuppressWarnings("unchecked")
+    public ResultPage<T> seek(boolean countTotal) {
+        var selectHql = "select distinct a " + hql() + sort();
+        var selectQuery = entityManager.createQuery(selectHql);
+
+        applyParameters(selectQuery);
+        applyPaging(selectQuery);
+        selectQuery.setMaxResults(limit() == Integer.MAX_VALUE ? limit() : limit() + 1);
+
+        var results = (List<T>) QueryStatistics.measure(selectQuery::getResultList);
+        var hasNext = results.size() > limit();
+        var elements = Collections.List(hasNext ? results.subList(0, limit()) : results);
+
+        Long hits = null;
+        if (countTotal) {
+            var countQuery = entityManager.createQuery("select count(distinct a.id) " + hql(), Long.class);
+            applyParameters(countQuery);
+            hits = QueryStatistics.measure(countQuery::getSingleResult);
+        }
+
+        return new SeekResultPageImpl<>(elements, limit(), hits, hasNext);
+    }
+
     @Override
     protected NonReactivePipe<T> self() {
         return this;
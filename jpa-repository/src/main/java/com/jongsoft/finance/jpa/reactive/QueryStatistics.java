@@ -0,0 +1,86 @@
+package com.jongsoft.finance.jpa.reactive;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Collects the number of SQL statements sent to the database and the time spent in HQL queries by the current thread,
+ * between {@link #start()} and {@link #stop()}. The statements are counted by the {@link StatementCounter}, which
+ * includes the statements Hibernate issues for lazy loading and flushing. The query time is measured by the pipes of
+ * the {@link ReactiveEntityManager}.
+ * <p>
+ * Nothing is collected for threads on which no statistics were started.
+ */
+public final class QueryStatistics {
+
+    private static final ThreadLocal<QueryStatistics> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private int queries;
+    private long queryNanos;
+
+    private QueryStatistics() {
+    }
+
+    /**
+     * Start collecting the statistics of the current thread, replacing any statistics that were not stopped.
+     */
+    public static QueryStatistics start() {
+        var statistics = new QueryStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * Stop collecting the statistics, the values collected so far remain available.
+     */
+    public void stop() {
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * The number of SQL statements prepared, including those not issued through the pipes.
+     */
+    public int statements() {
+        return statements;
+    }
+
+    /**
+     * The number of HQL queries run through the pipes.
+     */
+    public int queries() {
+        return queries;
+    }
+
+    /**
+     * The total time spent running the HQL queries of the pipes.
+     */
+    public Duration queryTime() {
+        return Duration.ofNanos(queryNanos);
+    }
+
+    static void recordStatement() {
+        var statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.statements++;
+        }
+    }
+
+    static <R> R measure(Supplier<R> query) {
+        var statistics = CURRENT.get();
+        if (statistics == null) {
+            return query.get();
+        }
+
+        var start = System.nanoTime();
+        try {
+            return query.get();
+        } finally {
+            statistics.queries++;
+            statistics.queryNanos += System.nanoTime() - start;
+        }
+    }
+
+}
@@ -22,6 +22,28 @@ public class ReactiveEntityManager {
         entityManager.flush();
     }
 
+    /**
+     * Persist a new entity without flushing. The entity is written on the next flush, or directly when the database
+     * generates its identifier, which allows the remaining statements to be sent to the database in JDBC batches.
+     */
+    public <T extends EntityJpa> void persistWithoutFlush(T entity) {
+        entityManager.persist(entity);
+    }
+
+    /**
+     * Write all pending changes to the database.
+     */
+    public void flush() {
+        entityManager.flush();
+    }
+
+    /**
+     * Get a reference to an entity of which the identifier is known, without loading it from the database.
+     */
+    public <T> T getReference(Class<T> type, Object id) {
+        return entityManager.getReference(type, id);
+    }
+
     public <T> NonReactivePipe<T> blocking() {
         return new NonReactivePipe<T>(entityManager);
     }
@@ -0,0 +1,17 @@
+package com.jongsoft.finance.jpa.reactive;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts every SQL statement Hibernate prepares in the {@link QueryStatistics} of the current thread. Registered using
+ * the {@code hibernate.session_factory.statement_inspector} property.
+ */
+public class StatementCounter implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryStatistics.recordStatement();
+        return sql;
+    }
+
+}
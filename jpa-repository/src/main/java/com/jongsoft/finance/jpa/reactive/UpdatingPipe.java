@@ -9,13 +9,18 @@ public class UpdatingPipe extends JpaPipe<Void, UpdatingPipe> {
 
     private final EntityManager entityManager;
 
+    /**
+     * Execute the update or delete statement.
+     *
+     * @return the number of entities that were updated or deleted
+     */
     @Transactional
-    public void execute() {
+    public int execute() {
         var query = entityManager.createQuery(hql());
 
         applyParameters(query);
 
-        query.executeUpdate();
+        return QueryStatistics.measure(query::executeUpdate);
     }
 
     @Override
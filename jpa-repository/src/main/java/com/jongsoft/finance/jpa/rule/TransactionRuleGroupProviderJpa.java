@@ -1,6 +1,7 @@
 package com.jongsoft.finance.jpa.rule;
 
 import com.jongsoft.finance.domain.transaction.TransactionRuleGroup;
+import com.jongsoft.finance.jpa.core.ProviderTimer;
 import com.jongsoft.finance.jpa.reactive.ReactiveEntityManager;
 import com.jongsoft.finance.providers.TransactionRuleGroupProvider;
 import com.jongsoft.finance.security.AuthenticationFacade;
@@ -15,6 +16,7 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 @ReadOnly
 @Singleton
+@ProviderTimer
 @Named("transactionRuleGroupProvider")
 public class TransactionRuleGroupProviderJpa implements TransactionRuleGroupProvider {
 
@@ -1,7 +1,9 @@
 package com.jongsoft.finance.jpa.rule;
 
 import com.jongsoft.finance.domain.transaction.TransactionRule;
+import com.jongsoft.finance.domain.transaction.events.TransactionRuleSavedEvent;
 import com.jongsoft.finance.domain.user.UserAccount;
+import com.jongsoft.finance.jpa.core.ProviderTimer;
 import com.jongsoft.finance.jpa.reactive.ReactiveEntityManager;
 import com.jongsoft.finance.jpa.user.entity.UserAccountJpa;
 import com.jongsoft.finance.messaging.EventBus;
@@ -18,6 +20,7 @@ import jakarta.inject.Singleton;
 import java.util.Optional;
 
 @Singleton
+@ProviderTimer
 @Transactional
 @Named("transactionRuleProvider")
 public class TransactionRuleProviderJpa implements TransactionRuleProvider {
@@ -104,6 +107,7 @@ public class TransactionRuleProviderJpa implements TransactionRuleProvider {
         ruleJpa.setChanges(convertChanges(ruleJpa, Collections.List(rule.getChanges())).toJava());
 
         entityManager.persist(ruleJpa);
+        EventBus.getBus().send(new TransactionRuleSavedEvent(ruleJpa.getId()));
     }
 
     protected TransactionRule convert(RuleJpa source) {
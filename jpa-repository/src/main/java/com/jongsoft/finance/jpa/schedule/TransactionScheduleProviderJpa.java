@@ -6,6 +6,7 @@ import com.jongsoft.finance.domain.account.Contract;
 import com.jongsoft.finance.domain.transaction.ScheduleValue;
 import com.jongsoft.finance.domain.transaction.ScheduledTransaction;
 import com.jongsoft.finance.jpa.contract.ContractJpa;
+import com.jongsoft.finance.jpa.core.ProviderTimer;
 import com.jongsoft.finance.jpa.reactive.ReactiveEntityManager;
 import com.jongsoft.finance.providers.TransactionScheduleProvider;
 import com.jongsoft.finance.security.AuthenticationFacade;
@@ -20,6 +21,7 @@ import java.time.LocalDate;
 
 @ReadOnly
 @Singleton
+@ProviderTimer
 @Named("transactionScheduleProvider")
 public class TransactionScheduleProviderJpa implements TransactionScheduleProvider {
 
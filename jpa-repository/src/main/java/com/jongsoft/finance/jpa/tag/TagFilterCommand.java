@@ -1,6 +1,7 @@
 package com.jongsoft.finance.jpa.tag;
 
 import com.jongsoft.finance.jpa.core.FilterCommandJpa;
+import com.jongsoft.finance.jpa.core.NormalizedText;
 import com.jongsoft.finance.providers.TagProvider;
 
 import java.util.Objects;
@@ -18,16 +19,23 @@ public class TagFilterCommand extends FilterCommandJpa implements TagProvider.Fi
     @Override
     public TagFilterCommand name(String value, boolean exact) {
         if (exact) {
-            hql("name", " and lower(a.name) = lower(:name)");
-            parameter("name", value);
+            hql("name", " and a.nameNormalized = :name");
+            parameter("name", NormalizedText.of(value));
         } else {
-            hql("name", " and lower(a.name) like lower(:name)");
-            parameter("name", "%" + value + "%");
+            hql("name", " and a.nameNormalized like :name");
+            parameter("name", "%" + NormalizedText.of(value) + "%");
         }
 
         return this;
     }
 
+    @Override
+    public TagFilterCommand namePrefix(String value) {
+        hql("name", " and a.nameNormalized like :name");
+        parameter("name", NormalizedText.of(value) + "%");
+        return this;
+    }
+
     @Override
     public TagFilterCommand page(int page) {
         this.page = page;
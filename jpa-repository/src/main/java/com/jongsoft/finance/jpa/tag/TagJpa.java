@@ -5,6 +5,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 
+import com.jongsoft.finance.jpa.core.NormalizedText;
 import com.jongsoft.finance.jpa.core.entity.EntityJpa;
 import com.jongsoft.finance.jpa.user.entity.UserAccountJpa;
 
@@ -17,6 +18,7 @@ import lombok.Getter;
 public class TagJpa extends EntityJpa {
 
     private String name;
+    private String nameNormalized;
     private boolean archived;
 
     @ManyToOne
@@ -26,6 +28,7 @@ public class TagJpa extends EntityJpa {
     @Builder
     private TagJpa(String name, boolean archived, UserAccountJpa user) {
         this.name = name;
+        this.nameNormalized = NormalizedText.of(name);
         this.archived = archived;
         this.user = user;
     }
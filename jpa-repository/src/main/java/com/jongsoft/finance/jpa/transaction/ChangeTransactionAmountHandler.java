@@ -1,26 +1,38 @@
 package com.jongsoft.finance.jpa.transaction;
 
 import com.jongsoft.finance.annotation.BusinessEventListener;
+import com.jongsoft.finance.jpa.account.AccountBalanceMaintainer;
 import com.jongsoft.finance.jpa.currency.CurrencyJpa;
+import com.jongsoft.finance.jpa.projections.PairProjection;
 import com.jongsoft.finance.jpa.reactive.ReactiveEntityManager;
 import com.jongsoft.finance.messaging.CommandHandler;
 import com.jongsoft.finance.messaging.commands.transaction.ChangeTransactionAmountCommand;
 import com.jongsoft.lang.Collections;
+import com.jongsoft.lang.collection.Sequence;
 import io.micronaut.transaction.annotation.Transactional;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
 
+import java.math.BigDecimal;
+
 @Slf4j
 @Singleton
 @Transactional
 public class ChangeTransactionAmountHandler implements CommandHandler<ChangeTransactionAmountCommand> {
 
     private final ReactiveEntityManager entityManager;
+    private final AccountBalanceMaintainer accountBalanceMaintainer;
+    private final TransactionDailyMaintainer transactionDailyMaintainer;
 
     @Inject
-    public ChangeTransactionAmountHandler(ReactiveEntityManager entityManager) {
+    public ChangeTransactionAmountHandler(
+            ReactiveEntityManager entityManager,
+            AccountBalanceMaintainer accountBalanceMaintainer,
+            TransactionDailyMaintainer transactionDailyMaintainer) {
         this.entityManager = entityManager;
+        this.accountBalanceMaintainer = accountBalanceMaintainer;
+        this.transactionDailyMaintainer = transactionDailyMaintainer;
     }
 
     @Override
@@ -28,6 +40,8 @@ public class ChangeTransactionAmountHandler implements CommandHandler<ChangeTran
     public void handle(ChangeTransactionAmountCommand command) {
         log.info("[{}] - Processing transaction amount change event", command.id());
 
+        var bookedParts = bookedParts(command.id());
+
         var hql = """
                 update TransactionJpa 
                 set amount = case when amount >= 0 
@@ -52,6 +66,24 @@ public class ChangeTransactionAmountHandler implements CommandHandler<ChangeTran
                 .set("id", command.id())
                 .set("currency", entityManager.get(CurrencyJpa.class, Collections.Map("code", command.currency())))
                 .execute();
+
+        bookedParts.forEach(part -> {
+            var newAmount = part.getValue().signum() >= 0 ? command.amount() : command.amount().negate();
+            accountBalanceMaintainer.adjust(part.getKey(), newAmount.subtract(part.getValue()));
+        });
+        transactionDailyMaintainer.refreshJournal(command.id());
+    }
+
+    private Sequence<PairProjection<Long, BigDecimal>> bookedParts(long journalId) {
+        var hql = """
+                select new com.jongsoft.finance.jpa.projections.PairProjection(t.account.id, t.amount)
+                from TransactionJpa t
+                where t.journal.id = :id and t.deleted is null""";
+
+        return entityManager.<PairProjection<Long, BigDecimal>>blocking()
+                .hql(hql)
+                .set("id", journalId)
+                .sequence();
     }
 
 }
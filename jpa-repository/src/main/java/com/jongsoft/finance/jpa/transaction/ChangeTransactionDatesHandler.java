@@ -1,6 +1,7 @@
 package com.jongsoft.finance.jpa.transaction;
 
 import com.jongsoft.finance.annotation.BusinessEventListener;
+import com.jongsoft.finance.jpa.account.AccountBalanceMaintainer;
 import com.jongsoft.finance.jpa.reactive.ReactiveEntityManager;
 import com.jongsoft.finance.messaging.CommandHandler;
 import com.jongsoft.finance.messaging.commands.transaction.ChangeTransactionDatesCommand;
@@ -9,16 +10,25 @@ import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.LocalDate;
+
 @Slf4j
 @Singleton
 @Transactional
 public class ChangeTransactionDatesHandler implements CommandHandler<ChangeTransactionDatesCommand> {
 
     private final ReactiveEntityManager entityManager;
+    private final AccountBalanceMaintainer accountBalanceMaintainer;
+    private final TransactionDailyMaintainer transactionDailyMaintainer;
 
     @Inject
-    public ChangeTransactionDatesHandler(ReactiveEntityManager entityManager) {
+    public ChangeTransactionDatesHandler(
+            ReactiveEntityManager entityManager,
+            AccountBalanceMaintainer accountBalanceMaintainer,
+            TransactionDailyMaintainer transactionDailyMaintainer) {
         this.entityManager = entityManager;
+        this.accountBalanceMaintainer = accountBalanceMaintainer;
+        this.transactionDailyMaintainer = transactionDailyMaintainer;
     }
 
     @Override
@@ -26,6 +36,11 @@ public class ChangeTransactionDatesHandler implements CommandHandler<ChangeTrans
     public void handle(ChangeTransactionDatesCommand command) {
         log.info("[{}] - Processing transaction book event", command.id());
 
+        var previousDate = entityManager.<LocalDate>blocking()
+                .hql("select date from TransactionJournal where id = :id")
+                .set("id", command.id())
+                .maybe();
+
         var hql = """
                 update TransactionJournal
                 set date = :date,
@@ -40,6 +55,16 @@ public class ChangeTransactionDatesHandler implements CommandHandler<ChangeTrans
                 .set("date", command.date())
                 .set("interestDate", command.interestDate())
                 .execute();
+
+        entityManager.<Long>blocking()
+                .hql("""
+                        select distinct t.account.id from TransactionJpa t
+                        where t.journal.id = :id and t.deleted is null""")
+                .set("id", command.id())
+                .sequence()
+                .forEach(accountBalanceMaintainer::refreshDates);
+
+        previousDate.ifPresent(date -> transactionDailyMaintainer.refreshJournal(command.id(), date));
     }
 
 }
@@ -1,6 +1,8 @@
 package com.jongsoft.finance.jpa.transaction;
 
 import com.jongsoft.finance.annotation.BusinessEventListener;
+import com.jongsoft.finance.jpa.account.AccountBalanceMaintainer;
+import com.jongsoft.finance.jpa.projections.TripleProjection;
 import com.jongsoft.finance.jpa.reactive.ReactiveEntityManager;
 import com.jongsoft.finance.messaging.CommandHandler;
 import com.jongsoft.finance.messaging.commands.transaction.ChangeTransactionPartAccount;
@@ -9,16 +11,26 @@ import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
 @Slf4j
 @Singleton
 @Transactional
 public class ChangeTransactionPartAccountHandler implements CommandHandler<ChangeTransactionPartAccount> {
 
     private final ReactiveEntityManager entityManager;
+    private final AccountBalanceMaintainer accountBalanceMaintainer;
+    private final TransactionDailyMaintainer transactionDailyMaintainer;
 
     @Inject
-    public ChangeTransactionPartAccountHandler(ReactiveEntityManager entityManager) {
+    public ChangeTransactionPartAccountHandler(
+            ReactiveEntityManager entityManager,
+            AccountBalanceMaintainer accountBalanceMaintainer,
+            TransactionDailyMaintainer transactionDailyMaintainer) {
         this.entityManager = entityManager;
+        this.accountBalanceMaintainer = accountBalanceMaintainer;
+        this.transactionDailyMaintainer = transactionDailyMaintainer;
     }
 
     @Override
@@ -26,6 +38,15 @@ public class ChangeTransactionPartAccountHandler implements CommandHandler<Chang
     public void handle(ChangeTransactionPartAccount command) {
         log.info("[{}] - Processing transaction account change", command.id());
 
+        var bookedPart = entityManager.<TripleProjection<Long, BigDecimal, LocalDate>>blocking()
+                .hql("""
+                        select new com.jongsoft.finance.jpa.projections.TripleProjection(
+                            t.account.id, t.amount, t.journal.date)
+                        from TransactionJpa t
+                        where t.id = :id and t.deleted is null""")
+                .set("id", command.id())
+                .maybe();
+
         var hql = """
                 update TransactionJpa 
                 set account.id = :accountId
@@ -36,6 +57,13 @@ public class ChangeTransactionPartAccountHandler implements CommandHandler<Chang
                 .set("id", command.id())
                 .set("accountId", command.accountId())
                 .execute();
+
+        if (bookedPart.isPresent() && bookedPart.get().getFirst() != command.accountId()) {
+            var part = bookedPart.get();
+            accountBalanceMaintainer.withdraw(part.getFirst(), part.getSecond());
+            accountBalanceMaintainer.book(command.accountId(), part.getSecond(), part.getThird());
+            transactionDailyMaintainer.refreshPart(command.id());
+        }
     }
 
 }
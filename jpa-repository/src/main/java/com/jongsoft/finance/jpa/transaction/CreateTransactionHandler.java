@@ -3,6 +3,7 @@ package com.jongsoft.finance.jpa.transaction;
 import com.jongsoft.finance.annotation.BusinessEventListener;
 import com.jongsoft.finance.core.TransactionType;
 import com.jongsoft.finance.domain.transaction.Transaction;
+import com.jongsoft.finance.jpa.account.AccountBalanceMaintainer;
 import com.jongsoft.finance.jpa.account.AccountJpa;
 import com.jongsoft.finance.jpa.budget.ExpenseJpa;
 import com.jongsoft.finance.jpa.category.CategoryJpa;
@@ -14,6 +15,7 @@ import com.jongsoft.finance.jpa.tag.TagJpa;
 import com.jongsoft.finance.jpa.user.entity.UserAccountJpa;
 import com.jongsoft.finance.messaging.CommandHandler;
 import com.jongsoft.finance.messaging.commands.transaction.CreateTransactionCommand;
+import com.jongsoft.finance.messaging.commands.transaction.CreateTransactionsCommand;
 import com.jongsoft.finance.messaging.handlers.TransactionCreationHandler;
 import com.jongsoft.finance.security.AuthenticationFacade;
 import com.jongsoft.lang.Collections;
@@ -25,7 +27,13 @@ import jakarta.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
 
 @Slf4j
 @Singleton
@@ -34,11 +42,19 @@ public class CreateTransactionHandler implements CommandHandler<CreateTransactio
 
     private final ReactiveEntityManager entityManager;
     private final AuthenticationFacade authenticationFacade;
+    private final AccountBalanceMaintainer accountBalanceMaintainer;
+    private final TransactionDailyMaintainer transactionDailyMaintainer;
 
     @Inject
-    public CreateTransactionHandler(ReactiveEntityManager entityManager, AuthenticationFacade authenticationFacade) {
+    public CreateTransactionHandler(
+            ReactiveEntityManager entityManager,
+            AuthenticationFacade authenticationFacade,
+            AccountBalanceMaintainer accountBalanceMaintainer,
+            TransactionDailyMaintainer transactionDailyMaintainer) {
         this.entityManager = entityManager;
         this.authenticationFacade = authenticationFacade;
+        this.accountBalanceMaintainer = accountBalanceMaintainer;
+        this.transactionDailyMaintainer = transactionDailyMaintainer;
     }
 
     @Override
@@ -47,57 +63,109 @@ public class CreateTransactionHandler implements CommandHandler<CreateTransactio
         handleCreatedEvent(command);
     }
 
+    @BusinessEventListener
+    public void handleBulk(CreateTransactionsCommand command) {
+        handleCreatedEvent(command);
+    }
+
     @Override
     public long handleCreatedEvent(CreateTransactionCommand command) {
         log.info("[{}] - Processing transaction create event", command.transaction().getDescription());
 
+        return create(Collections.List(command.transaction())).head();
+    }
+
+    @Override
+    public Sequence<Long> handleCreatedEvent(CreateTransactionsCommand command) {
+        log.info("Processing create event for {} transactions", command.transactions().size());
+
+        return create(command.transactions());
+    }
+
+    /**
+     * Create all transactions in the current database transaction. The related entities are looked up once for all
+     * transactions, the accounts are referenced by their id without loading them and the persistence context is only
+     * flushed once all transactions are persisted. The account balances are updated once per account afterwards, and
+     * the daily rollup once for all days of the batch.
+     */
+    private Sequence<Long> create(Sequence<Transaction> transactions) {
+        var references = new References();
+        var bookings = new LinkedHashMap<Long, Booking>();
+        var journals = new ArrayList<TransactionJournal>(transactions.size());
+        var dates = new HashSet<LocalDate>();
+
+        for (Transaction transaction : transactions) {
+            var jpaEntity = createJournal(transaction, references);
+            journals.add(jpaEntity);
+            dates.add(jpaEntity.getDate());
+
+            for (TransactionJpa transfer : jpaEntity.getTransactions()) {
+                bookings.computeIfAbsent(transfer.getAccount().getId(), Booking::new)
+                        .add(transfer.getAmount(), jpaEntity.getDate());
+            }
+        }
+
+        entityManager.flush();
+        bookings.values().forEach(booking -> accountBalanceMaintainer.book(
+                booking.accountId,
+                booking.amount,
+                booking.firstDate,
+                booking.lastDate));
+        if (!journals.isEmpty()) {
+            transactionDailyMaintainer.refresh(references.user().getId(), dates);
+        }
+
+        return Collections.List(journals).map(TransactionJournal::getId);
+    }
+
+    private TransactionJournal createJournal(Transaction transaction, References references) {
         var jpaEntity = TransactionJournal.builder()
-                .date(command.transaction().getDate())
-                .bookDate(command.transaction().getBookDate())
-                .interestDate(command.transaction().getInterestDate())
-                .description(command.transaction().getDescription())
-                .currency(entityManager.get(CurrencyJpa.class, Collections.Map("code", command.transaction().getCurrency())))
-                .user(entityManager.get(UserAccountJpa.class, Collections.Map("username", authenticationFacade.authenticated())))
-                .type(TransactionType.valueOf(command.transaction().computeType().name()))
-                .failureCode(command.transaction().getFailureCode())
+                .date(transaction.getDate())
+                .bookDate(transaction.getBookDate())
+                .interestDate(transaction.getInterestDate())
+                .description(transaction.getDescription())
+                .currency(references.currency(transaction.getCurrency()))
+                .user(references.user())
+                .type(TransactionType.valueOf(transaction.computeType().name()))
+                .failureCode(transaction.getFailureCode())
                 .transactions(new HashSet<>())
                 .category(
-                        Control.Option(command.transaction().getCategory())
-                                .map(this::category)
+                        Control.Option(transaction.getCategory())
+                                .map(references::category)
                                 .getOrSupply(() -> null))
                 .budget(
-                        Control.Option(command.transaction().getBudget())
-                                .map(this::expense)
+                        Control.Option(transaction.getBudget())
+                                .map(references::expense)
                                 .getOrSupply(() -> null))
                 .contract(
-                        Control.Option(command.transaction().getContract())
-                                .map(this::contract)
+                        Control.Option(transaction.getContract())
+                                .map(references::contract)
                                 .getOrSupply(() -> null))
                 .tags(
-                        Control.Option(command.transaction().getTags())
+                        Control.Option(transaction.getTags())
                                 .map(Sequence::distinct)
-                                .map(set -> set.map(this::tag).toJava())
+                                .map(set -> set.map(references::tag).toJava())
                                 .getOrSupply(() -> null))
-                .batchImport(Control.Option(command.transaction().getImportSlug())
-                        .map(this::job)
+                .batchImport(Control.Option(transaction.getImportSlug())
+                        .map(references::job)
                         .getOrSupply(() -> null))
                 .build();
 
-        entityManager.persist(jpaEntity);
+        entityManager.persistWithoutFlush(jpaEntity);
 
-        for (Transaction.Part transfer : command.transaction().getTransactions()) {
+        for (Transaction.Part transfer : transaction.getTransactions()) {
             // todo change to native BigDecimal later on
             var transferJpa = TransactionJpa.builder()
                     .amount(BigDecimal.valueOf(transfer.getAmount()))
-                    .account(entityManager.get(AccountJpa.class, Collections.Map("id", transfer.getAccount().getId())))
+                    .account(references.account(transfer.getAccount().getId()))
                     .journal(jpaEntity)
                     .build();
 
             jpaEntity.getTransactions().add(transferJpa);
-            entityManager.persist(transferJpa);
+            entityManager.persistWithoutFlush(transferJpa);
         }
 
-        return jpaEntity.getId();
+        return jpaEntity;
     }
 
     private CategoryJpa category(String label) {
@@ -164,4 +232,87 @@ public class CreateTransactionHandler implements CommandHandler<CreateTransactio
                 .getOrSupply(() -> null);
     }
 
+    /**
+     * The entities referenced by the transactions created in one batch, every entity is only looked up once.
+     */
+    private class References {
+        private final Map<String, CurrencyJpa> currencies = new HashMap<>();
+        private final Map<String, CategoryJpa> categories = new HashMap<>();
+        private final Map<String, ExpenseJpa> expenses = new HashMap<>();
+        private final Map<String, ContractJpa> contracts = new HashMap<>();
+        private final Map<String, ImportJpa> jobs = new HashMap<>();
+        private final Map<String, TagJpa> tags = new HashMap<>();
+        private final Map<Long, AccountJpa> accounts = new HashMap<>();
+        private UserAccountJpa user;
+
+        CurrencyJpa currency(String code) {
+            return lookup(currencies, code, c -> entityManager.get(CurrencyJpa.class, Collections.Map("code", c)));
+        }
+
+        UserAccountJpa user() {
+            if (user == null) {
+                user = entityManager.get(
+                        UserAccountJpa.class,
+                        Collections.Map("username", authenticationFacade.authenticated()));
+            }
+            return user;
+        }
+
+        CategoryJpa category(String label) {
+            return lookup(categories, label, CreateTransactionHandler.this::category);
+        }
+
+        ExpenseJpa expense(String name) {
+            return lookup(expenses, name, CreateTransactionHandler.this::expense);
+        }
+
+        ContractJpa contract(String name) {
+            return lookup(contracts, name, CreateTransactionHandler.this::contract);
+        }
+
+        ImportJpa job(String slug) {
+            return lookup(jobs, slug, CreateTransactionHandler.this::job);
+        }
+
+        TagJpa tag(String name) {
+            return lookup(tags, name, CreateTransactionHandler.this::tag);
+        }
+
+        AccountJpa account(long id) {
+            return accounts.computeIfAbsent(id, key -> entityManager.getReference(AccountJpa.class, key));
+        }
+
+        // unlike computeIfAbsent this also remembers that an entity does not exist
+        private <T> T lookup(Map<String, T> cache, String key, Function<String, T> loader) {
+            if (!cache.containsKey(key)) {
+                cache.put(key, loader.apply(key));
+            }
+            return cache.get(key);
+        }
+    }
+
+    /**
+     * The combined change to the balance of one account for all transactions in the batch.
+     */
+    private static class Booking {
+        private final long accountId;
+        private BigDecimal amount = BigDecimal.ZERO;
+        private LocalDate firstDate;
+        private LocalDate lastDate;
+
+        Booking(long accountId) {
+            this.accountId = accountId;
+        }
+
+        void add(BigDecimal partAmount, LocalDate date) {
+            amount = amount.add(partAmount);
+            if (firstDate == null || firstDate.isAfter(date)) {
+                firstDate = date;
+            }
+            if (lastDate == null || lastDate.isBefore(date)) {
+                lastDate = date;
+            }
+        }
+    }
+
 }
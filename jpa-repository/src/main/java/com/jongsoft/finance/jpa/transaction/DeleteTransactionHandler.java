@@ -1,14 +1,18 @@
 package com.jongsoft.finance.jpa.transaction;
 
 import com.jongsoft.finance.annotation.BusinessEventListener;
+import com.jongsoft.finance.jpa.account.AccountBalanceMaintainer;
+import com.jongsoft.finance.jpa.projections.PairProjection;
 import com.jongsoft.finance.jpa.reactive.ReactiveEntityManager;
 import com.jongsoft.finance.messaging.CommandHandler;
 import com.jongsoft.finance.messaging.commands.transaction.DeleteTransactionCommand;
+import com.jongsoft.lang.collection.Sequence;
 import io.micronaut.transaction.annotation.Transactional;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
 
+import java.math.BigDecimal;
 import java.util.Date;
 
 @Slf4j
@@ -17,10 +21,17 @@ import java.util.Date;
 public class DeleteTransactionHandler implements CommandHandler<DeleteTransactionCommand> {
 
     private final ReactiveEntityManager entityManager;
+    private final AccountBalanceMaintainer accountBalanceMaintainer;
+    private final TransactionDailyMaintainer transactionDailyMaintainer;
 
     @Inject
-    public DeleteTransactionHandler(ReactiveEntityManager entityManager) {
+    public DeleteTransactionHandler(
+            ReactiveEntityManager entityManager,
+            AccountBalanceMaintainer accountBalanceMaintainer,
+            TransactionDailyMaintainer transactionDailyMaintainer) {
         this.entityManager = entityManager;
+        this.accountBalanceMaintainer = accountBalanceMaintainer;
+        this.transactionDailyMaintainer = transactionDailyMaintainer;
     }
 
     @Override
@@ -28,6 +39,8 @@ public class DeleteTransactionHandler implements CommandHandler<DeleteTransactio
     public void handle(DeleteTransactionCommand command) {
         log.info("[{}] - Processing transaction delete event", command.id());
 
+        var bookedParts = bookedParts(command.id());
+
         entityManager.update()
                 .hql("update TransactionJournal set deleted = :now where id = :id")
                 .set("id", command.id())
@@ -44,6 +57,21 @@ public class DeleteTransactionHandler implements CommandHandler<DeleteTransactio
                 .set("id", command.id())
                 .set("now", new Date())
                 .execute();
+
+        bookedParts.forEach(part -> accountBalanceMaintainer.withdraw(part.getKey(), part.getValue()));
+        transactionDailyMaintainer.refreshJournal(command.id());
+    }
+
+    private Sequence<PairProjection<Long, BigDecimal>> bookedParts(long journalId) {
+        var hql = """
+                select new com.jongsoft.finance.jpa.projections.PairProjection(t.account.id, t.amount)
+                from TransactionJpa t
+                where t.journal.id = :id and t.deleted is null""";
+
+        return entityManager.<PairProjection<Long, BigDecimal>>blocking()
+                .hql(hql)
+                .set("id", journalId)
+                .sequence();
     }
 
 }
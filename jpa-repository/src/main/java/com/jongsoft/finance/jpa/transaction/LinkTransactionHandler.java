@@ -23,11 +23,16 @@ public class LinkTransactionHandler implements CommandHandler<LinkTransactionCom
 
     private final ReactiveEntityManager entityManager;
     private final AuthenticationFacade authenticationFacade;
+    private final TransactionDailyMaintainer transactionDailyMaintainer;
 
     @Inject
-    public LinkTransactionHandler(ReactiveEntityManager entityManager, AuthenticationFacade authenticationFacade) {
+    public LinkTransactionHandler(
+            ReactiveEntityManager entityManager,
+            AuthenticationFacade authenticationFacade,
+            TransactionDailyMaintainer transactionDailyMaintainer) {
         this.entityManager = entityManager;
         this.authenticationFacade = authenticationFacade;
+        this.transactionDailyMaintainer = transactionDailyMaintainer;
     }
 
     @Override
@@ -51,6 +56,12 @@ public class LinkTransactionHandler implements CommandHandler<LinkTransactionCom
                 .set("id", command.id())
                 .set("relation", fetchRelation(command.type(), command.relation()))
                 .execute();
+
+        // only the category and budget are part of the daily rollup
+        if (command.type() == LinkTransactionCommand.LinkType.CATEGORY
+                || command.type() == LinkTransactionCommand.LinkType.EXPENSE) {
+            transactionDailyMaintainer.refreshJournal(command.id());
+        }
     }
 
     private EntityJpa fetchRelation(LinkTransactionCommand.LinkType type, String relation) {
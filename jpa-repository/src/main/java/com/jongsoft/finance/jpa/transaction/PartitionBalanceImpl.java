@@ -0,0 +1,49 @@
+package com.jongsoft.finance.jpa.transaction;
+
+import com.jongsoft.finance.providers.TransactionProvider;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+public class PartitionBalanceImpl implements TransactionProvider.PartitionBalance {
+    private final long partition;
+    private final BigDecimal balance;
+
+    public PartitionBalanceImpl(Long partition, BigDecimal balance) {
+        this.partition = partition;
+        this.balance = balance;
+    }
+
+    @Override
+    public long partition() {
+        return partition;
+    }
+
+    @Override
+    public double balance() {
+        return balance.doubleValue();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof TransactionProvider.PartitionBalance other) {
+            return partition == other.partition() &&
+                    balance.compareTo(BigDecimal.valueOf(other.balance())) == 0;
+        }
+
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(partition, balance);
+    }
+
+    @Override
+    public String toString() {
+        return "PartitionBalanceImpl{" +
+                "partition=" + partition +
+                ", balance=" + balance +
+                '}';
+    }
+}
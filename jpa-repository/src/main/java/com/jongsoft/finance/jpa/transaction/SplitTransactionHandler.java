@@ -2,6 +2,7 @@ package com.jongsoft.finance.jpa.transaction;
 
 import com.jongsoft.finance.annotation.BusinessEventListener;
 import com.jongsoft.finance.domain.transaction.Transaction;
+import com.jongsoft.finance.jpa.account.AccountBalanceMaintainer;
 import com.jongsoft.finance.jpa.account.AccountJpa;
 import com.jongsoft.finance.jpa.reactive.ReactiveEntityManager;
 import com.jongsoft.finance.messaging.CommandHandler;
@@ -22,10 +23,17 @@ import java.util.Objects;
 public class SplitTransactionHandler implements CommandHandler<SplitTransactionCommand> {
 
     private final ReactiveEntityManager entityManager;
+    private final AccountBalanceMaintainer accountBalanceMaintainer;
+    private final TransactionDailyMaintainer transactionDailyMaintainer;
 
     @Inject
-    public SplitTransactionHandler(ReactiveEntityManager entityManager) {
+    public SplitTransactionHandler(
+            ReactiveEntityManager entityManager,
+            AccountBalanceMaintainer accountBalanceMaintainer,
+            TransactionDailyMaintainer transactionDailyMaintainer) {
         this.entityManager = entityManager;
+        this.accountBalanceMaintainer = accountBalanceMaintainer;
+        this.transactionDailyMaintainer = transactionDailyMaintainer;
     }
 
     @Override
@@ -42,9 +50,9 @@ public class SplitTransactionHandler implements CommandHandler<SplitTransactionC
                 .reject(Objects::isNull);
 
         // Mark all old parts as deleted
-        var deletedIds = Collections.List(transaction.getTransactions())
-                .reject(t -> survivors.contains(t.getId()))
-                .map(TransactionJpa::getId);
+        var deletedParts = Collections.List(transaction.getTransactions())
+                .reject(t -> survivors.contains(t.getId()));
+        var deletedIds = deletedParts.map(TransactionJpa::getId);
         var deleteHql = """
                 update TransactionJpa 
                 set deleted = :now
@@ -55,6 +63,7 @@ public class SplitTransactionHandler implements CommandHandler<SplitTransactionC
                 .set("ids", deletedIds.toJava())
                 .set("now", new Date())
                 .execute();
+        deletedParts.forEach(part -> accountBalanceMaintainer.withdraw(part.getAccount().getId(), part.getAmount()));
 
         // Add new parts
         command.split()
@@ -69,20 +78,35 @@ public class SplitTransactionHandler implements CommandHandler<SplitTransactionC
                 .forEach(entityPart -> {
                     transaction.getTransactions().add(entityPart);
                     entityManager.persist(entityPart);
+                    accountBalanceMaintainer.book(
+                            entityPart.getAccount().getId(),
+                            entityPart.getAmount(),
+                            transaction.getDate());
                 });
 
         // Update existing parts
         command.split()
                 .filter(part -> Objects.nonNull(part.getId()))
-                .forEach(part -> entityManager.update()
-                        .hql("""
-                                update TransactionJpa
-                                set amount = :amount
-                                where id = :id""")
-                        .set("id", part.getId())
-                        // todo change later on to BigDecimal native
-                        .set("amount", BigDecimal.valueOf(part.getAmount()))
-                        .execute());
+                .forEach(part -> {
+                    // todo change later on to BigDecimal native
+                    var amount = BigDecimal.valueOf(part.getAmount());
+                    entityManager.update()
+                            .hql("""
+                                    update TransactionJpa
+                                    set amount = :amount
+                                    where id = :id""")
+                            .set("id", part.getId())
+                            .set("amount", amount)
+                            .execute();
+
+                    Collections.List(transaction.getTransactions())
+                            .first(existing -> part.getId().equals(existing.getId()))
+                            .ifPresent(existing -> accountBalanceMaintainer.adjust(
+                                    existing.getAccount().getId(),
+                                    amount.subtract(existing.getAmount())));
+                });
+
+        transactionDailyMaintainer.refreshJournal(command.id());
     }
 
 }
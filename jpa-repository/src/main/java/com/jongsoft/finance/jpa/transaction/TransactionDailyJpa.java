@@ -0,0 +1,55 @@
+package com.jongsoft.finance.jpa.transaction;
+
+import com.jongsoft.finance.jpa.core.entity.EntityJpa;
+import lombok.Getter;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * The total of all transaction parts of a user on one day, grouped by account, category, budget and currency. Income
+ * and expenses are kept apart, so that the totals can be used for charts restricted to either of them.
+ * <p>
+ * The rows are maintained by the transaction handlers through the {@link TransactionDailyMaintainer} and are used by
+ * the {@link TransactionProviderJpa} to compute the daily and monthly summaries.
+ */
+@Getter
+@Entity
+@Table(name = "transaction_daily")
+public class TransactionDailyJpa extends EntityJpa {
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+    @Column(name = "category_id")
+    private Long categoryId;
+    @Column(name = "budget_id")
+    private Long budgetId;
+    @Column(name = "currency_id")
+    private Long currencyId;
+
+    @Column(name = "t_date", nullable = false, columnDefinition = "DATE")
+    private LocalDate date;
+    @Column(name = "t_year", nullable = false)
+    private int year;
+    @Column(name = "t_month", nullable = false)
+    private int month;
+
+    /**
+     * Indicates the parts are booked on an own account against a debtor, creditor or liability account.
+     */
+    @Column(name = "own_account", nullable = false)
+    private boolean ownAccount;
+
+    private BigDecimal income;
+    private BigDecimal expense;
+
+    public TransactionDailyJpa() {
+        super();
+    }
+
+}
@@ -0,0 +1,149 @@
+package com.jongsoft.finance.jpa.transaction;
+
+import com.jongsoft.finance.core.SystemAccountTypes;
+import com.jongsoft.finance.jpa.projections.PairProjection;
+import com.jongsoft.finance.jpa.reactive.ReactiveEntityManager;
+import com.jongsoft.lang.Collections;
+import com.jongsoft.lang.control.Optional;
+import io.micronaut.transaction.annotation.Transactional;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the {@link TransactionDailyJpa} rollup in line with the transactions of a user. Whenever the transactions of
+ * a day change, the rollup rows of that day are computed again from the transactions. A day only holds a handful of
+ * transactions, so this is cheap compared to aggregating all transactions for every chart.
+ * <p>
+ * The methods must be called after the change to the transactions has been written, within the same transaction.
+ */
+@Slf4j
+@Singleton
+@Transactional
+public class TransactionDailyMaintainer {
+
+    private static final String OWN_ACCOUNT_HQL = """
+            (t.account.type.label not in (:systemAccountTypes)
+                and exists (select 1 from TransactionJpa j
+                            where j.journal = a
+                            and j.deleted is null
+                            and j.account.type.label in (:systemAccountTypes)))""";
+
+    private static final String ROLLUP_HQL = """
+            insert into TransactionDailyJpa (userId, accountId, categoryId, budgetId, currencyId, date, year, month,
+                                             ownAccount, income, expense)
+            select a.user.id, t.account.id, a.category.id, a.budget.id, a.currency.id, a.date, year(a.date),
+                   month(a.date), %s,
+                   sum(case when t.amount > 0 then t.amount else 0 end),
+                   sum(case when t.amount < 0 then t.amount else 0 end)
+            from TransactionJournal a join a.transactions t
+            where a.user.id = :userId
+                and a.date in (:dates)
+                and a.deleted is null
+                and t.deleted is null
+                and %s
+            group by a.user.id, t.account.id, a.category.id, a.budget.id, a.currency.id, a.date""";
+
+    private final ReactiveEntityManager entityManager;
+
+    @Inject
+    public TransactionDailyMaintainer(ReactiveEntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Recompute the rollup for the day of the transaction.
+     */
+    public void refreshJournal(long journalId) {
+        journal(journalId).ifPresent(journal -> refresh(journal.getKey(), List.of(journal.getValue())));
+    }
+
+    /**
+     * Recompute the rollup for the day of the transaction, together with the day it was moved from.
+     */
+    public void refreshJournal(long journalId, LocalDate previousDate) {
+        journal(journalId).ifPresent(journal -> refresh(
+                journal.getKey(),
+                Set.copyOf(List.of(journal.getValue(), previousDate))));
+    }
+
+    /**
+     * Recompute the rollup for the day of the transaction the part belongs to.
+     */
+    public void refreshPart(long partId) {
+        entityManager.<Long>blocking()
+                .hql("select t.journal.id from TransactionJpa t where t.id = :id")
+                .set("id", partId)
+                .maybe()
+                .ifPresent(this::refreshJournal);
+    }
+
+    /**
+     * Recompute the rollup for all the days with transactions on the account. Whether a transaction is between own
+     * accounts depends on the type of the accounts involved, so this is needed whenever the type of the account changes.
+     */
+    public void refreshAccount(long accountId) {
+        var days = entityManager.<PairProjection<Long, LocalDate>>blocking()
+                .hql("""
+                        select distinct new com.jongsoft.finance.jpa.projections.PairProjection(a.user.id, a.date)
+                        from TransactionJournal a join a.transactions t
+                        where t.account.id = :accountId
+                            and a.deleted is null
+                            and t.deleted is null""")
+                .set("accountId", accountId)
+                .sequence();
+
+        days.toJava().stream()
+                .collect(Collectors.groupingBy(
+                        PairProjection::getKey,
+                        Collectors.mapping(PairProjection::getValue, Collectors.toSet())))
+                .forEach(this::refresh);
+    }
+
+    /**
+     * Recompute the rollup of the user for all the given days.
+     */
+    public void refresh(long userId, Collection<LocalDate> dates) {
+        if (dates.isEmpty()) {
+            return;
+        }
+
+        log.trace("[{}] - Refreshing the daily rollup for {} days", userId, dates.size());
+        var days = List.copyOf(dates);
+
+        entityManager.update()
+                .hql("delete from TransactionDailyJpa where userId = :userId and date in (:dates)")
+                .set("userId", userId)
+                .set("dates", days)
+                .execute();
+
+        var systemAccountTypes = Collections.List(SystemAccountTypes.values())
+                .map(SystemAccountTypes::label)
+                .toJava();
+        for (var ownAccount : List.of(true, false)) {
+            entityManager.update()
+                    .hql(ROLLUP_HQL.formatted(ownAccount, ownAccount ? OWN_ACCOUNT_HQL : "not " + OWN_ACCOUNT_HQL))
+                    .set("userId", userId)
+                    .set("dates", days)
+                    .set("systemAccountTypes", systemAccountTypes)
+                    .execute();
+        }
+    }
+
+    private Optional<PairProjection<Long, LocalDate>> journal(long journalId) {
+        return entityManager.<PairProjection<Long, LocalDate>>blocking()
+                .hql("""
+                        select new com.jongsoft.finance.jpa.projections.PairProjection(a.user.id, a.date)
+                        from TransactionJournal a
+                        where a.id = :id""")
+                .set("id", journalId)
+                .maybe();
+    }
+
+}
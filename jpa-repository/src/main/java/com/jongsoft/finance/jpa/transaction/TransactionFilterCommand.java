@@ -4,13 +4,17 @@ import com.jongsoft.finance.core.AggregateBase;
 import com.jongsoft.finance.core.SystemAccountTypes;
 import com.jongsoft.finance.domain.core.EntityRef;
 import com.jongsoft.finance.jpa.core.FilterCommandJpa;
+import com.jongsoft.finance.jpa.core.NormalizedText;
 import com.jongsoft.finance.providers.TransactionProvider;
 import com.jongsoft.lang.Collections;
 import com.jongsoft.lang.collection.Sequence;
 import com.jongsoft.lang.time.Range;
 
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.function.Function;
 
 public class TransactionFilterCommand extends FilterCommandJpa implements TransactionProvider.FilterCommand {
@@ -20,15 +24,25 @@ public class TransactionFilterCommand extends FilterCommandJpa implements Transa
 
     private int pageSize;
     private int page;
+    private boolean positioned;
+    private boolean countTotal;
+
+    // the same filters applied to the TransactionDailyJpa rollup, a null value means the rollup cannot be used
+    private final Map<String, String> rollupFilters;
+    private String rollupAmount;
 
     public TransactionFilterCommand() {
         this.pageSize = Integer.MAX_VALUE;
         this.page = 0;
+        this.countTotal = true;
+        this.rollupFilters = new TreeMap<>();
+        this.rollupAmount = "d.income + d.expense";
     }
 
     @Override
     public FilterCommandJpa user(String username) {
         hql("user", " AND a.user.username = :username");
+        rollup("user", " AND d.userId = (select u.id from UserAccountJpa u where u.username = :username)");
         parameter("username", username);
         return this;
     }
@@ -36,6 +50,7 @@ public class TransactionFilterCommand extends FilterCommandJpa implements Transa
     @Override
     public TransactionProvider.FilterCommand accounts(Sequence<EntityRef> value) {
         hql("accounts", "  AND t.account.id in (:accounts)");
+        rollup("accounts", " AND d.accountId in (:accounts)");
         parameter("accounts", ID_REDUCER.apply(value));
         return this;
     }
@@ -43,6 +58,7 @@ public class TransactionFilterCommand extends FilterCommandJpa implements Transa
     @Override
     public TransactionProvider.FilterCommand categories(Sequence<EntityRef> value) {
         hql("categories", " AND a.category.id in (:categories)");
+        rollup("categories", " AND d.categoryId in (:categories)");
         parameter("categories", ID_REDUCER.apply(value));
         return this;
     }
@@ -50,6 +66,7 @@ public class TransactionFilterCommand extends FilterCommandJpa implements Transa
     @Override
     public TransactionProvider.FilterCommand contracts(Sequence<EntityRef> value) {
         hql("contracts", " AND a.contract.id in (:contracts)");
+        rollup("contracts", null);
         parameter("contracts", ID_REDUCER.apply(value));
         return this;
     }
@@ -57,6 +74,7 @@ public class TransactionFilterCommand extends FilterCommandJpa implements Transa
     @Override
     public TransactionProvider.FilterCommand expenses(Sequence<EntityRef> value) {
         hql("expenses", " AND a.budget.id in (:expenses)");
+        rollup("expenses", " AND d.budgetId in (:expenses)");
         parameter("expenses", ID_REDUCER.apply(value));
         return this;
     }
@@ -68,16 +86,17 @@ public class TransactionFilterCommand extends FilterCommandJpa implements Transa
                       AND exists (select 1 from TransactionJpa j
                                   where j.journal = t.journal
                                   and j.deleted is null
-                                  and lower(j.account.name) = lower(:accountName))""");
-            parameter("accountName", value);
+                                  and j.account.nameNormalized = :accountName)""");
+            parameter("accountName", NormalizedText.of(value));
         } else {
             hql("name", """
                       AND exists (select 1 from TransactionJpa j
                                   where j.journal = t.journal
                                   and j.deleted is null
-                                  and lower(j.account.name) like lower(:accountName))""");
-            parameter("accountName", "%" + value + "%");
+                                  and j.account.nameNormalized like :accountName)""");
+            parameter("accountName", "%" + NormalizedText.of(value) + "%");
         }
+        rollup("name", null);
         return this;
     }
 
@@ -85,12 +104,14 @@ public class TransactionFilterCommand extends FilterCommandJpa implements Transa
     public TransactionProvider.FilterCommand description(String value, boolean exact) {
         hql("description", " AND (lower(a.description) like :description OR lower(t.description) like :description) ");
         parameter("description", "%" + value.toLowerCase() + "%");
+        rollup("description", null);
         return this;
     }
 
     @Override
     public TransactionProvider.FilterCommand range(Range<LocalDate> range) {
         hql("date", " AND a.date >= :startDate and a.date < :endDate");
+        rollup("date", " AND d.date >= :startDate and d.date < :endDate");
         parameter("startDate", range.from());
         parameter("endDate", range.until());
         return this;
@@ -100,12 +121,14 @@ public class TransactionFilterCommand extends FilterCommandJpa implements Transa
     public TransactionProvider.FilterCommand importSlug(String value) {
         hql("batch", " AND a.batchImport.slug = :batchSlug");
         parameter("batchSlug", value);
+        rollup("batch", null);
         return this;
     }
 
     @Override
     public TransactionProvider.FilterCommand currency(String currency) {
         hql("currency", " AND a.currency.code = :currency");
+        rollup("currency", " AND d.currencyId = (select c.id from CurrencyJpa c where c.code = :currency)");
         parameter("currency", currency);
         return this;
     }
@@ -114,8 +137,12 @@ public class TransactionFilterCommand extends FilterCommandJpa implements Transa
     public TransactionProvider.FilterCommand onlyIncome(boolean onlyIncome) {
         if (onlyIncome) {
             hql("income", " AND t.amount > 0");
+            rollup("income", " AND d.income > 0");
+            rollupAmount = "d.income";
         } else {
             hql("income", " AND t.amount < 0");
+            rollup("income", " AND d.expense < 0");
+            rollupAmount = "d.expense";
         }
 
         return this;
@@ -130,6 +157,7 @@ public class TransactionFilterCommand extends FilterCommandJpa implements Transa
                                 and j.deleted is null
                                 and j.account.type.label in (:systemAccountTypes)) """);
         parameter("systemAccountTypes", Collections.List(SystemAccountTypes.values()).map(SystemAccountTypes::label).toJava());
+        rollup("accounts", " AND d.ownAccount = true");
         return this;
     }
 
@@ -141,6 +169,7 @@ public class TransactionFilterCommand extends FilterCommandJpa implements Transa
                                 and j.deleted is null
                                 and j.account.type.label in (:systemAccountTypes)) """);
         parameter("systemAccountTypes", Collections.List(SystemAccountTypes.values()).map(SystemAccountTypes::label).toJava());
+        rollup("accounts", null);
         return this;
     }
 
@@ -156,9 +185,51 @@ public class TransactionFilterCommand extends FilterCommandJpa implements Transa
         return this;
     }
 
+    @Override
+    public TransactionProvider.FilterCommand after(LocalDate date, long id) {
+        hql("seek", " AND (a.date < :seekDate OR (a.date = :seekDate AND a.id < :seekId))");
+        parameter("seekDate", date);
+        parameter("seekId", id);
+        rollup("seek", null);
+        positioned = true;
+        return this;
+    }
+
+    @Override
+    public TransactionProvider.FilterCommand countTotal(boolean value) {
+        countTotal = value;
+        return this;
+    }
+
+    /**
+     * Prepare the filter for partitioning on the given key, by dropping any filter on that entity type. Transactions
+     * without a budget or category are excluded, as they do not belong to any partition.
+     *
+     * @param partitionKey the partition key
+     * @return the property the query should be grouped on
+     */
+    public String partition(TransactionProvider.PartitionKey partitionKey) {
+        return switch (partitionKey) {
+            case ACCOUNT -> {
+                remove("accounts", "accounts", "systemAccountTypes");
+                yield "t.account.id";
+            }
+            case BUDGET -> {
+                remove("expenses", "expenses");
+                hql("expenses", " AND a.budget.id is not null");
+                yield "a.budget.id";
+            }
+            case CATEGORY -> {
+                remove("categories", "categories");
+                hql("categories", " AND a.category.id is not null");
+                yield "a.category.id";
+            }
+        };
+    }
+
     @Override
     public Sort sort() {
-        return new Sort("a.date",false);
+        return new Sort("a.date", false, "a.id");
     }
 
     public int page() {
@@ -169,6 +240,56 @@ public class TransactionFilterCommand extends FilterCommandJpa implements Transa
         return pageSize;
     }
 
+    /**
+     * Indicates if a keyset position was set using {@link #after(LocalDate, long)}.
+     */
+    public boolean hasPosition() {
+        return positioned;
+    }
+
+    public boolean countTotal() {
+        return countTotal;
+    }
+
+    /**
+     * Indicates if all filters can be applied to the {@link TransactionDailyJpa} rollup instead of the transactions.
+     */
+    public boolean supportsRollup() {
+        return !rollupFilters.containsValue(null);
+    }
+
+    /**
+     * Generate the from and where clause for the {@link TransactionDailyJpa} rollup, using the alias {@code d}.
+     */
+    public String generateRollupHql() {
+        var hqlBuilder = new StringBuilder(" from TransactionDailyJpa d where 1 = 1");
+        rollupFilters.values().forEach(hqlFilter -> hqlBuilder
+                .append(System.lineSeparator())
+                .append(hqlFilter));
+
+        return hqlBuilder.toString();
+    }
+
+    /**
+     * The expression to sum in the {@link TransactionDailyJpa} rollup, which depends on the income filter.
+     */
+    public String rollupAmount() {
+        return rollupAmount;
+    }
+
+    /**
+     * The parameters for the {@link #generateRollupHql()}, the account types are only used by the transaction query.
+     */
+    public Map<String, ?> getRollupParameters() {
+        var parameters = new HashMap<String, Object>(getParameters());
+        parameters.remove("systemAccountTypes");
+        return parameters;
+    }
+
+    private void rollup(String key, String hql) {
+        rollupFilters.put(key, hql);
+    }
+
     @Override
     protected String fromHql() {
         return " from TransactionJournal a join a.transactions t where a.deleted is null and t.deleted is null";
@@ -8,6 +8,7 @@ import com.jongsoft.finance.domain.user.UserAccount;
 import com.jongsoft.finance.jpa.budget.ExpenseJpa;
 import com.jongsoft.finance.jpa.category.CategoryJpa;
 import com.jongsoft.finance.jpa.contract.ContractJpa;
+import com.jongsoft.finance.jpa.core.ProviderTimer;
 import com.jongsoft.finance.jpa.importer.entity.ImportJpa;
 import com.jongsoft.finance.jpa.reactive.ReactiveEntityManager;
 import com.jongsoft.finance.jpa.tag.TagJpa;
@@ -30,6 +31,7 @@ import java.util.Objects;
 @Slf4j
 @ReadOnly
 @Singleton
+@ProviderTimer
 @Named("transactionProvider")
 public class TransactionProviderJpa implements TransactionProvider {
 
@@ -77,6 +79,20 @@ public class TransactionProviderJpa implements TransactionProvider {
             var offset = delegate.page() * delegate.pageSize();
             delegate.user(authenticationFacade.authenticated());
 
+            if (delegate.hasPosition() || !delegate.countTotal()) {
+                var pipe = entityManager.<TransactionJournal>blocking()
+                        .hql(delegate.generateHql())
+                        .setAll(delegate.getParameters())
+                        .limit(delegate.pageSize())
+                        .sort(delegate.sort());
+                if (!delegate.hasPosition()) {
+                    pipe.offset(offset);
+                }
+
+                return pipe.seek(delegate.countTotal())
+                        .map(this::convert);
+            }
+
             return entityManager.<TransactionJournal>blocking()
                     .hql(delegate.generateHql())
                     .setAll(delegate.getParameters())
@@ -97,6 +113,25 @@ public class TransactionProviderJpa implements TransactionProvider {
         if (filter instanceof TransactionFilterCommand delegate) {
             delegate.user(authenticationFacade.authenticated());
 
+            if (delegate.supportsRollup()) {
+                var hql = """
+                        select new %s(
+                           d.date,
+                           sum(%s))
+                           %s
+                           group by d.date
+                           order by d.date asc""".formatted(
+                        DailySummaryImpl.class.getName(),
+                        delegate.rollupAmount(),
+                        delegate.generateRollupHql());
+
+                return entityManager.<DailySummary>blocking()
+                        .hql(hql)
+                        .setAll(delegate.getRollupParameters())
+                        .sequence();
+            }
+
+            // only filters the rollup cannot answer are aggregated over the transactions
             var hql = """
                     select new %s(
                        a.date,
@@ -121,6 +156,25 @@ public class TransactionProviderJpa implements TransactionProvider {
         if (filter instanceof TransactionFilterCommand delegate) {
             delegate.user(authenticationFacade.authenticated());
 
+            if (delegate.supportsRollup()) {
+                var hql = """
+                        select new %s(
+                           d.year, d.month, 1,
+                           sum(%s))
+                           %s
+                           group by d.year, d.month
+                           order by d.year asc, d.month asc""".formatted(
+                        DailySummaryImpl.class.getName(),
+                        delegate.rollupAmount(),
+                        delegate.generateRollupHql());
+
+                return entityManager.<DailySummary>blocking()
+                        .hql(hql)
+                        .setAll(delegate.getRollupParameters())
+                        .sequence();
+            }
+
+            // only filters the rollup cannot answer are aggregated over the transactions
             var hql = """
                     select new %s(
                        year(a.date), month(a.date), 1,
@@ -154,6 +208,34 @@ public class TransactionProviderJpa implements TransactionProvider {
         throw new IllegalStateException("Cannot use non JPA filter on TransactionProviderJpa");
     }
 
+    @Override
+    public Sequence<PartitionBalance> balancePartitioned(FilterCommand filter, PartitionKey partitionKey) {
+        log.trace("Transaction balance partitioned by {} with filter: {}", partitionKey, filter);
+
+        if (filter instanceof TransactionFilterCommand delegate) {
+            delegate.user(authenticationFacade.authenticated());
+            var partition = delegate.partition(partitionKey);
+
+            var hql = """
+                    select new %s(
+                       %s,
+                       sum(t.amount))
+                       %s
+                       group by %s""".formatted(
+                    PartitionBalanceImpl.class.getName(),
+                    partition,
+                    delegate.generateHql(),
+                    partition);
+
+            return entityManager.<PartitionBalance>blocking()
+                    .hql(hql)
+                    .setAll(delegate.getParameters())
+                    .sequence();
+        }
+
+        throw new IllegalStateException("Cannot use non JPA filter on TransactionProviderJpa");
+    }
+
     @Override
     public Sequence<Transaction> similar(EntityRef from, EntityRef to, double amount, LocalDate date) {
         var hql = """
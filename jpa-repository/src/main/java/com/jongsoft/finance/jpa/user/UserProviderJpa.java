@@ -3,6 +3,7 @@ package com.jongsoft.finance.jpa.user;
 import com.jongsoft.finance.domain.user.Role;
 import com.jongsoft.finance.domain.user.SessionToken;
 import com.jongsoft.finance.domain.user.UserAccount;
+import com.jongsoft.finance.jpa.core.ProviderTimer;
 import com.jongsoft.finance.jpa.reactive.ReactiveEntityManager;
 import com.jongsoft.finance.jpa.user.entity.AccountTokenJpa;
 import com.jongsoft.finance.jpa.user.entity.UserAccountJpa;
@@ -21,6 +22,7 @@ import java.time.LocalDateTime;
 import java.util.Currency;
 
 @Singleton
+@ProviderTimer
 @ReadOnly
 @Named("userProvider")
 public class UserProviderJpa implements UserProvider {
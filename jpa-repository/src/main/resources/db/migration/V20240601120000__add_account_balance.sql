@@ -0,0 +1,20 @@
+-- keep the balance and the transaction date range of every account in a summary table
+
+create table account_balance
+(
+    account_id        bigint         not null,
+
+    balance           decimal(22, 2) not null default 0,
+    first_transaction date,
+    last_transaction  date,
+
+    constraint pk_account_balance primary key (account_id),
+    constraint fk_account_balance_account foreign key (account_id) references account (id)
+);
+
+insert into account_balance (account_id, balance, first_transaction, last_transaction)
+select a.id, coalesce(sum(t.amount), 0), min(tj.t_date), max(tj.t_date)
+from account a
+         left join transaction_part t on t.account_id = a.id and t.deleted is null
+         left join transaction_journal tj on tj.id = t.journal_id
+group by a.id;
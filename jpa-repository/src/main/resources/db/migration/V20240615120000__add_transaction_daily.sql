@@ -0,0 +1,54 @@
+-- keep the daily totals of the transactions per account, category, budget and currency in a rollup table
+
+create table transaction_daily
+(
+    id          bigint         not null auto_increment,
+
+    user_id     bigint         not null,
+    account_id  bigint         not null,
+    category_id bigint,
+    budget_id   bigint,
+    currency_id bigint,
+
+    t_date      date           not null,
+    t_year      int            not null,
+    t_month     int            not null,
+    own_account bit            not null,
+
+    income      decimal(22, 2) not null default 0,
+    expense     decimal(22, 2) not null default 0,
+
+    constraint pk_transaction_daily primary key (id),
+    constraint fk_transaction_daily_user foreign key (user_id) references user_account (id),
+    constraint fk_transaction_daily_account foreign key (account_id) references account (id)
+);
+
+create index idx_transaction_daily_lookup on transaction_daily (user_id, t_date);
+create index idx_transaction_daily_month on transaction_daily (user_id, t_year, t_month);
+
+-- own_account marks the parts booked on an own account against a debtor, creditor or liability account
+insert into transaction_daily (user_id, account_id, category_id, budget_id, currency_id, t_date, t_year, t_month,
+                               own_account, income, expense)
+select p.user_id, p.account_id, p.category_id, p.budget_id, p.currency_id, p.t_date, year(p.t_date), month(p.t_date),
+       p.own_account,
+       sum(case when p.amount > 0 then p.amount else 0 end),
+       sum(case when p.amount < 0 then p.amount else 0 end)
+from (select tj.user_id, t.account_id, tj.category_id, tj.budget_id, tj.currency_id, tj.t_date, t.amount,
+             case
+                 when ty.label not in ('reconcile', 'loan', 'debt', 'mortgage', 'debtor', 'creditor')
+                     and exists (select 1
+                                 from transaction_part j
+                                          join account ja on ja.id = j.account_id
+                                          join account_type jty on jty.id = ja.type_id
+                                 where j.journal_id = tj.id
+                                   and j.deleted is null
+                                   and jty.label in ('reconcile', 'loan', 'debt', 'mortgage', 'debtor', 'creditor'))
+                     then true
+                 else false end as own_account
+      from transaction_journal tj
+               join transaction_part t on t.journal_id = tj.id
+               join account a on a.id = t.account_id
+               join account_type ty on ty.id = a.type_id
+      where tj.deleted is null
+        and t.deleted is null) p
+group by p.user_id, p.account_id, p.category_id, p.budget_id, p.currency_id, p.t_date, p.own_account;
@@ -0,0 +1,20 @@
+-- lower-cased and trimmed copies of the searchable columns, so that lookups can use an index instead of lower(...)
+
+alter table account add column name_normalized varchar(255);
+alter table account add column iban_normalized varchar(100);
+alter table account add column number_normalized varchar(100);
+alter table category add column label_normalized varchar(255);
+alter table tags add column name_normalized varchar(255);
+
+update account
+set name_normalized   = lower(trim(name)),
+    iban_normalized   = lower(trim(iban)),
+    number_normalized = lower(trim(number));
+update category set label_normalized = lower(trim(label));
+update tags set name_normalized = lower(trim(name));
+
+create index idx_account_name_normalized on account (user_id, name_normalized);
+create index idx_account_iban_normalized on account (user_id, iban_normalized);
+create index idx_account_number_normalized on account (user_id, number_normalized);
+create index idx_category_label_normalized on category (user_id, label_normalized);
+create index idx_tags_name_normalized on tags (user_id, name_normalized);
@@ -135,4 +135,48 @@ set budget_id = 6
 where exists (select 1
               from transaction_part
               where transaction_journal.id = transaction_part.journal_id
-                and transaction_part.account_id in (112));
\ No newline at end of file
+                and transaction_part.account_id in (112));
+
+-- the sample transactions are inserted directly, so compute the account balances afterwards
+delete from account_balance;
+insert into account_balance (account_id, balance, first_transaction, last_transaction)
+select a.id, coalesce(sum(t.amount), 0), min(tj.t_date), max(tj.t_date)
+from account a
+         left join transaction_part t on t.account_id = a.id and t.deleted is null
+         left join transaction_journal tj on tj.id = t.journal_id
+group by a.id;
+
+-- and the daily rollup of the transactions
+delete from transaction_daily;
+insert into transaction_daily (user_id, account_id, category_id, budget_id, currency_id, t_date, t_year, t_month,
+                               own_account, income, expense)
+select p.user_id, p.account_id, p.category_id, p.budget_id, p.currency_id, p.t_date, year(p.t_date), month(p.t_date),
+       p.own_account,
+       sum(case when p.amount > 0 then p.amount else 0 end),
+       sum(case when p.amount < 0 then p.amount else 0 end)
+from (select tj.user_id, t.account_id, tj.category_id, tj.budget_id, tj.currency_id, tj.t_date, t.amount,
+             case
+                 when ty.label not in ('reconcile', 'loan', 'debt', 'mortgage', 'debtor', 'creditor')
+                     and exists (select 1
+                                 from transaction_part j
+                                          join account ja on ja.id = j.account_id
+                                          join account_type jty on jty.id = ja.type_id
+                                 where j.journal_id = tj.id
+                                   and j.deleted is null
+                                   and jty.label in ('reconcile', 'loan', 'debt', 'mortgage', 'debtor', 'creditor'))
+                     then true
+                 else false end as own_account
+      from transaction_journal tj
+               join transaction_part t on t.journal_id = tj.id
+               join account a on a.id = t.account_id
+               join account_type ty on ty.id = a.type_id
+      where tj.deleted is null
+        and t.deleted is null) p
+group by p.user_id, p.account_id, p.category_id, p.budget_id, p.currency_id, p.t_date, p.own_account;
+
+update account
+set name_normalized   = lower(trim(name)),
+    iban_normalized   = lower(trim(iban)),
+    number_normalized = lower(trim(number));
+update category set label_normalized = lower(trim(label));
+update tags set name_normalized = lower(trim(name));
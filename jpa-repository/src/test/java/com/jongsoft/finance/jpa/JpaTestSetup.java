@@ -1,6 +1,7 @@
 package com.jongsoft.finance.jpa;
 
 import com.jongsoft.finance.core.Encoder;
+import com.jongsoft.finance.jpa.core.CachingProvider;
 import io.micronaut.core.io.IOUtils;
 import io.micronaut.test.annotation.MockBean;
 import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
@@ -14,6 +15,7 @@ import org.slf4j.LoggerFactory;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.util.Collection;
 
 @MicronautTest(
         environments = "application"
@@ -25,6 +27,9 @@ public abstract class JpaTestSetup {
     @Inject
     private EntityManager entityManager;
 
+    @Inject
+    private Collection<CachingProvider> cachingProviders;
+
     public JpaTestSetup() {
         this.log = LoggerFactory.getLogger(getClass());
     }
@@ -43,6 +48,9 @@ public abstract class JpaTestSetup {
 
                 entityManager.createNativeQuery(sql).executeUpdate();
             }
+
+            // the datasets bypass the command handlers that keep the caches up to date
+            cachingProviders.forEach(CachingProvider::invalidate);
         } catch (IOException e) {
             throw new IllegalStateException(e);
         }
@@ -13,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
 import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
 
 class AccountEventListenerIT extends JpaTestSetup {
 
@@ -49,6 +50,17 @@ class AccountEventListenerIT extends JpaTestSetup {
         Assertions.assertThat(check.getName()).isEqualTo("New account");
         Assertions.assertThat(check.getType().getLabel()).isEqualTo("default");
         Assertions.assertThat(check.getCurrency().getCode()).isEqualTo("USD");
+        Assertions.assertThat(check.getBalance()).isZero();
+    }
+
+    @Test
+    void handleRebuildBalances() {
+        eventPublisher.publishEvent(new RebuildAccountBalancesCommand(false));
+
+        var check = entityManager.find(AccountBalanceJpa.class, 1L);
+        Assertions.assertThat(check.getBalance()).isEqualByComparingTo(BigDecimal.ZERO);
+        Assertions.assertThat(check.getFirstTransaction()).isNull();
+        Assertions.assertThat(entityManager.find(AccountJpa.class, 3L).getBalance()).isZero();
     }
 
     @Test
@@ -63,6 +75,7 @@ class AccountEventListenerIT extends JpaTestSetup {
 
         var check = entityManager.find(AccountJpa.class, 1L);
         Assertions.assertThat(check.getName()).isEqualTo("Updated name");
+        Assertions.assertThat(check.getNameNormalized()).isEqualTo("updated name");
         Assertions.assertThat(check.getDescription()).isEqualTo("With description");
         Assertions.assertThat(check.getCurrency().getCode()).isEqualTo("USD");
         Assertions.assertThat(check.getType().getLabel()).isEqualTo("default");
@@ -79,6 +92,7 @@ class AccountEventListenerIT extends JpaTestSetup {
 
         var check = entityManager.find(AccountJpa.class, 1L);
         Assertions.assertThat(check.getIban()).isEqualTo("NLUPDATED-IBAN");
+        Assertions.assertThat(check.getIbanNormalized()).isEqualTo("nlupdated-iban");
         Assertions.assertThat(check.getBic()).isEqualTo("BIC");
         Assertions.assertThat(check.getNumber()).isEqualTo("NUMBER");
     }
@@ -59,6 +59,15 @@ class AccountProviderJpaIT extends JpaTestSetup {
         Assertions.assertThat(accountProvider.synonymOf("Account Junk").isPresent()).isFalse();
     }
 
+    @Test
+    void synonyms() {
+        Assertions.assertThat(accountProvider.synonyms())
+                .hasSize(2)
+                .allSatisfy(synonym -> Assertions.assertThat(synonym.accountId()).isEqualTo(1L))
+                .extracting(AccountProvider.AccountSynonym::synonym)
+                .containsExactlyInAnyOrder("Account sample", "Account trial");
+    }
+
     @Test
     void lookup() {
         var all = accountProvider.lookup();
@@ -101,6 +110,18 @@ class AccountProviderJpaIT extends JpaTestSetup {
         Assertions.assertThat(check.content().head().getIban()).isEqualTo("NLJND200001928233");
     }
 
+    @Test
+    void lookup_namePrefix() {
+        var filter = filterFactory.account()
+                .namePrefix(" ACCOUNT o");
+
+        var check = accountProvider.lookup(filter);
+
+        Assertions.assertThat(check.total()).isEqualTo(1);
+        Assertions.assertThat(check.content().head().getName()).isEqualTo("Account One");
+        Assertions.assertThat(accountProvider.lookup(filterFactory.account().namePrefix("one")).total()).isZero();
+    }
+
     @Test
     void lookup_iban() {
         var filter = filterFactory.account()
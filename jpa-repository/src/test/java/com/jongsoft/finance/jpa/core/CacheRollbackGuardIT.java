@@ -0,0 +1,55 @@
+package com.jongsoft.finance.jpa.core;
+
+import com.jongsoft.finance.jpa.JpaTestSetup;
+import com.jongsoft.finance.security.AuthenticationFacade;
+import io.micronaut.test.annotation.MockBean;
+import io.micronaut.transaction.TransactionDefinition;
+import io.micronaut.transaction.TransactionOperations;
+import jakarta.inject.Inject;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class CacheRollbackGuardIT extends JpaTestSetup {
+
+    @Inject
+    private CacheRollbackGuard rollbackGuard;
+
+    @Inject
+    private TransactionOperations<Session> transactionOperations;
+
+    @Test
+    void invalidateOnRollback_rolledBack() {
+        var provider = Mockito.mock(CachingProvider.class);
+
+        transactionOperations.execute(
+                TransactionDefinition.of(TransactionDefinition.Propagation.REQUIRES_NEW),
+                status -> {
+                    rollbackGuard.invalidateOnRollback(provider);
+                    status.setRollbackOnly();
+                    return null;
+                });
+
+        Mockito.verify(provider).invalidate();
+    }
+
+    @Test
+    void invalidateOnRollback_committed() {
+        var provider = Mockito.mock(CachingProvider.class);
+
+        transactionOperations.execute(
+                TransactionDefinition.of(TransactionDefinition.Propagation.REQUIRES_NEW),
+                status -> {
+                    rollbackGuard.invalidateOnRollback(provider);
+                    return null;
+                });
+
+        Mockito.verify(provider, Mockito.never()).invalidate();
+    }
+
+    @MockBean
+    AuthenticationFacade authenticationFacade() {
+        return Mockito.mock(AuthenticationFacade.class);
+    }
+
+}
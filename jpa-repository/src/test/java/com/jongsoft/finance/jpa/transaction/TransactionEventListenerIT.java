@@ -5,7 +5,10 @@ import com.jongsoft.finance.domain.account.Account;
 import com.jongsoft.finance.domain.transaction.Transaction;
 import com.jongsoft.finance.domain.user.UserAccount;
 import com.jongsoft.finance.jpa.JpaTestSetup;
+import com.jongsoft.finance.jpa.account.AccountBalanceJpa;
+import com.jongsoft.finance.messaging.commands.account.RenameAccountCommand;
 import com.jongsoft.finance.messaging.commands.transaction.*;
+import com.jongsoft.finance.messaging.handlers.TransactionCreationHandler;
 import com.jongsoft.finance.security.AuthenticationFacade;
 import com.jongsoft.lang.Collections;
 import io.micronaut.context.event.ApplicationEventPublisher;
@@ -19,6 +22,7 @@ import org.mockito.Mockito;
 import jakarta.persistence.EntityManager;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Objects;
 
 class TransactionEventListenerIT extends JpaTestSetup {
@@ -32,6 +36,9 @@ class TransactionEventListenerIT extends JpaTestSetup {
     @Inject
     private EntityManager entityManager;
 
+    @Inject
+    private TransactionCreationHandler transactionCreationHandler;
+
     @BeforeEach
     void setup() {
         Mockito.doReturn("demo-user").when(authenticationFacade).authenticated();
@@ -69,6 +76,39 @@ class TransactionEventListenerIT extends JpaTestSetup {
                                         .build()
                         ))
                         .build()));
+
+        var balance = entityManager.find(AccountBalanceJpa.class, 1L);
+        Assertions.assertThat(balance.getBalance()).isEqualByComparingTo(BigDecimal.valueOf(45.7));
+        Assertions.assertThat(balance.getFirstTransaction()).isEqualTo(LocalDate.of(2019, 1, 1));
+        Assertions.assertThat(balance.getLastTransaction()).isEqualTo(LocalDate.of(2020, 1, 1));
+
+        var rollup = dailyRollup(LocalDate.of(2020, 1, 1));
+        Assertions.assertThat(rollup).hasSize(2);
+        Assertions.assertThat(rollup.get(0).getAccountId()).isEqualTo(1L);
+        Assertions.assertThat(rollup.get(0).isOwnAccount()).isTrue();
+        Assertions.assertThat(rollup.get(0).getIncome()).isEqualByComparingTo(BigDecimal.valueOf(25.5));
+        Assertions.assertThat(rollup.get(1).getAccountId()).isEqualTo(2L);
+        Assertions.assertThat(rollup.get(1).isOwnAccount()).isFalse();
+        Assertions.assertThat(rollup.get(1).getExpense()).isEqualByComparingTo(BigDecimal.valueOf(-25.5));
+    }
+
+    @Test
+    void handleBulkCreatedEvent() {
+        var ids = transactionCreationHandler.handleCreatedEvent(new CreateTransactionsCommand(Collections.List(
+                        transaction("First bulk transaction", LocalDate.of(2018, 6, 1), 10),
+                        transaction("Second bulk transaction", LocalDate.of(2020, 2, 1), 5))))
+                .toJava();
+
+        Assertions.assertThat(ids.size()).isEqualTo(2);
+        Assertions.assertThat(entityManager.find(TransactionJournal.class, ids.get(0)).getDescription())
+                .isEqualTo("First bulk transaction");
+        Assertions.assertThat(entityManager.find(TransactionJournal.class, ids.get(1)).getDescription())
+                .isEqualTo("Second bulk transaction");
+
+        var balance = entityManager.find(AccountBalanceJpa.class, 1L);
+        Assertions.assertThat(balance.getBalance()).isEqualByComparingTo(BigDecimal.valueOf(35.2));
+        Assertions.assertThat(balance.getFirstTransaction()).isEqualTo(LocalDate.of(2018, 6, 1));
+        Assertions.assertThat(balance.getLastTransaction()).isEqualTo(LocalDate.of(2020, 2, 1));
     }
 
     @Test
@@ -94,6 +134,11 @@ class TransactionEventListenerIT extends JpaTestSetup {
 
         var part2 = entityManager.find(TransactionJpa.class, 2L);
         Assertions.assertThat(part2.getAmount()).isEqualByComparingTo(BigDecimal.valueOf(-40.55));
+
+        Assertions.assertThat(entityManager.find(AccountBalanceJpa.class, 1L).getBalance())
+                .isEqualByComparingTo(BigDecimal.valueOf(40.55));
+        Assertions.assertThat(entityManager.find(AccountBalanceJpa.class, 2L).getBalance())
+                .isEqualByComparingTo(BigDecimal.valueOf(-40.55));
     }
 
     @Test
@@ -181,10 +226,75 @@ class TransactionEventListenerIT extends JpaTestSetup {
 
         Assertions.assertThat(part1.getDeleted()).isNotNull();
         Assertions.assertThat(part2.getDeleted()).isNotNull();
+
+        var balance = entityManager.find(AccountBalanceJpa.class, 1L);
+        Assertions.assertThat(balance.getBalance()).isEqualByComparingTo(BigDecimal.ZERO);
+        Assertions.assertThat(balance.getFirstTransaction()).isNull();
+        Assertions.assertThat(balance.getLastTransaction()).isNull();
+
+        Assertions.assertThat(dailyRollup(LocalDate.of(2019, 1, 1))).isEmpty();
+    }
+
+    @Test
+    void handleAccountChangeEvent() {
+        eventPublisher.publishEvent(new ChangeTransactionPartAccount(1L, 3L));
+
+        var previous = entityManager.find(AccountBalanceJpa.class, 1L);
+        Assertions.assertThat(previous.getBalance()).isEqualByComparingTo(BigDecimal.ZERO);
+        Assertions.assertThat(previous.getLastTransaction()).isNull();
+
+        var current = entityManager.find(AccountBalanceJpa.class, 3L);
+        Assertions.assertThat(current.getBalance()).isEqualByComparingTo(BigDecimal.valueOf(40.4));
+        Assertions.assertThat(current.getFirstTransaction()).isEqualTo(LocalDate.of(2019, 1, 1));
+        Assertions.assertThat(current.getLastTransaction()).isEqualTo(LocalDate.of(2019, 1, 2));
+    }
+
+    @Test
+    void handleAccountTypeChangeEvent() {
+        eventPublisher.publishEvent(new RenameAccountCommand(
+                2L,
+                "default",
+                "Account Two",
+                "Demo Account 2",
+                "EUR"));
+
+        var rollup = dailyRollup(LocalDate.of(2019, 1, 1));
+        Assertions.assertThat(rollup).hasSize(2);
+        Assertions.assertThat(rollup.get(0).getAccountId()).isEqualTo(1L);
+        Assertions.assertThat(rollup.get(0).isOwnAccount()).isFalse();
+        Assertions.assertThat(rollup.get(0).getIncome()).isEqualByComparingTo(BigDecimal.valueOf(20.2));
+        Assertions.assertThat(rollup.get(1).getAccountId()).isEqualTo(2L);
+        Assertions.assertThat(rollup.get(1).isOwnAccount()).isFalse();
     }
 
     @MockBean
     AuthenticationFacade authenticationFacade() {
         return Mockito.mock(AuthenticationFacade.class);
     }
+
+    private Transaction transaction(String description, LocalDate date, double amount) {
+        return Transaction.builder()
+                .date(date)
+                .currency("EUR")
+                .description(description)
+                .transactions(Collections.List(
+                        Transaction.Part.builder()
+                                .amount(amount)
+                                .account(Account.builder().id(1L).type("default").build())
+                                .build(),
+                        Transaction.Part.builder()
+                                .amount(-amount)
+                                .account(Account.builder().id(2L).type("default").build())
+                                .build()))
+                .build();
+    }
+
+    private List<TransactionDailyJpa> dailyRollup(LocalDate date) {
+        return entityManager.createQuery(
+                        "from TransactionDailyJpa where date = :date order by accountId",
+                        TransactionDailyJpa.class)
+                .setParameter("date", date)
+                .getResultList();
+    }
+
 }
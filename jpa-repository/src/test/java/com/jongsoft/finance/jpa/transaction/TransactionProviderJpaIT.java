@@ -4,9 +4,11 @@ import com.jongsoft.finance.domain.core.EntityRef;
 import com.jongsoft.finance.factory.FilterFactory;
 import com.jongsoft.finance.jpa.FilterFactoryJpa;
 import com.jongsoft.finance.jpa.JpaTestSetup;
+import com.jongsoft.finance.jpa.reactive.QueryStatistics;
 import com.jongsoft.finance.providers.TransactionProvider;
 import com.jongsoft.finance.security.AuthenticationFacade;
 import com.jongsoft.lang.Collections;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.micronaut.test.annotation.MockBean;
 import jakarta.inject.Inject;
 import org.assertj.core.api.Assertions;
@@ -25,6 +27,9 @@ class TransactionProviderJpaIT extends JpaTestSetup {
     @Inject
     private TransactionProvider transactionProvider;
 
+    @Inject
+    private MeterRegistry meterRegistry;
+
     private FilterFactory filterFactory = new FilterFactoryJpa();
 
     @BeforeEach
@@ -65,6 +70,63 @@ class TransactionProviderJpaIT extends JpaTestSetup {
         Assertions.assertThat(check.content()).hasSize(2);
     }
 
+    @Test
+    void lookup_metrics() {
+        var statistics = QueryStatistics.start();
+        transactionProvider.lookup(filterFactory.transaction().currency("EUR"));
+        statistics.stop();
+
+        // the count and the select query of the page
+        Assertions.assertThat(statistics.queries()).isEqualTo(2);
+        Assertions.assertThat(statistics.statements()).isGreaterThanOrEqualTo(2);
+        Assertions.assertThat(meterRegistry.find("fintrack.provider")
+                        .tag("provider", "TransactionProviderJpa")
+                        .tag("method", "lookup")
+                        .timer())
+                .isNotNull();
+    }
+
+    @Test
+    void lookup_queryPlanCache() {
+        var filter = new TransactionFilterCommand();
+        filter.description("sample", false);
+        filter.currency("EUR");
+
+        var reordered = new TransactionFilterCommand();
+        reordered.currency("EUR");
+        reordered.description("sample", false);
+
+        Assertions.assertThat(reordered.generateHql()).isEqualTo(filter.generateHql());
+
+        transactionProvider.lookup(filter);
+        var hits = meterRegistry.get("fintrack.hibernate.query.plan").tag("result", "hit").functionCounter().count();
+        transactionProvider.lookup(reordered);
+
+        Assertions.assertThat(meterRegistry.get("fintrack.hibernate.query.plan")
+                        .tag("result", "hit")
+                        .functionCounter()
+                        .count())
+                .isGreaterThan(hits);
+    }
+
+    @Test
+    void lookup_keyset() {
+        var firstPage = transactionProvider.lookup(filterFactory.transaction()
+                .pageSize(1)
+                .countTotal(false));
+        Assertions.assertThat(firstPage.content()).hasSize(1);
+        Assertions.assertThat(firstPage.content().head().getId()).isEqualTo(2L);
+        Assertions.assertThat(firstPage.hasNext()).isTrue();
+
+        var secondPage = transactionProvider.lookup(filterFactory.transaction()
+                .pageSize(1)
+                .after(LocalDate.of(2019, 1, 2), 2L));
+        Assertions.assertThat(secondPage.content()).hasSize(1);
+        Assertions.assertThat(secondPage.content().head().getId()).isEqualTo(1L);
+        Assertions.assertThat(secondPage.total()).isEqualTo(1L);
+        Assertions.assertThat(secondPage.hasNext()).isFalse();
+    }
+
     @Test
     void daily() {
         var check = transactionProvider.daily(filterFactory.transaction().ownAccounts());
@@ -74,6 +136,25 @@ class TransactionProviderJpaIT extends JpaTestSetup {
                 new DailySummaryImpl(LocalDate.of(2019, 1, 2), BigDecimal.valueOf(20.2D)));
     }
 
+    @Test
+    void daily_income() {
+        var check = transactionProvider.daily(filterFactory.transaction()
+                .accounts(Collections.List(new EntityRef(2L), new EntityRef(4L)))
+                .onlyIncome(false));
+        Assertions.assertThat(check).containsOnly(
+                new DailySummaryImpl(LocalDate.of(2019, 1, 1), BigDecimal.valueOf(-20.2D)),
+                new DailySummaryImpl(LocalDate.of(2019, 1, 2), BigDecimal.valueOf(-20.2D)));
+    }
+
+    @Test
+    void daily_fallback() {
+        var check = transactionProvider.daily(filterFactory.transaction()
+                .ownAccounts()
+                .description("split", false));
+        Assertions.assertThat(check).containsOnly(
+                new DailySummaryImpl(LocalDate.of(2019, 1, 2), BigDecimal.valueOf(20.2D)));
+    }
+
     @Test
     void monthly() {
         var check = transactionProvider.monthly(filterFactory.transaction().ownAccounts());
@@ -90,6 +171,55 @@ class TransactionProviderJpaIT extends JpaTestSetup {
         Assertions.assertThat(check.get()).isEqualByComparingTo(BigDecimal.valueOf(40.4));
     }
 
+    @Test
+    void balancePartitioned() {
+        var check = transactionProvider.balancePartitioned(
+                filterFactory.transaction().ownAccounts(),
+                TransactionProvider.PartitionKey.ACCOUNT);
+
+        Assertions.assertThat(check).hasSize(4);
+        Assertions.assertThat(check).containsOnly(
+                new PartitionBalanceImpl(1L, BigDecimal.valueOf(20.2D)),
+                new PartitionBalanceImpl(2L, BigDecimal.valueOf(-20.2D)),
+                new PartitionBalanceImpl(3L, BigDecimal.valueOf(20.2D)),
+                new PartitionBalanceImpl(4L, BigDecimal.valueOf(-20.2D)));
+    }
+
+    @Test
+    void balancePartitioned_budget() {
+        loadDataset("sql/transaction/transaction-provider-partition.sql");
+
+        // the split transaction has no budget and is not part of any partition
+        var check = transactionProvider.balancePartitioned(
+                filterFactory.transaction().ownAccounts(),
+                TransactionProvider.PartitionKey.BUDGET);
+
+        Assertions.assertThat(check).containsExactly(
+                new PartitionBalanceImpl(1L, BigDecimal.valueOf(20.2D)));
+    }
+
+    @Test
+    void balancePartitioned_category() {
+        loadDataset("sql/transaction/transaction-provider-partition.sql");
+
+        // the split transaction has no category and is not part of any partition
+        var check = transactionProvider.balancePartitioned(
+                filterFactory.transaction().ownAccounts(),
+                TransactionProvider.PartitionKey.CATEGORY);
+
+        Assertions.assertThat(check).containsExactly(
+                new PartitionBalanceImpl(1L, BigDecimal.valueOf(20.2D)));
+    }
+
+    @Test
+    void balancePartitioned_withoutLinks() {
+        var check = transactionProvider.balancePartitioned(
+                filterFactory.transaction().ownAccounts(),
+                TransactionProvider.PartitionKey.CATEGORY);
+
+        Assertions.assertThat(check).isEmpty();
+    }
+
     @Test
     void similar() {
         var check = transactionProvider.similar(new EntityRef(1L), new EntityRef(2L), 20.2, LocalDate.of(2019, 1, 1));
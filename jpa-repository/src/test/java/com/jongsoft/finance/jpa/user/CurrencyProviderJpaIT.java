@@ -4,11 +4,13 @@ import com.jongsoft.finance.jpa.JpaTestSetup;
 import com.jongsoft.finance.messaging.commands.currency.ChangeCurrencyPropertyCommand;
 import com.jongsoft.finance.messaging.commands.currency.CreateCurrencyCommand;
 import com.jongsoft.finance.messaging.commands.currency.CurrencyCommandType;
+import com.jongsoft.finance.messaging.commands.currency.RenameCurrencyCommand;
 import com.jongsoft.finance.providers.CurrencyProvider;
 import com.jongsoft.finance.security.AuthenticationFacade;
 import io.micronaut.context.event.ApplicationEventPublisher;
 import io.micronaut.test.annotation.MockBean;
 import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -22,6 +24,9 @@ public class CurrencyProviderJpaIT extends JpaTestSetup {
     @Inject
     private ApplicationEventPublisher eventPublisher;
 
+    @Inject
+    private EntityManager entityManager;
+
     @BeforeEach
     void init() {
         loadDataset(
@@ -88,6 +93,34 @@ public class CurrencyProviderJpaIT extends JpaTestSetup {
                 .satisfies(currency -> Assertions.assertThat(currency.isEnabled()).isFalse());
     }
 
+    @Test
+    void handleRename() {
+        var euro = currencyProvider.lookup("EUR").get();
+
+        eventPublisher.publishEvent(new RenameCurrencyCommand(
+                euro.getId(),
+                "Euro dollar",
+                'D',
+                "EUD"));
+
+        Assertions.assertThat(currencyProvider.lookup("EUR")).isEmpty();
+        var check = currencyProvider.lookup("EUD").get();
+        Assertions.assertThat(check.getId()).isEqualTo(euro.getId());
+        Assertions.assertThat(check.getName()).isEqualTo("Euro dollar");
+        Assertions.assertThat(check.getSymbol()).isEqualTo('D');
+        Assertions.assertThat(check.getDecimalPlaces()).isEqualTo(euro.getDecimalPlaces());
+    }
+
+    @Test
+    void lookup_cached() {
+        Assertions.assertThat(currencyProvider.lookup("EUR").isPresent()).isTrue();
+
+        entityManager.createNativeQuery("update currency set name = 'Changed' where code = 'EUR'")
+                .executeUpdate();
+
+        Assertions.assertThat(currencyProvider.lookup("EUR").get().getName()).isEqualTo("Euro");
+    }
+
     @MockBean
     AuthenticationFacade authenticationFacade() {
         return Mockito.mock(AuthenticationFacade.class);
@@ -7,6 +7,7 @@ import com.jongsoft.finance.security.AuthenticationFacade;
 import io.micronaut.context.event.ApplicationEventPublisher;
 import io.micronaut.test.annotation.MockBean;
 import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,6 +21,9 @@ class SettingProviderJpaIT extends JpaTestSetup {
     @Inject
     private ApplicationEventPublisher eventPublisher;
 
+    @Inject
+    private EntityManager entityManager;
+
     @BeforeEach
     void setup() {
         loadDataset(
@@ -56,6 +60,16 @@ class SettingProviderJpaIT extends JpaTestSetup {
         Assertions.assertThat(check.get().getValue()).isEqualTo("false");
     }
 
+    @Test
+    void lookup_cached() {
+        Assertions.assertThat(settingProvider.getPageSize()).isEqualTo(20);
+
+        entityManager.createNativeQuery("update setting set `value` = '50' where name = 'RecordSetPageSize'")
+                .executeUpdate();
+
+        Assertions.assertThat(settingProvider.getPageSize()).isEqualTo(20);
+    }
+
     @MockBean
     AuthenticationFacade authenticationFacade() {
         return Mockito.mock(AuthenticationFacade.class);
@@ -5,3 +5,8 @@ values (1, 1, 'Account One', 'Demo Account', 1, false, 1, 'NLJND200001928233', '
 
 insert into account_synonym(account_id, synonym)
 values (2, 'Test account');
+
+update account
+set name_normalized   = lower(trim(name)),
+    iban_normalized   = lower(trim(iban)),
+    number_normalized = lower(trim(number));
@@ -9,7 +9,16 @@ insert into transaction_part (ID, created, updated, JOURNAL_ID, ACCOUNT_ID, AMOU
 values (1, '2019-01-01', '2019-01-01', 1, 1, 20.2),
        (2, '2019-01-01', '2019-01-01', 1, 2, -20.2);
 
+insert into account_balance (account_id, balance, first_transaction, last_transaction)
+values (1, 20.2, '2019-01-01', '2019-01-01'),
+       (2, -20.2, '2019-01-01', '2019-01-01');
+
 insert into account_synonym (id, synonym, account_id)
 values (1, 'Account sample', 1),
        (2, 'Account trial', 1),
        (3, 'Account Junk', 2);
+
+update account
+set name_normalized   = lower(trim(name)),
+    iban_normalized   = lower(trim(iban)),
+    number_normalized = lower(trim(number));
@@ -5,3 +5,8 @@ values (1, 1, 'Account One', 'Demo Account', 1, false, 1, 'NLJND200001928233', '
 insert into contract(id, name, start_date, end_date, company_id, user_id)
 values (1, 'Test contract', '2019-02-01', '2020-02-01', 1, 1),
        (2, 'In between', '2019-02-01', '2020-02-01', 2, 2);
+
+update account
+set name_normalized   = lower(trim(name)),
+    iban_normalized   = lower(trim(iban)),
+    number_normalized = lower(trim(number));
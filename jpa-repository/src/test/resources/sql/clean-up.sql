@@ -3,8 +3,10 @@ SET FOREIGN_KEY_CHECKS=0;  -- turn off foreign key checks
 TRUNCATE TABLE user_account;
 TRUNCATE TABLE user_account_token;
 TRUNCATE TABLE account;
+TRUNCATE TABLE account_balance;
 TRUNCATE TABLE transaction_journal;
 TRUNCATE TABLE transaction_part;
+TRUNCATE TABLE transaction_daily;
 TRUNCATE TABLE account_synonym;
 TRUNCATE TABLE contract;
 TRUNCATE TABLE saving_goal;
@@ -2,3 +2,5 @@ insert into tags (id, name, user_id, archived)
  values (1, 'Sample', 1, 0),
         (2, 'Car', 1, 0),
         (4, 'Bike', 2, 0);
+
+update tags set name_normalized = lower(trim(name));
@@ -0,0 +1,7 @@
+insert into budget_expense (id, name, user_id)
+values (1, 'Groceries', 1);
+
+update transaction_journal
+set category_id = 1,
+    budget_id   = 1
+where id = 1;
@@ -16,6 +16,18 @@ values (1, '2019-01-01', '2019-01-01', null, 1, 1, 20.2),
        (5, '2019-01-05', '2019-01-05', null, 2, 4, -10.2),
        (6, '2019-01-05', '2019-01-05', null, 2, 4, -10.0);
 
+insert into account_balance (account_id, balance, first_transaction, last_transaction)
+values (1, 20.2, '2019-01-01', '2019-01-01'),
+       (2, -20.2, '2019-01-01', '2019-01-01'),
+       (3, 20.2, '2019-01-02', '2019-01-02'),
+       (4, -20.2, '2019-01-02', '2019-01-02');
+
+insert into transaction_daily (id, user_id, account_id, category_id, budget_id, currency_id, t_date, t_year, t_month, own_account, income, expense)
+values (1, 1, 1, null, null, 1, '2019-01-01', 2019, 1, true, 20.2, 0),
+       (2, 1, 2, null, null, 1, '2019-01-01', 2019, 1, false, 0, -20.2),
+       (3, 1, 3, null, null, 1, '2019-01-02', 2019, 1, true, 20.2, 0),
+       (4, 1, 4, null, null, 1, '2019-01-02', 2019, 1, false, 0, -20.2);
+
 insert into category (id, label, user_id, archived)
 values (1, 'Grocery', 1, false),
        (2, 'Test', 1, false);
@@ -29,3 +41,12 @@ insert into transaction_tag (tag_id, transaction_id)
 values (1, 1),
        (2, 1),
        (3, 2);
+
+update account
+set name_normalized   = lower(trim(name)),
+    iban_normalized   = lower(trim(iban)),
+    number_normalized = lower(trim(number));
+
+update category set label_normalized = lower(trim(label));
+
+update tags set name_normalized = lower(trim(name));
@@ -2,3 +2,5 @@ insert into category (id, label, description, archived, user_id)
 values (1, 'Grocery', 'All grocery shopping', 0, 1),
        (2, 'Health', 'Health related costs', 0, 1),
        (3, 'Grocery', 'All grocery shopping', 0, 2);
+
+update category set label_normalized = lower(trim(label));
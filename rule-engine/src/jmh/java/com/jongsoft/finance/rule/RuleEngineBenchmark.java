@@ -0,0 +1,119 @@
+package com.jongsoft.finance.rule;
+
+import com.jongsoft.finance.core.RuleColumn;
+import com.jongsoft.finance.core.RuleOperation;
+import com.jongsoft.finance.domain.transaction.TransactionRule;
+import com.jongsoft.finance.providers.TransactionRuleProvider;
+import com.jongsoft.finance.rule.impl.RuleEngineImpl;
+import com.jongsoft.finance.rule.locator.ChangeLocatorRegistry;
+import com.jongsoft.finance.rule.locator.NoopLocator;
+import com.jongsoft.finance.rule.plan.RulePlanCache;
+import com.jongsoft.finance.security.AuthenticationFacade;
+import com.jongsoft.lang.Collections;
+import com.jongsoft.lang.Control;
+import com.jongsoft.lang.collection.Sequence;
+import com.jongsoft.lang.control.Optional;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput and the allocation per transaction of running a full rule set against a single
+ * transaction. Run with {@code ./gradlew :rule-engine:jmh}, the gc profiler reports the allocation rate per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RuleEngineBenchmark {
+
+    private static final String[] SHOPS = {
+            "albert heijn", "jumbo", "lidl", "aldi", "plus", "coop", "spar", "dirk", "hoogvliet", "vomar"
+    };
+
+    @Param({"500"})
+    private int ruleCount;
+
+    private RuleEngine engine;
+    private List<RuleDataSet> transactions;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        var rules = new ArrayList<TransactionRule>();
+        for (int i = 0; i < ruleCount; i++) {
+            var rule = TransactionRule.builder()
+                    .id((long) i)
+                    .restrictive(i % 2 == 0)
+                    .build();
+
+            var shop = SHOPS[i % SHOPS.length];
+            rule.new Condition((long) i, RuleColumn.DESCRIPTION, RuleOperation.CONTAINS, shop + " " + i);
+            rule.new Condition((long) i, RuleColumn.TO_ACCOUNT, RuleOperation.STARTS_WITH, shop);
+            rule.new Condition((long) i, RuleColumn.AMOUNT, RuleOperation.MORE_THAN, String.valueOf(i % 100));
+            rule.new Change((long) i, RuleColumn.TAGS, "tag-" + i);
+            rules.add(rule);
+        }
+
+        var ruleSequence = Collections.List(rules);
+        var ruleProvider = new TransactionRuleProvider() {
+            @Override
+            public Sequence<TransactionRule> lookup() {
+                return ruleSequence;
+            }
+
+            @Override
+            public Sequence<TransactionRule> lookup(String group) {
+                return ruleSequence;
+            }
+
+            @Override
+            public Optional<TransactionRule> lookup(long id) {
+                return Control.Option();
+            }
+
+            @Override
+            public void save(TransactionRule rule) {
+            }
+        };
+
+        AuthenticationFacade authenticationFacade = () -> "benchmark-user";
+        engine = new RuleEngineImpl(
+                new RulePlanCache(ruleProvider, authenticationFacade),
+                new ChangeLocatorRegistry(List.of(new NoopLocator()), authenticationFacade));
+
+        transactions = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            var shop = SHOPS[i % SHOPS.length];
+            var transaction = new RuleDataSet();
+            transaction.put(RuleColumn.DESCRIPTION, "Payment to " + shop.toUpperCase() + " " + (i % ruleCount) + " by card");
+            transaction.put(RuleColumn.TO_ACCOUNT, shop + " store " + i);
+            transaction.put(RuleColumn.SOURCE_ACCOUNT, "My checking account");
+            transaction.put(RuleColumn.AMOUNT, (double) (i % 250));
+            transactions.add(transaction);
+        }
+    }
+
+    @Benchmark
+    public void runTransaction(Blackhole blackhole) {
+        var transaction = transactions.get(next++ % transactions.size());
+        blackhole.consume(engine.run(transaction));
+    }
+
+}
@@ -2,6 +2,9 @@ package com.jongsoft.finance.rule;
 
 import com.jongsoft.finance.domain.transaction.TransactionRule;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 /**
  * The rule engine is responsible for running all rules against the input data set and returning the output data set.
  */
@@ -24,4 +27,25 @@ public interface RuleEngine {
      */
     RuleDataSet run(RuleDataSet input, TransactionRule rule);
 
+    /**
+     * Runs all rules against each of the input data sets and returns the output data sets in the same order. All
+     * inputs are evaluated against the same snapshot of the rules and each change is only resolved once for the
+     * entire batch.
+     *
+     * @param inputs The input data sets.
+     * @return The output data sets, one for each input.
+     */
+    List<RuleDataSet> runAll(List<RuleDataSet> inputs);
+
+    /**
+     * Runs all rules against each of the input data sets and returns the output data sets in the same order.
+     *
+     * @param inputs The input data sets.
+     * @return The output data sets, one for each input.
+     * @see #runAll(List)
+     */
+    default List<RuleDataSet> runAll(Stream<RuleDataSet> inputs) {
+        return runAll(inputs.toList());
+    }
+
 }
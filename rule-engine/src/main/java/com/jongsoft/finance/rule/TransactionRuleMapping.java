@@ -0,0 +1,44 @@
+package com.jongsoft.finance.rule;
+
+import com.jongsoft.finance.core.RuleColumn;
+import com.jongsoft.finance.domain.account.Account;
+import com.jongsoft.finance.domain.transaction.Transaction;
+
+import java.util.Map;
+
+/**
+ * Translates between a {@link Transaction} and the data sets used by the {@link RuleEngine}.
+ */
+public interface TransactionRuleMapping {
+
+    /**
+     * Create the input data set for the rule engine from the transaction.
+     */
+    static RuleDataSet toInput(Transaction transaction) {
+        var inputSet = new RuleDataSet();
+        inputSet.put(RuleColumn.TO_ACCOUNT, transaction.computeTo().getName());
+        inputSet.put(RuleColumn.SOURCE_ACCOUNT, transaction.computeFrom().getName());
+        inputSet.put(RuleColumn.AMOUNT, transaction.computeAmount(transaction.computeTo()));
+        inputSet.put(RuleColumn.DESCRIPTION, transaction.getDescription());
+        return inputSet;
+    }
+
+    /**
+     * Apply all changes in the output data set of the rule engine to the transaction.
+     *
+     * @throws IllegalArgumentException if the output contains a column that cannot be applied to a transaction
+     */
+    static void applyOutput(Transaction transaction, RuleDataSet outputSet) {
+        for (Map.Entry<RuleColumn, ?> entry : outputSet.entrySet()) {
+            switch (entry.getKey()) {
+                case CATEGORY -> transaction.linkToCategory((String) entry.getValue());
+                case TO_ACCOUNT, CHANGE_TRANSFER_TO -> transaction.changeAccount(false, (Account) entry.getValue());
+                case SOURCE_ACCOUNT, CHANGE_TRANSFER_FROM -> transaction.changeAccount(true, (Account) entry.getValue());
+                case CONTRACT -> transaction.linkToContract((String) entry.getValue());
+                case BUDGET -> transaction.linkToBudget((String) entry.getValue());
+                default -> throw new IllegalArgumentException("Unsupported rule column provided " + entry.getKey());
+            }
+        }
+    }
+
+}
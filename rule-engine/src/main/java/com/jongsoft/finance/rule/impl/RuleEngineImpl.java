@@ -1,85 +1,185 @@
 package com.jongsoft.finance.rule.impl;
 
-import com.jongsoft.finance.core.RuleColumn;
 import com.jongsoft.finance.domain.transaction.TransactionRule;
-import com.jongsoft.finance.providers.TransactionRuleProvider;
 import com.jongsoft.finance.rule.RuleDataSet;
 import com.jongsoft.finance.rule.RuleEngine;
-import com.jongsoft.finance.rule.locator.ChangeLocator;
-import com.jongsoft.finance.rule.matcher.ConditionMatcher;
-import com.jongsoft.finance.rule.matcher.NumberMatcher;
-import com.jongsoft.finance.rule.matcher.StringMatcher;
+import com.jongsoft.finance.rule.locator.ChangeLocatorRegistry;
+import com.jongsoft.finance.rule.plan.RulePlan;
+import com.jongsoft.finance.rule.plan.RulePlanCache;
+import jakarta.annotation.PreDestroy;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
-import lombok.RequiredArgsConstructor;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
 
 @Singleton
 public class RuleEngineImpl implements RuleEngine {
 
-    private final TransactionRuleProvider transactionRuleProvider;
-    private final List<ChangeLocator> locators;
+    /**
+     * The number of inputs evaluated by a single worker when running a batch.
+     */
+    private static final int PARTITION_SIZE = 250;
+
+    private final RulePlanCache rulePlanCache;
+    private final ChangeLocatorRegistry locatorRegistry;
+    private final ExecutorService batchExecutor;
 
     @Inject
-    public RuleEngineImpl(TransactionRuleProvider transactionRuleProvider, List<ChangeLocator> locators) {
-        this.transactionRuleProvider = transactionRuleProvider;
-        this.locators = locators;
+    public RuleEngineImpl(RulePlanCache rulePlanCache, ChangeLocatorRegistry locatorRegistry) {
+        this.rulePlanCache = rulePlanCache;
+        this.locatorRegistry = locatorRegistry;
+        this.batchExecutor = Executors.newFixedThreadPool(
+                Math.max(2, Runtime.getRuntime().availableProcessors()),
+                runnable -> {
+                    var thread = new Thread(runnable, "rule-engine-batch");
+                    thread.setDaemon(true);
+                    return thread;
+                });
     }
 
     @Override
     public RuleDataSet run(RuleDataSet input) {
-        var outputSet = new RuleDataSet();
+        return run(rulePlanCache.plan(), input, this::locate);
+    }
+
+    public RuleDataSet run(RuleDataSet input, TransactionRule rule) {
+        return run(input, RulePlan.compile(rule), this::locate);
+    }
+
+    @Override
+    public List<RuleDataSet> runAll(List<RuleDataSet> inputs) {
+        var plan = rulePlanCache.plan();
+        var resolved = new ConcurrentHashMap<RulePlan.CompiledChange, Resolution>();
+
+        if (inputs.size() <= PARTITION_SIZE) {
+            Function<RulePlan.CompiledChange, Object> locator = change ->
+                    resolved.computeIfAbsent(change, this::resolve).get();
+
+            var outputs = new ArrayList<RuleDataSet>(inputs.size());
+            for (RuleDataSet input : inputs) {
+                outputs.add(run(plan, input, locator));
+            }
+            return outputs;
+        }
+
+        // the locators depend on the authenticated user, so all changes are resolved before fanning out
+        for (RulePlan.CompiledRule rule : plan.rules()) {
+            for (RulePlan.CompiledChange change : rule.changes()) {
+                resolved.computeIfAbsent(change, this::resolve);
+            }
+        }
+        Function<RulePlan.CompiledChange, Object> locator = change -> resolved.get(change).get();
+
+        var partitions = new ArrayList<Future<List<RuleDataSet>>>();
+        for (int start = 0; start < inputs.size(); start += PARTITION_SIZE) {
+            var partition = inputs.subList(start, Math.min(start + PARTITION_SIZE, inputs.size()));
+            partitions.add(batchExecutor.submit(() -> {
+                var outputs = new ArrayList<RuleDataSet>(partition.size());
+                for (RuleDataSet input : partition) {
+                    outputs.add(run(plan, input, locator));
+                }
+                return outputs;
+            }));
+        }
+
+        var outputs = new ArrayList<RuleDataSet>(inputs.size());
+        try {
+            for (Future<List<RuleDataSet>> partition : partitions) {
+                outputs.addAll(partition.get());
+            }
+        } catch (InterruptedException e) {
+            partitions.forEach(partition -> partition.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running the rule engine batch", e);
+        } catch (ExecutionException e) {
+            partitions.forEach(partition -> partition.cancel(true));
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Failed to run the rule engine batch", e.getCause());
+        }
+
+        return outputs;
+    }
 
-        for (TransactionRule rule : transactionRuleProvider.lookup()) {
-            var workingSet = new RuleDataSet();
-            workingSet.putAll(input);
-            workingSet.putAll(outputSet);
+    @PreDestroy
+    void shutdown() {
+        batchExecutor.shutdownNow();
+    }
+
+    RuleDataSet run(RulePlan plan, RuleDataSet input, Function<RulePlan.CompiledChange, Object> locator) {
+        var outputSet = new RuleDataSet();
+        var workingSet = new RuleDataSet();
+        workingSet.putAll(input);
+
+        var candidates = plan.index().candidates(workingSet);
+        var rules = plan.rules();
+        for (int i = 0; i < rules.size(); i++) {
+            if (!candidates.contains(i)) {
+                continue;
+            }
 
-            outputSet.putAll(run(workingSet, rule));
+            var ruleOutput = run(workingSet, rules.get(i), locator);
+            if (!ruleOutput.isEmpty()) {
+                outputSet.putAll(ruleOutput);
+                workingSet.putAll(ruleOutput);
+                ruleOutput.forEach(candidates::update);
+            }
         }
 
         return outputSet;
     }
 
-    public RuleDataSet run(RuleDataSet input, TransactionRule rule) {
-        var matchers = rule.getConditions()
-                .map(condition -> locateMatcher(condition.getField())
-                    .prepare(
-                            condition.getOperation(),
-                            condition.getCondition(),
-                            input.get(condition.getField())));
-
-        boolean matches;
-        if (rule.isRestrictive()) {
-            matches = matchers.all(ConditionMatcher::matches);
-        } else {
-            matches = matchers.exists(ConditionMatcher::matches);
+    RuleDataSet run(RuleDataSet input, RulePlan.CompiledRule rule, Function<RulePlan.CompiledChange, Object> locator) {
+        boolean matches = rule.restrictive();
+        for (RulePlan.CompiledCondition condition : rule.conditions()) {
+            var conditionMatches = condition.matches(input.get(condition.field()));
+            if (conditionMatches != rule.restrictive()) {
+                matches = conditionMatches;
+                break;
+            }
         }
 
         RuleDataSet output = new RuleDataSet();
         if (matches) {
-            for (TransactionRule.Change change : rule.getChanges()) {
-                var located = findLocator(change.getField()).locate(change.getField(), change.getChange());
-                output.put(change.getField(), located);
+            for (RulePlan.CompiledChange change : rule.changes()) {
+                output.put(change.field(), locator.apply(change));
             }
         }
 
         return output;
     }
 
-    ConditionMatcher locateMatcher(RuleColumn column) {
-        return switch (column) {
-            case AMOUNT -> new NumberMatcher();
-            default -> new StringMatcher();
-        };
+    private Object locate(RulePlan.CompiledChange change) {
+        return locatorRegistry.locate(change.field(), change.change());
+    }
+
+    private Resolution resolve(RulePlan.CompiledChange change) {
+        try {
+            return new Resolution(locate(change), null);
+        } catch (RuntimeException e) {
+            return new Resolution(null, e);
+        }
     }
 
-    ChangeLocator findLocator(RuleColumn column) {
-        return locators.stream()
-                .filter(locator -> locator.supports(column))
-                .findFirst()
-                .get();
+    /**
+     * The outcome of resolving a change. Failures are only raised when a matching rule actually needs the change,
+     * just as they would when running the rules for a single input.
+     */
+    private record Resolution(Object value, RuntimeException failure) {
+        Object get() {
+            if (failure != null) {
+                throw failure;
+            }
+            return value;
+        }
     }
 
 }
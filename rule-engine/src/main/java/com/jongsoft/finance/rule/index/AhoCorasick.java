@@ -0,0 +1,75 @@
+package com.jongsoft.finance.rule.index;
+
+import java.util.ArrayDeque;
+import java.util.BitSet;
+
+/**
+ * An Aho-Corasick automaton that locates all registered patterns contained in a text in a single pass over that
+ * text. Patterns must be registered in their folded form, see {@link RuleIndex#fold(String)}.
+ */
+final class AhoCorasick {
+
+    private final TrieNode root = new TrieNode();
+    private boolean empty = true;
+
+    void add(String pattern, int output) {
+        var node = root;
+        for (int i = 0; i < pattern.length(); i++) {
+            node = node.childOrCreate(pattern.charAt(i));
+        }
+
+        node.addOutput(output);
+        empty = false;
+    }
+
+    /**
+     * Compute the failure links of the automaton, must be called after all patterns were added.
+     */
+    void build() {
+        var queue = new ArrayDeque<TrieNode>();
+        for (TrieNode child : root.children()) {
+            child.fail = root;
+            queue.add(child);
+        }
+
+        while (!queue.isEmpty()) {
+            var node = queue.poll();
+            var keys = node.keys();
+            var children = node.children();
+
+            for (int i = 0; i < children.length; i++) {
+                var child = children[i];
+                var fallback = node.fail;
+                while (fallback != root && fallback.child(keys[i]) == null) {
+                    fallback = fallback.fail;
+                }
+
+                var target = fallback.child(keys[i]);
+                child.fail = target != null && target != child ? target : root;
+                child.addOutputs(child.fail.outputs());
+                queue.add(child);
+            }
+        }
+    }
+
+    boolean isEmpty() {
+        return empty;
+    }
+
+    void scan(String text, BitSet hits) {
+        var node = root;
+        for (int i = 0; i < text.length(); i++) {
+            var c = RuleIndex.fold(text.charAt(i));
+            while (node != root && node.child(c) == null) {
+                node = node.fail;
+            }
+
+            var next = node.child(c);
+            node = next != null ? next : root;
+            for (int output : node.outputs()) {
+                hits.set(output);
+            }
+        }
+    }
+
+}
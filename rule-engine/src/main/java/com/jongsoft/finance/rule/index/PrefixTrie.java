@@ -0,0 +1,40 @@
+package com.jongsoft.finance.rule.index;
+
+import java.util.BitSet;
+
+/**
+ * A trie that locates all registered patterns that are a prefix of a text. Patterns must be registered in their
+ * folded form, see {@link RuleIndex#fold(String)}.
+ */
+final class PrefixTrie {
+
+    private final TrieNode root = new TrieNode();
+    private boolean empty = true;
+
+    void add(String pattern, int output) {
+        var node = root;
+        for (int i = 0; i < pattern.length(); i++) {
+            node = node.childOrCreate(pattern.charAt(i));
+        }
+
+        node.addOutput(output);
+        empty = false;
+    }
+
+    boolean isEmpty() {
+        return empty;
+    }
+
+    void scan(String text, BitSet hits) {
+        var node = root;
+        for (int i = 0; i < text.length() && node != null; i++) {
+            node = node.child(RuleIndex.fold(text.charAt(i)));
+            if (node != null) {
+                for (int output : node.outputs()) {
+                    hits.set(output);
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,207 @@
+package com.jongsoft.finance.rule.index;
+
+import com.jongsoft.finance.core.RuleColumn;
+import com.jongsoft.finance.core.RuleOperation;
+import com.jongsoft.finance.rule.plan.RulePlan;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An index over the text conditions of a compiled rule set. For every {@link RuleColumn} the index keeps an
+ * Aho-Corasick automaton for the {@link RuleOperation#CONTAINS} conditions, a trie for the
+ * {@link RuleOperation#STARTS_WITH} conditions and a hash map for the {@link RuleOperation#EQUALS} conditions.
+ * <p>
+ * This allows locating the candidate rules for a transaction in a single pass over each input value, after which
+ * only the candidates have to be evaluated completely. Rules that cannot be pre-filtered, like non-restrictive rules
+ * with an amount condition, are always reported as candidate.
+ * </p>
+ */
+public final class RuleIndex {
+
+    private final class ColumnIndex {
+        private final AhoCorasick contains = new AhoCorasick();
+        private final PrefixTrie startsWith = new PrefixTrie();
+        private final Map<String, int[]> equals = new HashMap<>();
+
+        void add(RuleOperation operation, String pattern, int rule) {
+            switch (operation) {
+                case CONTAINS -> contains.add(pattern, rule);
+                case STARTS_WITH -> startsWith.add(pattern, rule);
+                case EQUALS -> equals.merge(pattern, new int[]{rule}, RuleIndex::concat);
+                default -> throw new IllegalArgumentException("Unsupported operation " + operation);
+            }
+        }
+
+        BitSet scan(Object value) {
+            var hits = new BitSet(ruleCount);
+            if (value != null) {
+                var text = value.toString();
+                if (!contains.isEmpty()) {
+                    contains.scan(text, hits);
+                }
+                if (!startsWith.isEmpty()) {
+                    startsWith.scan(text, hits);
+                }
+                if (!equals.isEmpty()) {
+                    var matched = equals.get(fold(text));
+                    if (matched != null) {
+                        for (int rule : matched) {
+                            hits.set(rule);
+                        }
+                    }
+                }
+            }
+
+            return hits;
+        }
+    }
+
+    /**
+     * The candidate rules for a single transaction. When a rule changes one of the input values, the candidates must
+     * be updated through {@link #update(RuleColumn, Object)} to reflect the new value.
+     */
+    public final class Candidates {
+        private final BitSet[] columnHits = new BitSet[RuleColumn.values().length];
+        private final BitSet candidates = new BitSet(ruleCount);
+
+        private Candidates(Map<RuleColumn, Object> input) {
+            for (Map.Entry<RuleColumn, ColumnIndex> entry : columns.entrySet()) {
+                columnHits[entry.getKey().ordinal()] = entry.getValue().scan(input.get(entry.getKey()));
+            }
+            recompute();
+        }
+
+        /**
+         * Determine if the rule at the given position in the plan should be evaluated.
+         *
+         * @param rule the position of the rule in the plan
+         * @return true if the rule is a candidate
+         */
+        public boolean contains(int rule) {
+            return candidates.get(rule);
+        }
+
+        /**
+         * Update the candidates after the value for a column was changed by a rule.
+         *
+         * @param column the changed column
+         * @param value  the new value
+         */
+        public void update(RuleColumn column, Object value) {
+            var columnIndex = columns.get(column);
+            if (columnIndex != null) {
+                columnHits[column.ordinal()] = columnIndex.scan(value);
+                recompute();
+            }
+        }
+
+        private void recompute() {
+            candidates.clear();
+            candidates.or(alwaysEvaluate);
+            for (BitSet hits : columnHits) {
+                if (hits != null) {
+                    candidates.or(hits);
+                }
+            }
+        }
+    }
+
+    private final int ruleCount;
+    private final BitSet alwaysEvaluate;
+    private final Map<RuleColumn, ColumnIndex> columns;
+
+    private RuleIndex(List<RulePlan.CompiledRule> rules) {
+        this.ruleCount = rules.size();
+        this.alwaysEvaluate = new BitSet(ruleCount);
+        this.columns = new EnumMap<>(RuleColumn.class);
+
+        for (int i = 0; i < rules.size(); i++) {
+            var rule = rules.get(i);
+            if (!isIndexable(rule)) {
+                alwaysEvaluate.set(i);
+                continue;
+            }
+
+            for (RulePlan.CompiledCondition condition : rule.conditions()) {
+                if (isIndexable(condition)) {
+                    columns.computeIfAbsent(condition.field(), column -> new ColumnIndex())
+                            .add(condition.operation(), fold(condition.expectation().toLowerCase()), i);
+                }
+            }
+        }
+
+        columns.values().forEach(column -> column.contains.build());
+    }
+
+    /**
+     * Build the index for the rules of a plan.
+     *
+     * @param rules the rules, in the order of the plan
+     * @return the index
+     */
+    public static RuleIndex build(List<RulePlan.CompiledRule> rules) {
+        return new RuleIndex(rules);
+    }
+
+    /**
+     * Locate the candidate rules for the given input.
+     *
+     * @param input the input values of the transaction
+     * @return the candidate rules
+     */
+    public Candidates candidates(Map<RuleColumn, Object> input) {
+        return new Candidates(input);
+    }
+
+    /**
+     * A restrictive rule can be pre-filtered if at least one of its conditions is indexed, as that condition must
+     * match for the rule to match. A non-restrictive rule can only be pre-filtered if all its conditions are indexed.
+     */
+    private static boolean isIndexable(RulePlan.CompiledRule rule) {
+        var indexed = rule.conditions().stream().filter(RuleIndex::isIndexable).count();
+        if (rule.restrictive()) {
+            return indexed > 0;
+        }
+
+        return indexed > 0 && indexed == rule.conditions().size();
+    }
+
+    private static boolean isIndexable(RulePlan.CompiledCondition condition) {
+        return condition.field() != RuleColumn.AMOUNT
+                && condition.expectation() != null
+                && !condition.expectation().isEmpty()
+                && switch (condition.operation()) {
+                    case CONTAINS, STARTS_WITH, EQUALS -> true;
+                    default -> false;
+                };
+    }
+
+    /**
+     * Fold a character so that two characters are equal after folding if, and only if, they are equal when compared
+     * ignoring case by {@link String#regionMatches(boolean, int, String, int, int)}.
+     */
+    static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    static String fold(String text) {
+        var folded = new char[text.length()];
+        for (int i = 0; i < folded.length; i++) {
+            folded[i] = fold(text.charAt(i));
+        }
+
+        return new String(folded);
+    }
+
+    private static int[] concat(int[] left, int[] right) {
+        var merged = Arrays.copyOf(left, left.length + right.length);
+        System.arraycopy(right, 0, merged, left.length, right.length);
+        return merged;
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.jongsoft.finance.rule.index;
+
+import java.util.Arrays;
+
+/**
+ * A single node in a character trie. Children are kept in a sorted array to avoid boxing characters during lookups.
+ */
+final class TrieNode {
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final TrieNode[] NO_CHILDREN = new TrieNode[0];
+    private static final int[] NO_OUTPUTS = new int[0];
+
+    private char[] keys = NO_KEYS;
+    private TrieNode[] children = NO_CHILDREN;
+    private int[] outputs = NO_OUTPUTS;
+
+    TrieNode fail;
+
+    TrieNode child(char key) {
+        var position = Arrays.binarySearch(keys, key);
+        return position < 0 ? null : children[position];
+    }
+
+    TrieNode childOrCreate(char key) {
+        var position = Arrays.binarySearch(keys, key);
+        if (position >= 0) {
+            return children[position];
+        }
+
+        var insertAt = -position - 1;
+        var node = new TrieNode();
+
+        var newKeys = new char[keys.length + 1];
+        var newChildren = new TrieNode[children.length + 1];
+        System.arraycopy(keys, 0, newKeys, 0, insertAt);
+        System.arraycopy(children, 0, newChildren, 0, insertAt);
+        newKeys[insertAt] = key;
+        newChildren[insertAt] = node;
+        System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+        System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+
+        keys = newKeys;
+        children = newChildren;
+        return node;
+    }
+
+    TrieNode[] children() {
+        return children;
+    }
+
+    char[] keys() {
+        return keys;
+    }
+
+    int[] outputs() {
+        return outputs;
+    }
+
+    void addOutput(int output) {
+        outputs = Arrays.copyOf(outputs, outputs.length + 1);
+        outputs[outputs.length - 1] = output;
+    }
+
+    void addOutputs(int[] additional) {
+        if (additional.length > 0) {
+            var merged = Arrays.copyOf(outputs, outputs.length + additional.length);
+            System.arraycopy(additional, 0, merged, outputs.length, additional.length);
+            outputs = merged;
+        }
+    }
+
+}
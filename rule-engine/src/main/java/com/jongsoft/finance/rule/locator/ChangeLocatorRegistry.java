@@ -0,0 +1,170 @@
+package com.jongsoft.finance.rule.locator;
+
+import com.jongsoft.finance.annotation.BusinessEventListener;
+import com.jongsoft.finance.core.RuleColumn;
+import com.jongsoft.finance.messaging.commands.account.ChangeAccountCommand;
+import com.jongsoft.finance.messaging.commands.account.RenameAccountCommand;
+import com.jongsoft.finance.messaging.commands.account.TerminateAccountCommand;
+import com.jongsoft.finance.messaging.commands.budget.CloseBudgetCommand;
+import com.jongsoft.finance.messaging.commands.budget.CreateBudgetCommand;
+import com.jongsoft.finance.messaging.commands.category.DeleteCategoryCommand;
+import com.jongsoft.finance.messaging.commands.category.RenameCategoryCommand;
+import com.jongsoft.finance.messaging.commands.contract.ChangeContractCommand;
+import com.jongsoft.finance.messaging.commands.contract.TerminateContractCommand;
+import com.jongsoft.finance.security.AuthenticationFacade;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the {@link ChangeLocator} for every {@link RuleColumn} once and keeps a bounded cache, per user, of the
+ * entities located for rule changes. Cached entities are evicted when they are renamed, changed, terminated or
+ * deleted.
+ */
+@Slf4j
+@Singleton
+public class ChangeLocatorRegistry {
+
+    private static final int MAX_ENTRIES_PER_USER = 1_000;
+
+    private static final Set<RuleColumn> ACCOUNT_COLUMNS = Set.of(
+            RuleColumn.SOURCE_ACCOUNT,
+            RuleColumn.TO_ACCOUNT,
+            RuleColumn.CHANGE_TRANSFER_FROM,
+            RuleColumn.CHANGE_TRANSFER_TO);
+
+    private record LocatorKey(RuleColumn column, String change) {
+    }
+
+    private final Map<RuleColumn, ChangeLocator> locators;
+    private final AuthenticationFacade authenticationFacade;
+    private final Map<String, Map<LocatorKey, Object>> located;
+
+    @Inject
+    public ChangeLocatorRegistry(List<ChangeLocator> locators, AuthenticationFacade authenticationFacade) {
+        this.authenticationFacade = authenticationFacade;
+        this.located = new ConcurrentHashMap<>();
+        this.locators = new EnumMap<>(RuleColumn.class);
+        for (RuleColumn column : RuleColumn.values()) {
+            locators.stream()
+                    .filter(locator -> locator.supports(column))
+                    .findFirst()
+                    .ifPresent(locator -> this.locators.put(column, locator));
+        }
+    }
+
+    /**
+     * Locate the entity for the change, using the cached entity of the authenticated user when available.
+     *
+     * @param column The column that is being updated.
+     * @param change The change that is being applied.
+     * @return The object that will be used to update the rule data set.
+     */
+    public Object locate(RuleColumn column, String change) {
+        var locator = locators.get(column);
+        if (locator == null) {
+            throw new IllegalArgumentException("No change locator available for column " + column);
+        }
+
+        var username = authenticationFacade.authenticated();
+        if (username == null) {
+            return locator.locate(column, change);
+        }
+
+        var userCache = located.computeIfAbsent(username, key -> Collections.synchronizedMap(
+                new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<LocatorKey, Object> eldest) {
+                        return size() > MAX_ENTRIES_PER_USER;
+                    }
+                }));
+
+        var key = new LocatorKey(column, change);
+        var entity = userCache.get(key);
+        if (entity == null) {
+            entity = locator.locate(column, change);
+            userCache.put(key, entity);
+        }
+
+        return entity;
+    }
+
+    /**
+     * Evict the cached entity with the given id for the columns, for all users.
+     */
+    void evict(Set<RuleColumn> columns, long id) {
+        var change = String.valueOf(id);
+        log.trace("[{}] - Evicting located entity for columns {}", id, columns);
+        located.values().forEach(userCache -> {
+            synchronized (userCache) {
+                userCache.keySet().removeIf(key -> columns.contains(key.column()) && change.equals(key.change()));
+            }
+        });
+    }
+
+    /**
+     * Evict all cached entities for the columns, for all users.
+     */
+    void evict(Set<RuleColumn> columns) {
+        located.values().forEach(userCache -> {
+            synchronized (userCache) {
+                userCache.keySet().removeIf(key -> columns.contains(key.column()));
+            }
+        });
+    }
+
+    @BusinessEventListener
+    void handle(RenameAccountCommand command) {
+        evict(ACCOUNT_COLUMNS, command.id());
+    }
+
+    @BusinessEventListener
+    void handle(ChangeAccountCommand command) {
+        evict(ACCOUNT_COLUMNS, command.id());
+    }
+
+    @BusinessEventListener
+    void handle(TerminateAccountCommand command) {
+        evict(ACCOUNT_COLUMNS, command.id());
+    }
+
+    @BusinessEventListener
+    void handle(RenameCategoryCommand command) {
+        evict(Set.of(RuleColumn.CATEGORY), command.id());
+    }
+
+    @BusinessEventListener
+    void handle(DeleteCategoryCommand command) {
+        evict(Set.of(RuleColumn.CATEGORY), command.id());
+    }
+
+    @BusinessEventListener
+    void handle(CreateBudgetCommand command) {
+        // the rule changes refer to the expenses of a budget, which are all replaced by a new budget period
+        evict(Set.of(RuleColumn.BUDGET));
+    }
+
+    @BusinessEventListener
+    void handle(CloseBudgetCommand command) {
+        evict(Set.of(RuleColumn.BUDGET));
+    }
+
+    @BusinessEventListener
+    void handle(ChangeContractCommand command) {
+        evict(Set.of(RuleColumn.CONTRACT), command.id());
+    }
+
+    @BusinessEventListener
+    void handle(TerminateContractCommand command) {
+        evict(Set.of(RuleColumn.CONTRACT), command.id());
+    }
+
+}
@@ -10,7 +10,9 @@ import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import lombok.RequiredArgsConstructor;
 
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 @Singleton
 @RequiredArgsConstructor(onConstructor_ = @Inject)
@@ -22,27 +24,17 @@ public class RelationLocator implements ChangeLocator {
             RuleColumn.CONTRACT);
 
     private final ApplicationContext applicationContext;
+    private volatile Map<RuleColumn, DataProvider<?>> dataProviders;
 
     @Override
     public Object locate(RuleColumn column, String change) {
-        Class<?> genericType = switch (column) {
-            case CATEGORY -> Category.class;
-            case BUDGET -> EntityRef.NamedEntity.class;
-            case CONTRACT -> Contract.class;
-            default -> throw new IllegalArgumentException("Unsupported type");
-        };
-
-        var dataProvider = applicationContext.getBeansOfType(DataProvider.class)
-                .stream()
-                .filter(bean -> bean.supports(genericType))
-                .findFirst();
-
-        if (dataProvider.isPresent()) {
-            var entity = dataProvider.get().lookup(Long.parseLong(change));
-            return entity.get().toString();
+        var dataProvider = dataProviders().get(column);
+        if (dataProvider == null) {
+            throw new IllegalArgumentException("Unsupported type " + column);
         }
 
-        throw new IllegalArgumentException("Unsupported type " + genericType.getSimpleName());
+        var entity = dataProvider.lookup(Long.parseLong(change));
+        return entity.get().toString();
     }
 
     @Override
@@ -50,4 +42,32 @@ public class RelationLocator implements ChangeLocator {
         return SUPPORTED_COLUMNS.contains(column);
     }
 
+    /**
+     * Resolve the data provider for each supported column, this is only done once as scanning the application context
+     * for beans is expensive.
+     */
+    private Map<RuleColumn, DataProvider<?>> dataProviders() {
+        if (dataProviders == null) {
+            Map<RuleColumn, DataProvider<?>> resolved = new EnumMap<>(RuleColumn.class);
+            var beans = applicationContext.getBeansOfType(DataProvider.class);
+            for (RuleColumn column : SUPPORTED_COLUMNS) {
+                Class<?> genericType = switch (column) {
+                    case CATEGORY -> Category.class;
+                    case BUDGET -> EntityRef.NamedEntity.class;
+                    case CONTRACT -> Contract.class;
+                    default -> throw new IllegalArgumentException("Unsupported type");
+                };
+
+                beans.stream()
+                        .filter(bean -> bean.supports(genericType))
+                        .findFirst()
+                        .ifPresent(bean -> resolved.put(column, bean));
+            }
+
+            dataProviders = resolved;
+        }
+
+        return dataProviders;
+    }
+
 }
@@ -1,27 +1,45 @@
 package com.jongsoft.finance.rule.matcher;
 
+import com.jongsoft.finance.core.RuleColumn;
 import com.jongsoft.finance.core.RuleOperation;
 
 /**
- * A matcher that can be used to compare a value against an expectation.
+ * A matcher that can be used to compare a value against an expectation. Matchers are compiled once per rule
+ * condition and hold no state that depends on the value being compared, which makes them safe to share between
+ * threads and between transactions.
  */
 public interface ConditionMatcher {
 
     /**
-     * Prepare the matcher for execution.
+     * A matcher that never matches, used for conditions that cannot be evaluated.
+     */
+    ConditionMatcher NEVER = actual -> false;
+
+    /**
+     * Execute the matcher against the actual value.
      *
-     * @param operation The operation to perform.
-     * @param expectation The expectation to compare against.
      * @param actual The actual value to compare.
-     * @return The matcher.
+     * @return True if the matcher matches, false otherwise.
      */
-    ConditionMatcher prepare(RuleOperation operation, String expectation, Object actual);
+    boolean matches(Object actual);
 
     /**
-     * Execute the matcher.
+     * Compile a matcher for the given condition.
      *
-     * @return True if the matcher matches, false otherwise.
+     * @param field The column the condition applies to.
+     * @param operation The operation to perform.
+     * @param expectation The expectation to compare against.
+     * @return The matcher.
      */
-    boolean matches();
+    static ConditionMatcher compile(RuleColumn field, RuleOperation operation, String expectation) {
+        if (expectation == null || operation == null) {
+            return NEVER;
+        }
+
+        return switch (field) {
+            case AMOUNT -> NumberMatcher.compile(operation, expectation);
+            default -> StringMatcher.compile(operation, expectation);
+        };
+    }
 
 }
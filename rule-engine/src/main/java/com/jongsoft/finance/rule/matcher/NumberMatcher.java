@@ -2,34 +2,40 @@ package com.jongsoft.finance.rule.matcher;
 
 import com.jongsoft.finance.core.RuleOperation;
 
-import java.util.function.Supplier;
+public final class NumberMatcher implements ConditionMatcher {
 
-public class NumberMatcher implements ConditionMatcher {
+    private final RuleOperation operation;
+    private final double threshold;
 
-    private Supplier<Boolean> innerMatcher;
+    private NumberMatcher(RuleOperation operation, double threshold) {
+        this.operation = operation;
+        this.threshold = threshold;
+    }
 
     @Override
-    public ConditionMatcher prepare(RuleOperation operation, String expectation, Object actual) {
-        var checkAmount = Double.parseDouble(expectation);
-        var castedActual = (Double) actual;
-        if (castedActual == null) {
-            innerMatcher = () -> false;
-            return this;
+    public boolean matches(Object actual) {
+        if (actual instanceof Number number) {
+            return matches(number.doubleValue());
         }
 
-        innerMatcher = switch (operation) {
-            case LESS_THAN -> () -> castedActual < checkAmount;
-            case MORE_THAN -> () -> castedActual > checkAmount;
-            case EQUALS -> () -> castedActual == checkAmount;
-            default -> () -> false;
-        };
+        return false;
+    }
 
-        return this;
+    public boolean matches(double actual) {
+        return switch (operation) {
+            case LESS_THAN -> actual < threshold;
+            case MORE_THAN -> actual > threshold;
+            case EQUALS -> actual == threshold;
+            default -> false;
+        };
     }
 
-    @Override
-    public boolean matches() {
-        return innerMatcher.get();
+    static ConditionMatcher compile(RuleOperation operation, String expectation) {
+        try {
+            return new NumberMatcher(operation, Double.parseDouble(expectation));
+        } catch (NumberFormatException e) {
+            return NEVER;
+        }
     }
 
 }
@@ -1,36 +1,50 @@
 package com.jongsoft.finance.rule.matcher;
 
-import java.util.function.Supplier;
-
 import com.jongsoft.finance.core.RuleOperation;
 
-public class StringMatcher implements ConditionMatcher {
+public final class StringMatcher implements ConditionMatcher {
+
+    private final RuleOperation operation;
+    private final String expectation;
 
-    private Supplier<Boolean> innerMatcher;
+    private StringMatcher(RuleOperation operation, String expectation) {
+        this.operation = operation;
+        this.expectation = expectation;
+    }
 
     @Override
-    public ConditionMatcher prepare(RuleOperation operation, String expectation, Object actual) {
-        boolean nonNull = expectation != null && actual != null;
-
-        innerMatcher = () -> false;
-        if (nonNull) {
-            var castedActual = actual.toString().toLowerCase();
-            var loweredExpectation = expectation.toLowerCase();
-
-            innerMatcher = switch (operation) {
-                case EQUALS -> () -> loweredExpectation.equals(castedActual);
-                case CONTAINS -> () -> castedActual.contains(loweredExpectation);
-                case STARTS_WITH -> () -> castedActual.startsWith(loweredExpectation);
-                default -> () -> false;
-            };
+    public boolean matches(Object actual) {
+        if (actual == null) {
+            return false;
         }
 
-        return this;
+        return matches(actual.toString());
     }
 
-    @Override
-    public boolean matches() {
-        return innerMatcher.get();
+    public boolean matches(String actual) {
+        return switch (operation) {
+            case EQUALS -> actual.length() == expectation.length()
+                    && actual.regionMatches(true, 0, expectation, 0, expectation.length());
+            case CONTAINS -> contains(actual);
+            case STARTS_WITH -> actual.regionMatches(true, 0, expectation, 0, expectation.length());
+            default -> false;
+        };
+    }
+
+    private boolean contains(String actual) {
+        var length = expectation.length();
+        var last = actual.length() - length;
+        for (var offset = 0; offset <= last; offset++) {
+            if (actual.regionMatches(true, offset, expectation, 0, length)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    static ConditionMatcher compile(RuleOperation operation, String expectation) {
+        return new StringMatcher(operation, expectation.toLowerCase());
     }
 
 }
@@ -0,0 +1,101 @@
+package com.jongsoft.finance.rule.plan;
+
+import com.jongsoft.finance.core.RuleColumn;
+import com.jongsoft.finance.core.RuleOperation;
+import com.jongsoft.finance.domain.transaction.TransactionRule;
+import com.jongsoft.finance.rule.index.RuleIndex;
+import com.jongsoft.finance.rule.matcher.ConditionMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An immutable, pre-compiled representation of the transaction rules of a single user. All conditions are converted
+ * once into a {@link ConditionMatcher}, with their expectations lowered and numeric thresholds parsed, so that
+ * evaluating a transaction against the plan requires no database access and no conversion work.
+ *
+ * @param rules the compiled rules, in the order in which they must be evaluated
+ * @param index the index used to locate the candidate rules for a transaction
+ */
+public record RulePlan(List<CompiledRule> rules, RuleIndex index) {
+
+    /**
+     * A single compiled transaction rule.
+     *
+     * @param id          the identifier of the original rule
+     * @param restrictive true if all conditions must match, false if any condition matching is sufficient
+     * @param conditions  the compiled conditions of the rule
+     * @param changes     the changes to apply when the rule matches
+     */
+    public record CompiledRule(Long id, boolean restrictive, List<CompiledCondition> conditions,
+                               List<CompiledChange> changes) {
+    }
+
+    /**
+     * A single compiled condition of a rule.
+     *
+     * @param field       the column the condition applies to
+     * @param operation   the operation to perform
+     * @param expectation the expectation as configured by the user
+     * @param matcher     the pre-compiled matcher for the condition
+     */
+    public record CompiledCondition(RuleColumn field, RuleOperation operation, String expectation,
+                                    ConditionMatcher matcher) {
+
+        public boolean matches(Object actual) {
+            return matcher.matches(actual);
+        }
+    }
+
+    /**
+     * A single change that is applied when a rule matches.
+     *
+     * @param field  the column that will be changed
+     * @param change the raw change value, to be resolved by a change locator
+     */
+    public record CompiledChange(RuleColumn field, String change) {
+    }
+
+    public static final RulePlan EMPTY = new RulePlan(List.of(), RuleIndex.build(List.of()));
+
+    /**
+     * Compile the provided rules into a plan, preserving the order in which they were provided.
+     *
+     * @param rules the rules to compile
+     * @return the compiled plan
+     */
+    public static RulePlan compile(Iterable<TransactionRule> rules) {
+        var compiled = new ArrayList<CompiledRule>();
+        for (TransactionRule rule : rules) {
+            compiled.add(compile(rule));
+        }
+
+        var ordered = List.copyOf(compiled);
+        return new RulePlan(ordered, RuleIndex.build(ordered));
+    }
+
+    /**
+     * Compile a single rule.
+     *
+     * @param rule the rule to compile
+     * @return the compiled rule
+     */
+    public static CompiledRule compile(TransactionRule rule) {
+        var conditions = new ArrayList<CompiledCondition>();
+        for (TransactionRule.Condition condition : rule.getConditions()) {
+            conditions.add(new CompiledCondition(
+                    condition.getField(),
+                    condition.getOperation(),
+                    condition.getCondition(),
+                    ConditionMatcher.compile(condition.getField(), condition.getOperation(), condition.getCondition())));
+        }
+
+        var changes = new ArrayList<CompiledChange>();
+        for (TransactionRule.Change change : rule.getChanges()) {
+            changes.add(new CompiledChange(change.getField(), change.getChange()));
+        }
+
+        return new CompiledRule(rule.getId(), rule.isRestrictive(), List.copyOf(conditions), List.copyOf(changes));
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.jongsoft.finance.rule.plan;
+
+import com.jongsoft.finance.annotation.BusinessEventListener;
+import com.jongsoft.finance.domain.transaction.events.TransactionRuleSavedEvent;
+import com.jongsoft.finance.messaging.commands.rule.ChangeConditionCommand;
+import com.jongsoft.finance.messaging.commands.rule.ChangeRuleCommand;
+import com.jongsoft.finance.messaging.commands.rule.ReorderRuleCommand;
+import com.jongsoft.finance.messaging.commands.rule.ReorderRuleGroupCommand;
+import com.jongsoft.finance.messaging.commands.rule.RuleGroupDeleteCommand;
+import com.jongsoft.finance.providers.TransactionRuleProvider;
+import com.jongsoft.finance.security.AuthenticationFacade;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the compiled {@link RulePlan} for every user. The plan is built on first use and dropped whenever one of the
+ * rule commands indicates that the rules of the user were changed.
+ */
+@Slf4j
+@Singleton
+public class RulePlanCache {
+
+    private final TransactionRuleProvider transactionRuleProvider;
+    private final AuthenticationFacade authenticationFacade;
+    private final Map<String, RulePlan> plans;
+
+    @Inject
+    public RulePlanCache(TransactionRuleProvider transactionRuleProvider, AuthenticationFacade authenticationFacade) {
+        this.transactionRuleProvider = transactionRuleProvider;
+        this.authenticationFacade = authenticationFacade;
+        this.plans = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Get the compiled rule plan for the authenticated user, compiling it if it is not yet available.
+     *
+     * @return the compiled rule plan
+     */
+    public RulePlan plan() {
+        var username = authenticationFacade.authenticated();
+        if (username == null) {
+            return RulePlan.compile(transactionRuleProvider.lookup());
+        }
+
+        return plans.computeIfAbsent(username, key -> {
+            log.debug("[{}] - Compiling transaction rule plan", key);
+            return RulePlan.compile(transactionRuleProvider.lookup());
+        });
+    }
+
+    /**
+     * Drop the compiled plan of the authenticated user, or of all users if no user is authenticated.
+     */
+    public void invalidate() {
+        var username = authenticationFacade.authenticated();
+        if (username == null) {
+            plans.clear();
+        } else {
+            log.trace("[{}] - Invalidating transaction rule plan", username);
+            plans.remove(username);
+        }
+    }
+
+    @BusinessEventListener
+    void handle(TransactionRuleSavedEvent event) {
+        invalidate();
+    }
+
+    @BusinessEventListener
+    void handle(ChangeRuleCommand command) {
+        invalidate();
+    }
+
+    @BusinessEventListener
+    void handle(ChangeConditionCommand command) {
+        invalidate();
+    }
+
+    @BusinessEventListener
+    void handle(ReorderRuleCommand command) {
+        invalidate();
+    }
+
+    @BusinessEventListener
+    void handle(ReorderRuleGroupCommand command) {
+        invalidate();
+    }
+
+    @BusinessEventListener
+    void handle(RuleGroupDeleteCommand command) {
+        invalidate();
+    }
+
+}
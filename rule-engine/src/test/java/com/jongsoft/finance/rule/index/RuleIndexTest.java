@@ -0,0 +1,52 @@
+package com.jongsoft.finance.rule.index;
+
+import com.jongsoft.finance.core.RuleColumn;
+import com.jongsoft.finance.core.RuleOperation;
+import com.jongsoft.finance.domain.transaction.TransactionRule;
+import com.jongsoft.finance.rule.RuleDataSet;
+import com.jongsoft.finance.rule.plan.RulePlan;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RuleIndexTest {
+
+    @Test
+    void candidates() {
+        var plan = RulePlan.compile(List.of(
+                rule(true, RuleColumn.DESCRIPTION, RuleOperation.CONTAINS, "Albert Heijn"),
+                rule(true, RuleColumn.DESCRIPTION, RuleOperation.CONTAINS, "heijn 12"),
+                rule(true, RuleColumn.DESCRIPTION, RuleOperation.STARTS_WITH, "payment"),
+                rule(true, RuleColumn.TO_ACCOUNT, RuleOperation.EQUALS, "Jumbo"),
+                rule(false, RuleColumn.AMOUNT, RuleOperation.MORE_THAN, "10"),
+                rule(true, RuleColumn.DESCRIPTION, RuleOperation.CONTAINS, "lidl")));
+
+        var input = new RuleDataSet();
+        input.put(RuleColumn.DESCRIPTION, "Payment to ALBERT HEIJN 1234");
+        input.put(RuleColumn.TO_ACCOUNT, "Albert Heijn");
+
+        var candidates = plan.index().candidates(input);
+
+        assertThat(candidates.contains(0)).isTrue();
+        assertThat(candidates.contains(1)).isTrue();
+        assertThat(candidates.contains(2)).isTrue();
+        assertThat(candidates.contains(3)).isFalse();
+        assertThat(candidates.contains(4)).isTrue();
+        assertThat(candidates.contains(5)).isFalse();
+
+        candidates.update(RuleColumn.TO_ACCOUNT, "JUMBO");
+        assertThat(candidates.contains(3)).isTrue();
+    }
+
+    private TransactionRule rule(boolean restrictive, RuleColumn column, RuleOperation operation, String condition) {
+        var rule = TransactionRule.builder()
+                .restrictive(restrictive)
+                .build();
+
+        rule.new Condition(1L, column, operation, condition);
+        return rule;
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.jongsoft.finance.rule.locator;
+
+import com.jongsoft.finance.core.RuleColumn;
+import com.jongsoft.finance.domain.account.Account;
+import com.jongsoft.finance.messaging.commands.account.RenameAccountCommand;
+import com.jongsoft.finance.providers.AccountProvider;
+import com.jongsoft.finance.security.AuthenticationFacade;
+import com.jongsoft.lang.Control;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ChangeLocatorRegistryTest {
+
+    private AccountProvider accountProvider;
+    private ChangeLocatorRegistry subject;
+
+    @BeforeEach
+    void setup() {
+        accountProvider = Mockito.mock(AccountProvider.class);
+
+        var authenticationFacade = Mockito.mock(AuthenticationFacade.class);
+        Mockito.when(authenticationFacade.authenticated()).thenReturn("demo-user");
+
+        subject = new ChangeLocatorRegistry(
+                List.of(new AccountLocator(accountProvider), new NoopLocator()),
+                authenticationFacade);
+    }
+
+    @Test
+    void locate_cached() {
+        var account = Account.builder().id(2L).name("Sample Account").build();
+        Mockito.when(accountProvider.lookup(2L)).thenReturn(Control.Option(account));
+
+        assertThat(subject.locate(RuleColumn.TO_ACCOUNT, "2")).isEqualTo(account);
+        assertThat(subject.locate(RuleColumn.TO_ACCOUNT, "2")).isEqualTo(account);
+        Mockito.verify(accountProvider, Mockito.times(1)).lookup(2L);
+
+        subject.handle(new RenameAccountCommand(2L, "creditor", "Renamed", null, "EUR"));
+
+        assertThat(subject.locate(RuleColumn.TO_ACCOUNT, "2")).isEqualTo(account);
+        Mockito.verify(accountProvider, Mockito.times(2)).lookup(2L);
+    }
+
+    @Test
+    void locate_unsupported() {
+        assertThatThrownBy(() -> subject.locate(RuleColumn.CATEGORY, "1"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.jongsoft.finance.rule.matcher;
+
+import com.jongsoft.finance.core.RuleColumn;
+import com.jongsoft.finance.core.RuleOperation;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConditionMatcherTest {
+
+    @Test
+    void compile_string() {
+        var contains = ConditionMatcher.compile(RuleColumn.DESCRIPTION, RuleOperation.CONTAINS, "Albert Heijn");
+        var startsWith = ConditionMatcher.compile(RuleColumn.DESCRIPTION, RuleOperation.STARTS_WITH, "albert");
+        var equals = ConditionMatcher.compile(RuleColumn.DESCRIPTION, RuleOperation.EQUALS, "ALBERT HEIJN");
+
+        assertThat(contains.matches("Payment to ALBERT heijn 1234")).isTrue();
+        assertThat(contains.matches("Payment to Jumbo")).isFalse();
+        assertThat(startsWith.matches("Albert Heijn 1234")).isTrue();
+        assertThat(startsWith.matches("Payment to Albert Heijn")).isFalse();
+        assertThat(equals.matches("albert heijn")).isTrue();
+        assertThat(equals.matches("albert heijn 1234")).isFalse();
+        assertThat(contains.matches(null)).isFalse();
+    }
+
+    @Test
+    void compile_number() {
+        var lessThan = ConditionMatcher.compile(RuleColumn.AMOUNT, RuleOperation.LESS_THAN, "15.22");
+        var moreThan = ConditionMatcher.compile(RuleColumn.AMOUNT, RuleOperation.MORE_THAN, "15.22");
+        var equals = ConditionMatcher.compile(RuleColumn.AMOUNT, RuleOperation.EQUALS, "15.22");
+
+        assertThat(lessThan.matches(10.0)).isTrue();
+        assertThat(moreThan.matches(10.0)).isFalse();
+        assertThat(equals.matches(15.22)).isTrue();
+        assertThat(moreThan.matches(null)).isFalse();
+    }
+
+    @Test
+    void compile_invalid() {
+        assertThat(ConditionMatcher.compile(RuleColumn.AMOUNT, RuleOperation.MORE_THAN, "abc").matches(10.0))
+                .isFalse();
+        assertThat(ConditionMatcher.compile(RuleColumn.DESCRIPTION, RuleOperation.CONTAINS, null).matches("abc"))
+                .isFalse();
+    }
+
+}
@@ -13,8 +13,11 @@ import com.jongsoft.finance.rule.RuleDataSet;
 import com.jongsoft.finance.rule.RuleEngine;
 import com.jongsoft.finance.rule.impl.RuleEngineImpl;
 import com.jongsoft.finance.rule.locator.AccountLocator;
+import com.jongsoft.finance.rule.locator.ChangeLocatorRegistry;
 import com.jongsoft.finance.rule.locator.NoopLocator;
 import com.jongsoft.finance.rule.locator.RelationLocator;
+import com.jongsoft.finance.rule.plan.RulePlanCache;
+import com.jongsoft.finance.security.AuthenticationFacade;
 import com.jongsoft.lang.Collections;
 import com.jongsoft.lang.Control;
 import io.micronaut.context.ApplicationContext;
@@ -23,6 +26,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.util.ArrayList;
 import java.util.List;
 
 class RuleEngineImplTest {
@@ -32,6 +36,7 @@ class RuleEngineImplTest {
     private AccountProvider accountProvider;
     private CategoryProvider categoryProvider;
     private TransactionRuleProvider transactionRuleProvider;
+    private RulePlanCache rulePlanCache;
 
     @BeforeEach
     void setup() {
@@ -43,11 +48,16 @@ class RuleEngineImplTest {
 
         accountProvider = Mockito.mock(AccountProvider.class);
         transactionRuleProvider = Mockito.mock(TransactionRuleProvider.class);
-        engine = new RuleEngineImpl(transactionRuleProvider, List.of(
+
+        var authenticationFacade = Mockito.mock(AuthenticationFacade.class);
+        Mockito.when(authenticationFacade.authenticated()).thenReturn("demo-user");
+
+        rulePlanCache = new RulePlanCache(transactionRuleProvider, authenticationFacade);
+        engine = new RuleEngineImpl(rulePlanCache, new ChangeLocatorRegistry(List.of(
                 new AccountLocator(accountProvider),
                 new NoopLocator(),
                 new RelationLocator(context)
-        ));
+        ), authenticationFacade));
     }
 
     @Test
@@ -86,6 +96,62 @@ class RuleEngineImplTest {
         Assertions.assertThat(output.get(RuleColumn.CATEGORY)).isEqualTo("Category 1");
     }
 
+    @Test
+    void run_cachedPlan() {
+        var transactionRule = TransactionRule.builder()
+                .restrictive(false)
+                .build();
+
+        transactionRule.new Condition(1L, RuleColumn.DESCRIPTION, RuleOperation.CONTAINS, "sample");
+        transactionRule.new Change(1L, RuleColumn.TAGS, "Hello");
+
+        Mockito.when(transactionRuleProvider.lookup()).thenReturn(Collections.List(transactionRule));
+
+        RuleDataSet inputSet = new RuleDataSet();
+        inputSet.put(RuleColumn.DESCRIPTION, "This is a Sample");
+
+        Assertions.assertThat(engine.run(inputSet)).hasSize(1);
+        Assertions.assertThat(engine.run(inputSet)).hasSize(1);
+        Mockito.verify(transactionRuleProvider, Mockito.times(1)).lookup();
+
+        rulePlanCache.invalidate();
+
+        Assertions.assertThat(engine.run(inputSet)).hasSize(1);
+        Mockito.verify(transactionRuleProvider, Mockito.times(2)).lookup();
+    }
+
+    @Test
+    void runAll() {
+        var changeAccount = Account.builder().name("Sample Account").build();
+        var transactionRule = TransactionRule.builder()
+                .restrictive(true)
+                .build();
+
+        transactionRule.new Condition(1L, RuleColumn.DESCRIPTION, RuleOperation.CONTAINS, "sample");
+        transactionRule.new Change(1L, RuleColumn.TO_ACCOUNT, "2");
+
+        Mockito.when(transactionRuleProvider.lookup()).thenReturn(Collections.List(transactionRule));
+        Mockito.when(accountProvider.lookup(2L))
+                .thenReturn(Control.Option(changeAccount));
+
+        var inputs = new ArrayList<RuleDataSet>();
+        for (int i = 0; i < 600; i++) {
+            RuleDataSet inputSet = new RuleDataSet();
+            inputSet.put(RuleColumn.DESCRIPTION, i % 2 == 0 ? "This is a Sample" : "No match");
+            inputs.add(inputSet);
+        }
+
+        var outputs = engine.runAll(inputs);
+
+        Assertions.assertThat(outputs).hasSize(600);
+        Assertions.assertThat(outputs.get(0).get(RuleColumn.TO_ACCOUNT)).isEqualTo(changeAccount);
+        Assertions.assertThat(outputs.get(1)).isEmpty();
+        Assertions.assertThat(outputs.get(598).get(RuleColumn.TO_ACCOUNT)).isEqualTo(changeAccount);
+        Assertions.assertThat(outputs.get(599)).isEmpty();
+        Mockito.verify(transactionRuleProvider, Mockito.times(1)).lookup();
+        Mockito.verify(accountProvider, Mockito.times(1)).lookup(2L);
+    }
+
     @Test
     void run_restrictive() {
         var changeAccount = Account.builder().name("Sample Account").build();
@@ -7,6 +7,7 @@ pluginManagement {
         id("io.micronaut.application").version("4.3.4")
         id("io.freefair.lombok").version("8.4")
         id("org.sonarqube").version("4.4.1.3373")
+        id("me.champeau.jmh").version("0.7.2")
 
         id("signing")
         id("maven-publish")
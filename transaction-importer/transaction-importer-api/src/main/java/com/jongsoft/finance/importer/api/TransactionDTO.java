@@ -3,6 +3,7 @@ package com.jongsoft.finance.importer.api;
 import com.jongsoft.finance.core.TransactionType;
 import io.micronaut.serde.annotation.Serdeable;
 
+import java.io.Serializable;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -29,7 +30,7 @@ public record TransactionDTO(
         // Optional: The category of the transaction
         String category,
         // Optional: The tags of the transaction
-        List<String> tags) {
+        List<String> tags) implements Serializable {
 
     @Override
     public String toString() {
@@ -1,3 +1,7 @@
+plugins {
+    id("me.champeau.jmh")
+}
+
 
 micronaut {
     testRuntime("junit5")
@@ -14,4 +18,4 @@ dependencies {
 
     testImplementation(libs.bundles.junit)
     testRuntimeOnly(mn.logback.classic)
-}
\ No newline at end of file
+}
@@ -0,0 +1,137 @@
+package com.jongsoft.finance.importer.csv;
+
+import com.jongsoft.finance.StorageService;
+import com.jongsoft.finance.domain.importer.BatchImport;
+import com.jongsoft.lang.Control;
+import com.jongsoft.lang.control.Optional;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading a synthetic bank export of one million rows, both end-to-end through the
+ * {@link CSVImportProvider} and for decoding a single pre-split row. Run with
+ * {@code ./gradlew :transaction-importer:transaction-importer-csv:jmh}.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class CSVImportBenchmark {
+
+    private static final String[] NAMES = {
+            "Janssen PA", "Albert Heijn 1234", "NS Reizigers", "Belastingdienst", "Vattenfall", "Ziggo", "Bol.com"
+    };
+
+    @Param({"1000000"})
+    private int rowCount;
+
+    private byte[] export;
+    private CSVImportProvider importProvider;
+    private CSVConfiguration configuration;
+    private CSVRowDecoder rowDecoder;
+    private String[][] sampleRows;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        configuration = new CSVConfiguration(
+                true,
+                "yyyyMMdd",
+                ',',
+                new TransactionTypeIndicator("Bij", "Af"),
+                List.of(
+                        ColumnRole.DATE,
+                        ColumnRole.OPPOSING_NAME,
+                        ColumnRole.ACCOUNT_IBAN,
+                        ColumnRole.OPPOSING_IBAN,
+                        ColumnRole.IGNORE,
+                        ColumnRole.CUSTOM_INDICATOR,
+                        ColumnRole.AMOUNT,
+                        ColumnRole.IGNORE,
+                        ColumnRole.DESCRIPTION));
+        rowDecoder = new CSVRowDecoder(configuration);
+
+        var builder = new StringBuilder(rowCount * 120);
+        builder.append("Datum,Naam/Omschrijving,Rekening,Tegenrekening,Code,Af/Bij,Bedrag,Valuta,Mutatiesoort\n");
+        sampleRows = new String[1_000][];
+        for (int i = 0; i < rowCount; i++) {
+            var row = new String[]{
+                    String.format("2016%02d%02d", 1 + i % 12, 1 + i % 28),
+                    NAMES[i % NAMES.length],
+                    "NL20INGB0001234567",
+                    String.format("NL69INGB%010d", i % 1_000_000),
+                    "GT",
+                    i % 3 == 0 ? "Bij" : "Af",
+                    (i % 5_000) + "," + String.format("%02d", i % 100),
+                    "EUR",
+                    "Naam: " + NAMES[i % NAMES.length] + " Omschrijving: Factuur " + i
+            };
+            if (i < sampleRows.length) {
+                sampleRows[i] = row;
+            }
+
+            builder.append(String.join(",", row[0], row[1], row[2], row[3], row[4], row[5]))
+                    .append(",\"").append(row[6]).append("\",")
+                    .append(row[7]).append(',').append(row[8]).append('\n');
+        }
+        export = builder.toString().getBytes(StandardCharsets.UTF_8);
+
+        importProvider = new CSVImportProvider(new InMemoryStorage(), null);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void readExport(Blackhole blackhole) {
+        importProvider.readTransactions(
+                blackhole::consume,
+                configuration,
+                BatchImport.builder().fileCode("benchmark-export").slug("benchmark").build());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void decodeRow(Blackhole blackhole) {
+        blackhole.consume(rowDecoder.decode(sampleRows[next++ % sampleRows.length]));
+    }
+
+    private class InMemoryStorage implements StorageService {
+        @Override
+        public String store(byte[] content) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<byte[]> read(String token) {
+            return Control.Option(export);
+        }
+
+        @Override
+        public Optional<InputStream> readStream(String token) {
+            return Control.Option(new ByteArrayInputStream(export));
+        }
+
+        @Override
+        public void remove(String token) {
+        }
+    }
+
+}
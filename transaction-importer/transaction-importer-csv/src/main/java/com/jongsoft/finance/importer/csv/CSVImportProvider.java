@@ -1,14 +1,11 @@
 package com.jongsoft.finance.importer.csv;
 
 import com.jongsoft.finance.StorageService;
-import com.jongsoft.finance.core.TransactionType;
 import com.jongsoft.finance.domain.importer.BatchImport;
 import com.jongsoft.finance.domain.importer.BatchImportConfig;
 import com.jongsoft.finance.importer.ImporterProvider;
 import com.jongsoft.finance.importer.api.ImporterConfiguration;
 import com.jongsoft.finance.importer.api.TransactionConsumer;
-import com.jongsoft.finance.importer.api.TransactionDTO;
-import com.jongsoft.lang.Control;
 import com.opencsv.CSVParserBuilder;
 import com.opencsv.CSVReaderBuilder;
 import com.opencsv.exceptions.CsvValidationException;
@@ -18,13 +15,8 @@ import jakarta.inject.Singleton;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.List;
-import java.util.function.Function;
 
 @Singleton
 public class CSVImportProvider implements ImporterProvider<CSVConfiguration> {
@@ -43,10 +35,11 @@ public class CSVImportProvider implements ImporterProvider<CSVConfiguration> {
     public void readTransactions(TransactionConsumer consumer, ImporterConfiguration configuration, BatchImport importJob) {
         logger.info("Reading transactions from CSV file: {}", importJob.getSlug());
         var csvConfiguration = (CSVConfiguration) configuration;
+        var rowDecoder = new CSVRowDecoder(csvConfiguration);
 
+        // the file is streamed from storage, so only the line being parsed is kept in memory
         try {
-            var inputStream = storageService.read(importJob.getFileCode())
-                    .map(ByteArrayInputStream::new)
+            var inputStream = storageService.readStream(importJob.getFileCode())
                     .map(InputStreamReader::new)
                     .getOrThrow(() -> new IllegalStateException("Failed to read CSV file: " + importJob.getFileCode()));
 
@@ -63,15 +56,20 @@ public class CSVImportProvider implements ImporterProvider<CSVConfiguration> {
 
                 String[] line;
                 while ((line = reader.readNext()) != null) {
-                    if (line.length != csvConfiguration.columnRoles().size()) {
+                    if (line.length != rowDecoder.columnCount()) {
                         logger.warn("Skipping line, columns found {} but expected is {}: {}",
                                 line.length,
-                                csvConfiguration.columnRoles().size(),
+                                rowDecoder.columnCount(),
                                 line);
                         continue;
                     }
 
-                    consumer.accept(readLine(line, csvConfiguration));
+                    var transaction = rowDecoder.decode(line);
+                    logger.trace("Reading single transaction on {}: amount={}, type={}",
+                            transaction.transactionDate(),
+                            transaction.amount(),
+                            transaction.type());
+                    consumer.accept(transaction);
                 }
             }
         } catch (IOException | CsvValidationException e) {
@@ -101,38 +99,4 @@ public class CSVImportProvider implements ImporterProvider<CSVConfiguration> {
     public <X extends ImporterConfiguration> boolean supports(X configuration) {
         return configuration instanceof CSVConfiguration;
     }
-
-    private TransactionDTO readLine(String[] line, CSVConfiguration configuration) {
-        Function<ColumnRole, String> columnLocator = (role) -> Control.Try(() -> line[configuration.columnRoles().indexOf(role)]).recover(x -> null).get();
-        Function<String, LocalDate> parseDate = (date) -> date != null ? LocalDate.parse(date, DateTimeFormatter.ofPattern(configuration.dateFormat())) : null;
-        Function<String, Double> parseAmount = (amount) -> Double.parseDouble(amount.replace(',', '.'));
-
-        var amount = parseAmount.apply(columnLocator.apply(ColumnRole.AMOUNT));
-        var type = Control.Option(columnLocator.apply(ColumnRole.CUSTOM_INDICATOR))
-                .map(indicator -> {
-                    if (indicator.equalsIgnoreCase(configuration.transactionTypeIndicator().credit())) {
-                        return TransactionType.CREDIT;
-                    } else if (indicator.equalsIgnoreCase(configuration.transactionTypeIndicator().deposit())) {
-                        return TransactionType.DEBIT;
-                    }
-
-                    return null;
-                })
-                .getOrSupply(() -> amount >= 0 ? TransactionType.DEBIT : TransactionType.CREDIT);
-
-        logger.trace("Reading single transaction on {}: amount={}, type={}", parseDate.apply(columnLocator.apply(ColumnRole.DATE)), amount, type);
-
-        return new TransactionDTO(
-                amount,
-                type,
-                columnLocator.apply(ColumnRole.DESCRIPTION),
-                parseDate.apply(columnLocator.apply(ColumnRole.DATE)),
-                parseDate.apply(columnLocator.apply(ColumnRole.INTEREST_DATE)),
-                parseDate.apply(columnLocator.apply(ColumnRole.BOOK_DATE)),
-                columnLocator.apply(ColumnRole.OPPOSING_IBAN),
-                columnLocator.apply(ColumnRole.OPPOSING_NAME),
-                columnLocator.apply(ColumnRole.BUDGET),
-                columnLocator.apply(ColumnRole.CATEGORY),
-                List.of());
-    }
 }
@@ -0,0 +1,140 @@
+package com.jongsoft.finance.importer.csv;
+
+import com.jongsoft.finance.core.TransactionType;
+import com.jongsoft.finance.importer.api.TransactionDTO;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * A {@link CSVConfiguration} compiled for decoding rows. The position of every {@link ColumnRole} and the date
+ * formatter are resolved once per import, so that decoding a single row is limited to array lookups and parsing.
+ */
+final class CSVRowDecoder {
+
+    private static final int NOT_MAPPED = -1;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    private final int columnCount;
+    private final int[] columnIndex;
+    private final DateTimeFormatter dateFormatter;
+    private final String creditIndicator;
+    private final String depositIndicator;
+
+    CSVRowDecoder(CSVConfiguration configuration) {
+        this.columnCount = configuration.columnRoles().size();
+        this.columnIndex = new int[ColumnRole.values().length];
+        for (ColumnRole role : ColumnRole.values()) {
+            columnIndex[role.ordinal()] = configuration.columnRoles().indexOf(role);
+        }
+
+        this.dateFormatter = configuration.dateFormat() != null
+                ? DateTimeFormatter.ofPattern(configuration.dateFormat())
+                : null;
+        this.creditIndicator = configuration.transactionTypeIndicator() != null
+                ? configuration.transactionTypeIndicator().credit()
+                : null;
+        this.depositIndicator = configuration.transactionTypeIndicator() != null
+                ? configuration.transactionTypeIndicator().deposit()
+                : null;
+    }
+
+    /**
+     * The number of columns a row must have to be decoded.
+     */
+    int columnCount() {
+        return columnCount;
+    }
+
+    TransactionDTO decode(String[] line) {
+        var amount = parseAmount(column(line, ColumnRole.AMOUNT));
+
+        return new TransactionDTO(
+                amount,
+                determineType(column(line, ColumnRole.CUSTOM_INDICATOR), amount),
+                column(line, ColumnRole.DESCRIPTION),
+                parseDate(column(line, ColumnRole.DATE)),
+                parseDate(column(line, ColumnRole.INTEREST_DATE)),
+                parseDate(column(line, ColumnRole.BOOK_DATE)),
+                column(line, ColumnRole.OPPOSING_IBAN),
+                column(line, ColumnRole.OPPOSING_NAME),
+                column(line, ColumnRole.BUDGET),
+                column(line, ColumnRole.CATEGORY),
+                List.of());
+    }
+
+    private String column(String[] line, ColumnRole role) {
+        var index = columnIndex[role.ordinal()];
+        return index != NOT_MAPPED && index < line.length ? line[index] : null;
+    }
+
+    private TransactionType determineType(String indicator, double amount) {
+        if (indicator != null) {
+            if (indicator.equalsIgnoreCase(creditIndicator)) {
+                return TransactionType.CREDIT;
+            } else if (indicator.equalsIgnoreCase(depositIndicator)) {
+                return TransactionType.DEBIT;
+            }
+        }
+
+        return amount >= 0 ? TransactionType.DEBIT : TransactionType.CREDIT;
+    }
+
+    private LocalDate parseDate(String date) {
+        return date != null ? LocalDate.parse(date, dateFormatter) : null;
+    }
+
+    /**
+     * Parse an amount that uses either a dot or a comma as decimal separator. Plain decimal amounts are parsed in a
+     * single pass, anything else (exponents, very long amounts) is delegated to {@link Double#parseDouble(String)}.
+     * The result is identical to {@code Double.parseDouble(amount.replace(',', '.'))}.
+     */
+    static double parseAmount(String amount) {
+        var length = amount.length();
+        var position = 0;
+        var negative = false;
+        if (length > 0 && (amount.charAt(0) == '-' || amount.charAt(0) == '+')) {
+            negative = amount.charAt(0) == '-';
+            position++;
+        }
+
+        long mantissa = 0;
+        int scale = 0;
+        boolean separatorSeen = false;
+        boolean digitSeen = false;
+        for (; position < length; position++) {
+            var c = amount.charAt(position);
+            if (c >= '0' && c <= '9') {
+                mantissa = mantissa * 10 + (c - '0');
+                digitSeen = true;
+                if (separatorSeen) {
+                    scale++;
+                }
+                if (mantissa >= MAX_EXACT_MANTISSA) {
+                    return parseAmountFallback(amount);
+                }
+            } else if ((c == '.' || c == ',') && !separatorSeen) {
+                separatorSeen = true;
+            } else {
+                return parseAmountFallback(amount);
+            }
+        }
+
+        if (!digitSeen || scale >= POWERS_OF_TEN.length) {
+            return parseAmountFallback(amount);
+        }
+
+        // both operands are exact doubles, so the division is correctly rounded just like Double.parseDouble
+        var value = mantissa / POWERS_OF_TEN[scale];
+        return negative ? -value : value;
+    }
+
+    private static double parseAmountFallback(String amount) {
+        return Double.parseDouble(amount.replace(',', '.'));
+    }
+}
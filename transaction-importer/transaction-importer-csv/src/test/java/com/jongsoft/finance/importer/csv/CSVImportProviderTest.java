@@ -81,10 +81,9 @@ class CSVImportProviderTest {
     @Test
     @DisplayName("Read transactions with single deposit")
     void readTransactions_deposit() throws IOException {
-        Mockito.when(storageService.read("my-secret-import-files"))
+        Mockito.when(storageService.readStream("my-secret-import-files"))
                 .thenReturn(Control.Option(
-                        getClass().getResourceAsStream("/csv-files/single-deposit.csv")
-                                .readAllBytes()));
+                        getClass().getResourceAsStream("/csv-files/single-deposit.csv")));
 
         var consumer = Mockito.mock(TransactionConsumer.class);
 
@@ -104,10 +103,9 @@ class CSVImportProviderTest {
     @Test
     @DisplayName("Read transactions with single withdrawal")
     void readTransactions_withdrawal() throws IOException {
-        Mockito.when(storageService.read("my-secret-import-files"))
+        Mockito.when(storageService.readStream("my-secret-import-files"))
                 .thenReturn(Control.Option(
-                        getClass().getResourceAsStream("/csv-files/single-withdrawal.csv")
-                                .readAllBytes()));
+                        getClass().getResourceAsStream("/csv-files/single-withdrawal.csv")));
 
         var consumer = Mockito.mock(TransactionConsumer.class);
 
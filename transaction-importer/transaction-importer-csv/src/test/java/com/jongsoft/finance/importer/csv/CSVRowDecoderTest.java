@@ -0,0 +1,54 @@
+package com.jongsoft.finance.importer.csv;
+
+import com.jongsoft.finance.core.TransactionType;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+class CSVRowDecoderTest {
+
+    @Test
+    @DisplayName("Parse amounts identical to the plain double parser")
+    void parseAmount() {
+        var amounts = List.of(
+                "14,19", "-283.90", "+12", "0", "-0", "0,1", ".5", "5.", "1234567,891",
+                "9007199254740993", "1e3", "0.30000000000000004", "123456789012345678901234567890");
+
+        for (String amount : amounts) {
+            Assertions.assertThat(CSVRowDecoder.parseAmount(amount))
+                    .as(amount)
+                    .isEqualTo(Double.parseDouble(amount.replace(',', '.')));
+        }
+    }
+
+    @Test
+    @DisplayName("Reject amounts that are not numeric")
+    void parseAmount_invalid() {
+        Assertions.assertThatThrownBy(() -> CSVRowDecoder.parseAmount("1,234.56"))
+                .isInstanceOf(NumberFormatException.class);
+    }
+
+    @Test
+    @DisplayName("Decode a row using the pre-resolved columns")
+    void decode() {
+        var decoder = new CSVRowDecoder(new CSVConfiguration(
+                false,
+                "yyyyMMdd",
+                ',',
+                new TransactionTypeIndicator("Bij", "Af"),
+                List.of(ColumnRole.DATE, ColumnRole.OPPOSING_NAME, ColumnRole.CUSTOM_INDICATOR, ColumnRole.AMOUNT)));
+
+        var transaction = decoder.decode(new String[]{"20160531", "Janssen PA", "Af", "14,19"});
+
+        Assertions.assertThat(decoder.columnCount()).isEqualTo(4);
+        Assertions.assertThat(transaction.amount()).isEqualTo(14.19);
+        Assertions.assertThat(transaction.type()).isEqualTo(TransactionType.CREDIT);
+        Assertions.assertThat(transaction.opposingName()).isEqualTo("Janssen PA");
+        Assertions.assertThat(transaction.transactionDate()).isEqualTo(LocalDate.of(2016, 5, 31));
+        Assertions.assertThat(transaction.bookDate()).isNull();
+        Assertions.assertThat(transaction.description()).isNull();
+    }
+}